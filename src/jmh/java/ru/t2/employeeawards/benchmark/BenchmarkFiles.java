@@ -0,0 +1,126 @@
+package ru.t2.employeeawards.benchmark;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import ru.t2.employeeawards.parser.FileStructure;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/*
+ * Генерация синтетических файлов с наградами для бенчмарков
+ */
+public final class BenchmarkFiles {
+    /**
+     * Максимальное количество строк данных в формате XLS (65536 строк листа минус заголовок).
+     */
+    public static final int MAX_XLS_ROWS = 65_535;
+    public static final long FIRST_EMPLOYEE_EXTERNAL_ID = 1_000L;
+    public static final int EMPLOYEES = 1_000;
+
+    private static final long FIRST_AWARD_EXTERNAL_ID = 1_000_000L;
+    private static final LocalDate FIRST_RECEIVED_DATE = LocalDate.of(2024, 1, 1);
+    private static final int DAYS_IN_YEAR = 365;
+    private static final int SXSSF_WINDOW_SIZE = 100;
+    private static final String[] HEADERS = {
+        "ID сотрудника", "ФИО сотрудника", "ID награды", "Название награды", "Дата получения"
+    };
+
+    private BenchmarkFiles() {
+        // Утилитарный класс
+    }
+
+    /**
+     * Создает CSV файл с заголовком и указанным количеством строк данных.
+     */
+    public static Path createCsv(int rows) throws IOException {
+        Path file = Files.createTempFile("awards-benchmark-", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(String.join(",", HEADERS));
+            writer.newLine();
+            for (int i = 0; i < rows; i++) {
+                writer.write(String.join(",", csvValues(i)));
+                writer.newLine();
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Создает XLSX файл потоковой записью (SXSSF), чтобы не держать в памяти миллион строк.
+     */
+    public static Path createXlsx(int rows) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(SXSSF_WINDOW_SIZE);
+        try {
+            return writeWorkbook(workbook, rows, ".xlsx");
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    /**
+     * Создает XLS файл. Количество строк ограничено форматом.
+     *
+     * @throws IllegalArgumentException если строк больше {@link #MAX_XLS_ROWS}
+     */
+    public static Path createXls(int rows) throws IOException {
+        if (rows > MAX_XLS_ROWS) {
+            throw new IllegalArgumentException("Формат XLS поддерживает не более " + MAX_XLS_ROWS + " строк данных");
+        }
+        return writeWorkbook(new HSSFWorkbook(), rows, ".xls");
+    }
+
+    /**
+     * Значения строки данных в том виде, в котором они записываются в файл.
+     */
+    public static String[] csvValues(int index) {
+        return new String[]{
+            String.valueOf(employeeExternalId(index)),
+            "Сотрудник " + employeeExternalId(index),
+            String.valueOf(FIRST_AWARD_EXTERNAL_ID + index),
+            "Награда " + index,
+            receivedDate(index).toString()
+        };
+    }
+
+    public static long employeeExternalId(int index) {
+        return FIRST_EMPLOYEE_EXTERNAL_ID + index % EMPLOYEES;
+    }
+
+    private static LocalDate receivedDate(int index) {
+        return FIRST_RECEIVED_DATE.plusDays(index % DAYS_IN_YEAR);
+    }
+
+    private static Path writeWorkbook(Workbook workbook, int rows, String suffix) throws IOException {
+        try (workbook) {
+            Sheet sheet = workbook.createSheet();
+            Row headerRow = sheet.createRow(FileStructure.HEADERS_ROW_EXCEL.getValue());
+            for (int i = 0; i < HEADERS.length; i++) {
+                headerRow.createCell(i).setCellValue(HEADERS[i]);
+            }
+
+            for (int i = 0; i < rows; i++) {
+                Row row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue(employeeExternalId(i));
+                row.createCell(1).setCellValue("Сотрудник " + employeeExternalId(i));
+                row.createCell(2).setCellValue(FIRST_AWARD_EXTERNAL_ID + i);
+                row.createCell(3).setCellValue("Награда " + i);
+                row.createCell(4).setCellValue(receivedDate(i).toString());
+            }
+
+            Path file = Files.createTempFile("awards-benchmark-", suffix);
+            try (OutputStream outputStream = Files.newOutputStream(file)) {
+                workbook.write(outputStream);
+            }
+            return file;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package ru.t2.employeeawards.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.util.FileSystemUtils;
+import ru.t2.employeeawards.EmployeeAwardsServiceApplication;
+import ru.t2.employeeawards.dto.AwardFilter;
+import ru.t2.employeeawards.dto.AwardView;
+import ru.t2.employeeawards.model.Employee;
+import ru.t2.employeeawards.repository.AwardRepository;
+import ru.t2.employeeawards.repository.EmployeeRepository;
+import ru.t2.employeeawards.service.FileProcessingService;
+import ru.t2.employeeawards.service.UploadProgress;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Сравнение in-memory H2 (схема создается Hibernate) и H2 в файле из профиля h2-file (схема из миграций Flyway):
+ * время запуска приложения и время чтения страницы наград из БД со 100 тыс. наград.
+ * В режиме h2-file запуск открывает уже заполненный файл БД, in-memory БД при каждом запуске создается заново.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DatabaseModeBenchmark {
+    private static final String IN_MEMORY = "in-memory";
+    private static final String H2_FILE = "h2-file";
+    private static final String FILE_NAME = "awards.csv";
+    private static final int AWARDS = 100_000;
+    private static final int PAGE_SIZE = 100;
+    private static final AwardFilter NO_FILTER = new AwardFilter(null, null, null, null);
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public void startup(StoppedApplication application) {
+        application.start().close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<AwardView> firstPage(RunningApplication application) {
+        return application.awardRepository.findAwards(NO_FILTER, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<AwardView> employeePage(RunningApplication application) {
+        return application.awardRepository.findAwards(application.employeeFilter, null, PAGE_SIZE);
+    }
+
+    @State(Scope.Benchmark)
+    public static class StoppedApplication {
+        @Param({IN_MEMORY, H2_FILE})
+        public String mode;
+
+        private Path dataDirectory;
+
+        @Setup(Level.Trial)
+        public void createDatabase() throws IOException {
+            dataDirectory = Files.createTempDirectory("awards-db-benchmark-");
+            if (H2_FILE.equals(mode)) {
+                try (ConfigurableApplicationContext context = start()) {
+                    fillDatabase(context);
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void deleteDatabase() throws IOException {
+            FileSystemUtils.deleteRecursively(dataDirectory);
+        }
+
+        ConfigurableApplicationContext start() {
+            return startApplication(mode, dataDirectory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RunningApplication {
+        @Param({IN_MEMORY, H2_FILE})
+        public String mode;
+
+        private Path dataDirectory;
+        private ConfigurableApplicationContext context;
+        private AwardRepository awardRepository;
+        private AwardFilter employeeFilter;
+
+        @Setup(Level.Trial)
+        public void startApplication() throws IOException {
+            dataDirectory = Files.createTempDirectory("awards-db-benchmark-");
+            context = DatabaseModeBenchmark.startApplication(mode, dataDirectory);
+            fillDatabase(context);
+            awardRepository = context.getBean(AwardRepository.class);
+            long employeeId = context.getBean(EmployeeRepository.class)
+                    .findByEmployeeExternalId(BenchmarkFiles.employeeExternalId(0))
+                    .orElseThrow()
+                    .getEmployeeId();
+            employeeFilter = new AwardFilter(employeeId, null, null, null);
+        }
+
+        @TearDown(Level.Trial)
+        public void stopApplication() throws IOException {
+            context.close();
+            FileSystemUtils.deleteRecursively(dataDirectory);
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(String mode, Path dataDirectory) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(EmployeeAwardsServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.jpa.show-sql=false",
+                        "spring.h2.console.enabled=false",
+                        "awards.upload.deduplication.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.ru.t2.employeeawards=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+                );
+        if (H2_FILE.equals(mode)) {
+            builder.profiles(H2_FILE).properties("awards.h2.path=" + dataDirectory.resolve("employee_awards"));
+        } else {
+            builder.properties("spring.datasource.url=jdbc:h2:mem:database_mode_benchmark");
+        }
+        return builder.run();
+    }
+
+    private static void fillDatabase(ConfigurableApplicationContext context) throws IOException {
+        List<Employee> employees = new ArrayList<>(BenchmarkFiles.EMPLOYEES);
+        for (int i = 0; i < BenchmarkFiles.EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setEmployeeExternalId(BenchmarkFiles.employeeExternalId(i));
+            employee.setFullName("Сотрудник " + employee.getEmployeeExternalId());
+            employees.add(employee);
+        }
+        context.getBean(EmployeeRepository.class).saveAll(employees);
+
+        Path file = BenchmarkFiles.createCsv(AWARDS);
+        try {
+            context.getBean(FileProcessingService.class)
+                    .processFile(FILE_NAME, new FileSystemResource(file), new UploadProgress());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ru.t2.employeeawards.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.t2.employeeawards.dto.AwardFileRecord;
+import ru.t2.employeeawards.parser.FileParser;
+import ru.t2.employeeawards.parser.impl.AwardRecordMapper;
+import ru.t2.employeeawards.parser.impl.ExcelParser;
+import ru.t2.employeeawards.parser.impl.XlsxStreamingParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Пропускная способность парсеров Excel: одна операция - разбор всего файла.
+ *
+ * XLSX разбирается и ExcelParser (DOM, WorkbookFactory), и XlsxStreamingParser (event API),
+ * который используется для .xlsx в FileFactory. XLS ограничен форматом 65535 строками данных.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExcelParserBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class XlsFile {
+        @Param({"1000", "65535"})
+        public int xlsRows;
+
+        private Path file;
+
+        @Setup(Level.Trial)
+        public void createFile() throws IOException {
+            file = BenchmarkFiles.createXls(xlsRows);
+        }
+
+        @TearDown(Level.Trial)
+        public void deleteFile() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class XlsxFile {
+        @Param({"1000", "100000", "1000000"})
+        public int rows;
+
+        private Path file;
+
+        @Setup(Level.Trial)
+        public void createFile() throws IOException {
+            file = BenchmarkFiles.createXlsx(rows);
+        }
+
+        @TearDown(Level.Trial)
+        public void deleteFile() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private final ExcelParser<AwardFileRecord> excelParser = new ExcelParser<>(AwardRecordMapper.INSTANCE);
+    private final XlsxStreamingParser<AwardFileRecord> xlsxStreamingParser =
+            new XlsxStreamingParser<>(AwardRecordMapper.INSTANCE);
+
+    @Benchmark
+    public void parseXls(XlsFile xlsFile, Blackhole blackhole) throws IOException {
+        parse(excelParser, xlsFile.file, blackhole);
+    }
+
+    @Benchmark
+    public void parseXlsx(XlsxFile xlsxFile, Blackhole blackhole) throws IOException {
+        parse(excelParser, xlsxFile.file, blackhole);
+    }
+
+    @Benchmark
+    public void parseXlsxStreaming(XlsxFile xlsxFile, Blackhole blackhole) throws IOException {
+        parse(xlsxStreamingParser, xlsxFile.file, blackhole);
+    }
+
+    private void parse(FileParser<AwardFileRecord> parser, Path file, Blackhole blackhole) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            parser.parse(inputStream, blackhole::consume);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ru.t2.employeeawards.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.FileSystemResource;
+import ru.t2.employeeawards.EmployeeAwardsServiceApplication;
+import ru.t2.employeeawards.dto.UploadResult;
+import ru.t2.employeeawards.model.Employee;
+import ru.t2.employeeawards.repository.EmployeeRepository;
+import ru.t2.employeeawards.service.FileProcessingService;
+import ru.t2.employeeawards.service.UploadProgress;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Сквозная обработка CSV файла: валидация, парсинг, поиск сотрудников и запись в H2 (in-memory).
+ * Первая операция вставляет награды, последующие находят их неизмененными по хешу содержимого.
+ * Повторное использование результата для того же файла отключено, иначе измерялось бы только вычисление хеша файла.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FileProcessingServiceBenchmark {
+    private static final String FILE_NAME = "awards.csv";
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private FileProcessingService fileProcessingService;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        context = new SpringApplicationBuilder(EmployeeAwardsServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:awards_benchmark",
+                        "spring.jpa.show-sql=false",
+                        "spring.h2.console.enabled=false",
+                        "awards.upload.deduplication.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.ru.t2.employeeawards=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+                )
+                .run();
+        fileProcessingService = context.getBean(FileProcessingService.class);
+        createEmployees(context.getBean(EmployeeRepository.class));
+        file = BenchmarkFiles.createCsv(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        Files.deleteIfExists(file);
+        context.close();
+    }
+
+    @Benchmark
+    public UploadResult processFile() {
+        return fileProcessingService.processFile(FILE_NAME, new FileSystemResource(file), new UploadProgress());
+    }
+
+    private void createEmployees(EmployeeRepository employeeRepository) {
+        List<Employee> employees = new ArrayList<>(BenchmarkFiles.EMPLOYEES);
+        for (int i = 0; i < BenchmarkFiles.EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setEmployeeExternalId(BenchmarkFiles.employeeExternalId(i));
+            employee.setFullName("Сотрудник " + employee.getEmployeeExternalId());
+            employees.add(employee);
+        }
+        employeeRepository.saveAll(employees);
+    }
+}
@@ -0,0 +1,40 @@
+package ru.t2.employeeawards.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.t2.employeeawards.dto.AwardFileRecord;
+import ru.t2.employeeawards.parser.utils.RecordParserUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Стоимость создания одной записи из строковых значений колонок
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecordParserUtilsBenchmark {
+    private static final int DISTINCT_ROWS = 1024;
+
+    private String[][] rows;
+    private int next;
+
+    @Setup
+    public void createRows() {
+        rows = new String[DISTINCT_ROWS][];
+        for (int i = 0; i < DISTINCT_ROWS; i++) {
+            rows[i] = BenchmarkFiles.csvValues(i);
+        }
+    }
+
+    @Benchmark
+    public AwardFileRecord createRecord() {
+        String[] values = rows[next++ & (DISTINCT_ROWS - 1)];
+        return RecordParserUtils.createRecord(values, "строке: benchmark");
+    }
+}
@@ -2,8 +2,10 @@ package ru.t2.employeeawards;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class EmployeeAwardsServiceApplication {
 
 	public static void main(String[] args) {
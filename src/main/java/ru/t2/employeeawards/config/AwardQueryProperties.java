@@ -0,0 +1,29 @@
+package ru.t2.employeeawards.config;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Настройки чтения наград через API.
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "awards.query")
+public class AwardQueryProperties {
+
+    /**
+     * Количество наград, читаемых из БД одним запросом при потоковой выдаче ответа.
+     */
+    @Positive
+    private int batchSize = 1000;
+
+    /**
+     * Количество строк, получаемых драйвером БД за одно обращение при выгрузке наград в файл.
+     */
+    @Positive
+    private int exportFetchSize = 1000;
+}
@@ -0,0 +1,33 @@
+package ru.t2.employeeawards.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Ограничение количества одновременно выданных соединений с БД в режиме виртуальных потоков
+ * (см. {@link ConnectionLimitingDataSource}).
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "awards.datasource.connection-limit")
+public class ConnectionLimitProperties {
+
+    /**
+     * Количество соединений, которые могут быть выданы одновременно; 0 - по размеру пула Hikari.
+     */
+    @PositiveOrZero
+    private int permits = 0;
+
+    /**
+     * Максимальное время ожидания разрешения на соединение.
+     */
+    @NotNull
+    private Duration acquireTimeout = Duration.ofSeconds(30);
+}
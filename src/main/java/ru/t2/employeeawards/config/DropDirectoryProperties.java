@@ -0,0 +1,38 @@
+package ru.t2.employeeawards.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+
+/**
+ * Настройки загрузки больших CSV файлов из каталога на сервере.
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "awards.drop-directory")
+public class DropDirectoryProperties {
+
+    /**
+     * Каталог, из которого загружаются файлы. Если не задан, загрузка из каталога отключена.
+     */
+    private Path path;
+
+    /**
+     * Количество потоков, параллельно разбирающих части одного файла.
+     */
+    @Positive
+    private int parallelism = 4;
+
+    /**
+     * Минимальный размер части файла: файлы меньшего размера не разбиваются.
+     */
+    @NotNull
+    private DataSize minRangeSize = DataSize.ofMegabytes(16);
+}
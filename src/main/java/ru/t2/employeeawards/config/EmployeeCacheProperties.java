@@ -0,0 +1,38 @@
+package ru.t2.employeeawards.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Настройки кэша идентификаторов сотрудников, используемого при загрузке наград.
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "awards.employee-cache")
+public class EmployeeCacheProperties {
+
+    /**
+     * Максимальное количество сотрудников в кэше.
+     */
+    @Positive
+    private long maximumSize = 50_000;
+
+    /**
+     * Время жизни найденного сотрудника в кэше.
+     */
+    @NotNull
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * Время жизни отсутствующего сотрудника в кэше.
+     */
+    @NotNull
+    private Duration negativeTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,28 @@
+package ru.t2.employeeawards.config;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Настройки индекса идентификаторов сотрудников в памяти, используемого при загрузке наград вместо кэша.
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "awards.employee-index")
+public class EmployeeIndexProperties {
+
+    /**
+     * Загружать всех сотрудников в индекс при запуске приложения.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Количество строк, получаемых драйвером из БД за одно обращение при загрузке индекса.
+     */
+    @Positive
+    private int fetchSize = 10_000;
+}
@@ -0,0 +1,93 @@
+package ru.t2.employeeawards.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+@Configuration
+public class UploadExecutorConfig {
+
+    /**
+     * Ограниченный пул потоков для асинхронной обработки загруженных файлов.
+     * В режиме виртуальных потоков заменяется исполнителем из {@link VirtualThreadsConfig}.
+     *
+     * @param uploadProperties настройки загрузки
+     * @return исполнитель асинхронных загрузок
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor uploadJobExecutor(UploadProperties uploadProperties) {
+        UploadProperties.Async async = uploadProperties.getAsync();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("upload-job-");
+        executor.setCorePoolSize(async.getWorkers());
+        executor.setMaxPoolSize(async.getWorkers());
+        executor.setQueueCapacity(async.getQueueCapacity());
+        return executor;
+    }
+
+    /**
+     * Пул потоков записи в БД для конвейерной обработки файлов.
+     *
+     * Размер пула рассчитан на одновременную обработку асинхронных загрузок и одной синхронной;
+     * потоки записи остальных загрузок ждут в очереди, а их парсеры приостанавливаются
+     * на заполненной очереди конвейера.
+     * В режиме виртуальных потоков заменяется исполнителем из {@link VirtualThreadsConfig}.
+     *
+     * @param uploadProperties настройки загрузки
+     * @return исполнитель потоков записи
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor uploadWriterExecutor(UploadProperties uploadProperties) {
+        int threads = uploadProperties.getPipeline().getWriters() * (uploadProperties.getAsync().getWorkers() + 1);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("upload-writer-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        return executor;
+    }
+
+    /**
+     * Пул потоков для параллельного разбора частей файлов из каталога загрузки.
+     *
+     * @param dropDirectoryProperties настройки загрузки из каталога
+     * @return исполнитель разбора частей файла
+     */
+    @Bean
+    public ThreadPoolTaskExecutor dropDirectoryExecutor(DropDirectoryProperties dropDirectoryProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("drop-directory-");
+        executor.setCorePoolSize(dropDirectoryProperties.getParallelism());
+        executor.setMaxPoolSize(dropDirectoryProperties.getParallelism());
+        return executor;
+    }
+
+    /**
+     * Пул для параллельного разбора листов и диапазонов строк Excel файлов.
+     * Используется, только если включен {@code awards.upload.excel.parallel}; потоки создаются по мере надобности.
+     *
+     * @param uploadProperties настройки загрузки
+     * @return пул разбора Excel файлов
+     */
+    @Bean
+    public ForkJoinPool excelParserPool(UploadProperties uploadProperties) {
+        int parallelism = uploadProperties.getExcel().getParallelism();
+        ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("excel-parser-" + thread.getPoolIndex());
+            return thread;
+        };
+        return new ForkJoinPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                threadFactory,
+                null,
+                false
+        );
+    }
+}
@@ -0,0 +1,170 @@
+package ru.t2.employeeawards.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Настройки обработки загружаемых файлов с наградами.
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "awards.upload")
+public class UploadProperties {
+
+    /**
+     * Количество записей, сохраняемых в одной транзакции.
+     */
+    @Positive
+    private int batchSize = 500;
+
+    /**
+     * Создавать отсутствующих в БД сотрудников по колонке "ФИО сотрудника" файла с наградами.
+     * По умолчанию награды неизвестных сотрудников пропускаются с ошибкой.
+     */
+    private boolean createMissingEmployees = false;
+
+    /**
+     * Настройки асинхронных загрузок.
+     */
+    @Valid
+    private Async async = new Async();
+
+    /**
+     * Настройки конвейерной обработки, при которой парсинг и запись в БД выполняются параллельно.
+     */
+    @Valid
+    private Pipeline pipeline = new Pipeline();
+
+    /**
+     * Настройки разбора Excel файлов.
+     */
+    @Valid
+    private Excel excel = new Excel();
+
+    /**
+     * Настройки распознавания повторной загрузки того же файла.
+     */
+    @Valid
+    private Deduplication deduplication = new Deduplication();
+
+    /**
+     * Настройки загрузки через промежуточную таблицу award_staging.
+     */
+    @Valid
+    private Staging staging = new Staging();
+
+    @Getter
+    @Setter
+    public static class Async {
+
+        /**
+         * Количество потоков, одновременно обрабатывающих асинхронные загрузки.
+         */
+        @Positive
+        private int workers = 2;
+
+        /**
+         * Количество загрузок, ожидающих свободного потока. При переполнении новые загрузки отклоняются.
+         */
+        @PositiveOrZero
+        private int queueCapacity = 10;
+
+        /**
+         * Время хранения статуса завершенной загрузки.
+         */
+        @NotNull
+        private Duration jobRetention = Duration.ofHours(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Pipeline {
+
+        /**
+         * Включает конвейерную обработку. По умолчанию парсинг и запись выполняются последовательно в одном потоке.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Количество потоков записи в БД для одного файла.
+         * При значении больше 1 пачки могут сохраняться не в порядке следования в файле.
+         */
+        @Positive
+        private int writers = 1;
+
+        /**
+         * Количество разобранных пачек, ожидающих записи. При заполнении очереди парсер приостанавливается.
+         */
+        @Positive
+        private int queueCapacity = 4;
+    }
+
+    @Getter
+    @Setter
+    public static class Excel {
+
+        /**
+         * Разбирать все листы книги (например, по листу на подразделение). По умолчанию разбирается только первый лист.
+         */
+        private boolean allSheets = false;
+
+        /**
+         * Разбирать листы xlsx файла параллельно в пуле {@code excelParserPool}.
+         * Записи передаются на сохранение в порядке листов и строк, но накапливаются в памяти до передачи.
+         * На xls файлы не влияет: объектная модель книги POI не потокобезопасна, их листы разбираются последовательно.
+         */
+        private boolean parallel = false;
+
+        /**
+         * Количество потоков пула разбора; 0 - по числу доступных процессоров.
+         */
+        @PositiveOrZero
+        private int parallelism = 0;
+    }
+
+    @Getter
+    @Setter
+    public static class Deduplication {
+
+        /**
+         * Возвращать прежний результат, если загружен файл с тем же содержимым и данные с тех пор не менялись.
+         * Требует дополнительного чтения файла для вычисления хеша до разбора. Версия данных хранится в памяти
+         * экземпляра ({@link ru.t2.employeeawards.service.UploadResultCache}), поэтому режим рассчитан на один
+         * экземпляр приложения, через который проходят все изменения наград и сотрудников.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Количество файлов, результаты которых хранятся в памяти.
+         */
+        @Positive
+        private int maximumFiles = 1000;
+
+        /**
+         * Время хранения результата обработки файла.
+         */
+        @NotNull
+        private Duration ttl = Duration.ofHours(24);
+    }
+
+    @Getter
+    @Setter
+    public static class Staging {
+
+        /**
+         * Загружать записи файла в award_staging и переносить их в awards одним MERGE после разбора всего файла,
+         * вместо проверки и записи каждой пачки. Конвейерная обработка в этом режиме не используется,
+         * а при ошибке разбора файла не сохраняется ни одна запись.
+         */
+        private boolean enabled = false;
+    }
+}
@@ -0,0 +1,94 @@
+package ru.t2.employeeawards.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import javax.sql.DataSource;
+
+/**
+ * Исполнители загрузок на виртуальных потоках Java 21. Включается вместе с обработкой HTTP запросов
+ * на виртуальных потоках свойством {@code spring.threads.virtual.enabled=true} (профиль {@code virtual-threads}),
+ * иначе используются пулы платформенных потоков из {@link UploadExecutorConfig}.
+ *
+ * Обработка загрузки в основном ждет ввода-вывода (чтение multipart файла, JDBC, пул соединений),
+ * поэтому одновременных загрузок может быть намного больше, чем потоков в пуле; количество одновременно
+ * выданных соединений с БД ограничивается {@link ConnectionLimitingDataSource}.
+ * Разбор Excel в {@code excelParserPool} и частей файлов из каталога загрузки нагружает процессор
+ * и остается на платформенных потоках.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    /**
+     * Асинхронные загрузки на виртуальных потоках: каждая загрузка выполняется в своем потоке, без очереди.
+     * Одновременно выполняется не больше {@code workers + queue-capacity} загрузок, остальные отклоняются,
+     * как и при переполнении очереди пула платформенных потоков.
+     *
+     * @param uploadProperties настройки загрузки
+     * @return исполнитель асинхронных загрузок
+     */
+    @Bean
+    public SimpleAsyncTaskExecutor uploadJobExecutor(UploadProperties uploadProperties) {
+        UploadProperties.Async async = uploadProperties.getAsync();
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("upload-job-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(async.getWorkers() + async.getQueueCapacity());
+        executor.setRejectTasksWhenLimitReached(true);
+        return executor;
+    }
+
+    /**
+     * Потоки записи конвейерной обработки на виртуальных потоках. Количество потоков записи одного файла
+     * ограничено {@code awards.upload.pipeline.writers}, а общее - количеством соединений с БД.
+     *
+     * @return исполнитель потоков записи
+     */
+    @Bean
+    public SimpleAsyncTaskExecutor uploadWriterExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("upload-writer-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * Оборачивает DataSource в {@link ConnectionLimitingDataSource}.
+     *
+     * @param properties настройки ограничения (запрашиваются при обработке DataSource, а не при создании
+     *                   post-processor, чтобы не создавать бины раньше времени)
+     * @return post-processor бинов DataSource
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            ObjectProvider<ConnectionLimitProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+                ConnectionLimitProperties limit = properties.getObject();
+                int permits = limit.getPermits() > 0 ? limit.getPermits() : poolSize(dataSource);
+                if (permits <= 0) {
+                    log.warn("Размер пула соединений DataSource {} неизвестен, ограничение соединений не применяется",
+                            beanName);
+                    return bean;
+                }
+                log.info("Соединения DataSource {} ограничены: {}", beanName, permits);
+                return new ConnectionLimitingDataSource(dataSource, permits, limit.getAcquireTimeout());
+            }
+        };
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        return dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 0;
+    }
+}
@@ -0,0 +1,106 @@
+package ru.t2.employeeawards.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.t2.employeeawards.dto.AwardCursor;
+import ru.t2.employeeawards.dto.AwardExportFormat;
+import ru.t2.employeeawards.dto.AwardFilter;
+import ru.t2.employeeawards.service.AwardExportService;
+import ru.t2.employeeawards.service.AwardQueryService;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class AwardQueryController {
+
+    private final AwardQueryService awardQueryService;
+    private final AwardExportService awardExportService;
+
+    /**
+     * Возвращает награды в порядке даты получения с постраничной выдачей по курсору.
+     *
+     * @param awardName точное название награды
+     * @param receivedFrom дата получения не раньше (yyyy-MM-dd)
+     * @param receivedTo дата получения не позже (yyyy-MM-dd)
+     * @param cursor значение nextCursor из предыдущего ответа
+     * @param limit максимальное количество наград в ответе; без него выдаются все подходящие награды
+     * @return награды и курсор следующей страницы
+     */
+    @GetMapping("/awards")
+    public ResponseEntity<StreamingResponseBody> getAwards(
+            @RequestParam(required = false) String awardName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate receivedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate receivedTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return streamAwards(new AwardFilter(null, awardName, receivedFrom, receivedTo), cursor, limit);
+    }
+
+    /**
+     * Выгружает все награды в файл в формате загрузки (пять колонок с заголовками).
+     *
+     * @param format формат файла: csv или xlsx; в xlsx выгружается не больше наград, чем строк на листе
+     * @return файл с наградами
+     */
+    @GetMapping("/awards/export")
+    public ResponseEntity<StreamingResponseBody> exportAwards(@RequestParam(defaultValue = "csv") String format) {
+        AwardExportFormat exportFormat = AwardExportFormat.fromValue(format);
+        awardExportService.checkExportable(exportFormat);
+        StreamingResponseBody body = outputStream -> awardExportService.export(exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(exportFormat.getFileName()).build().toString())
+                .body(body);
+    }
+
+    /**
+     * Возвращает награды сотрудника в порядке даты получения с постраничной выдачей по курсору.
+     *
+     * @param employeeExternalId внешний идентификатор сотрудника
+     * @param awardName точное название награды
+     * @param receivedFrom дата получения не раньше (yyyy-MM-dd)
+     * @param receivedTo дата получения не позже (yyyy-MM-dd)
+     * @param cursor значение nextCursor из предыдущего ответа
+     * @param limit максимальное количество наград в ответе; без него выдаются все подходящие награды
+     * @return награды и курсор следующей страницы
+     */
+    @GetMapping("/employees/{employeeExternalId}/awards")
+    public ResponseEntity<StreamingResponseBody> getEmployeeAwards(
+            @PathVariable long employeeExternalId,
+            @RequestParam(required = false) String awardName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate receivedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate receivedTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        long employeeId = awardQueryService.getEmployeeId(employeeExternalId);
+        return streamAwards(new AwardFilter(employeeId, awardName, receivedFrom, receivedTo), cursor, limit);
+    }
+
+    /**
+     * Проверяет параметры до начала выдачи: после нее статус ответа изменить уже нельзя.
+     */
+    private ResponseEntity<StreamingResponseBody> streamAwards(AwardFilter filter, String cursor, Integer limit) {
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("Параметр limit должен быть положительным: " + limit);
+        }
+        AwardCursor after = cursor != null ? AwardCursor.parse(cursor) : null;
+
+        StreamingResponseBody body = outputStream -> awardQueryService.writeAwards(filter, after, limit, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+}
@@ -0,0 +1,57 @@
+package ru.t2.employeeawards.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import ru.t2.employeeawards.dto.EmployeeCacheStats;
+import ru.t2.employeeawards.dto.UploadResult;
+import ru.t2.employeeawards.service.EmployeeIdCache;
+import ru.t2.employeeawards.service.EmployeeImportService;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/employees")
+@RequiredArgsConstructor
+public class EmployeeController {
+
+    private final EmployeeIdCache employeeIdCache;
+    private final EmployeeImportService employeeImportService;
+
+    /**
+     * Загружает справочник сотрудников из файла (CSV или Excel) с колонками "ID сотрудника" и "ФИО сотрудника".
+     * Новые сотрудники добавляются, у существующих обновляется ФИО.
+     *
+     * @param file файл для обработки (CSV, XLS, XLSX)
+     * @return результат обработки файла с информацией о количестве обработанных записей
+     */
+    @PostMapping("/upload")
+    public ResponseEntity<UploadResult> uploadFile(@RequestParam("file") MultipartFile file) {
+        log.info("Получен запрос на загрузку файла сотрудников: {}", file.getOriginalFilename());
+        if (file.isEmpty()) {
+            log.warn("Попытка загрузить пустой файл");
+            throw new IllegalArgumentException("Файл не может быть пустым");
+        }
+
+        UploadResult result = employeeImportService.importFile(file);
+
+        log.info("Файл успешно обработан. Всего записей: {}, обработано: {}, пропущено: {}",
+                result.totalRecords(), result.processedRecords(), result.skippedRecords());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Возвращает статистику кэша сотрудников, используемого при загрузке наград.
+     *
+     * @return количество попаданий, промахов и вытеснений
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<EmployeeCacheStats> getCacheStats() {
+        return ResponseEntity.ok(employeeIdCache.getStats());
+    }
+}
@@ -3,13 +3,21 @@ package ru.t2.employeeawards.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import ru.t2.employeeawards.dto.UploadJobStatus;
 import ru.t2.employeeawards.dto.UploadResult;
 import ru.t2.employeeawards.service.FileProcessingService;
+import ru.t2.employeeawards.service.UploadJobService;
+
+import java.net.URI;
+import java.util.UUID;
 
 @Slf4j
 @RestController
@@ -18,6 +26,7 @@ import ru.t2.employeeawards.service.FileProcessingService;
 public class FileUploadController {
 
     private final FileProcessingService fileProcessingService;
+    private final UploadJobService uploadJobService;
 
     /**
      * Обрабатывает загруженный файл (CSV или Excel) с наградами сотрудников.
@@ -28,11 +37,7 @@ public class FileUploadController {
     @PostMapping("/upload")
     public ResponseEntity<UploadResult> uploadFile(@RequestParam("file") MultipartFile file) {
         log.info("Получен запрос на загрузку файла: {}", file.getOriginalFilename());
-        
-        if (file.isEmpty()) {
-            log.warn("Попытка загрузить пустой файл");
-            throw new IllegalArgumentException("Файл не может быть пустым");
-        }
+        validateNotEmpty(file);
         
         UploadResult result = fileProcessingService.processFile(file);
         
@@ -46,4 +51,59 @@ public class FileUploadController {
         
         return ResponseEntity.ok(result);
     }
+
+    /**
+     * Ставит файл в очередь на фоновую обработку и сразу возвращает идентификатор загрузки.
+     *
+     * @param file файл для обработки (CSV, XLS, XLSX)
+     * @return статус созданной загрузки, ссылка на него передается в заголовке Location
+     */
+    @PostMapping(value = "/upload", params = "async=true")
+    public ResponseEntity<UploadJobStatus> uploadFileAsync(@RequestParam("file") MultipartFile file) {
+        log.info("Получен запрос на асинхронную загрузку файла: {}", file.getOriginalFilename());
+        validateNotEmpty(file);
+
+        return accepted(uploadJobService.submit(file));
+    }
+
+    /**
+     * Ставит в очередь на фоновую обработку CSV файл из настроенного каталога на сервере
+     * (для файлов, превышающих лимит размера HTTP запроса) и сразу возвращает идентификатор загрузки.
+     *
+     * @param fileName имя файла внутри каталога загрузки
+     * @return статус созданной загрузки, ссылка на него передается в заголовке Location
+     */
+    @PostMapping("/import")
+    public ResponseEntity<UploadJobStatus> importFromDropDirectory(@RequestParam("fileName") String fileName) {
+        log.info("Получен запрос на загрузку файла из каталога: {}", fileName);
+
+        return accepted(uploadJobService.submitImport(fileName));
+    }
+
+    /**
+     * Возвращает состояние асинхронной загрузки и текущие счетчики обработки.
+     *
+     * @param jobId идентификатор загрузки
+     * @return статус загрузки
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<UploadJobStatus> getUploadJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(uploadJobService.getStatus(jobId));
+    }
+
+    private ResponseEntity<UploadJobStatus> accepted(UploadJobStatus status) {
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/awards/jobs/{jobId}")
+                .buildAndExpand(status.jobId())
+                .toUri();
+
+        return ResponseEntity.accepted().location(location).body(status);
+    }
+
+    private void validateNotEmpty(MultipartFile file) {
+        if (file.isEmpty()) {
+            log.warn("Попытка загрузить пустой файл");
+            throw new IllegalArgumentException("Файл не может быть пустым");
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package ru.t2.employeeawards.dto;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Позиция в списке наград, упорядоченном по (received_date, award_id).
+ * Следующая страница начинается с наград, идущих строго после этой позиции.
+ *
+ * @param receivedDate дата получения последней выданной награды
+ * @param awardId внутренний идентификатор последней выданной награды
+ */
+public record AwardCursor(LocalDate receivedDate, long awardId) {
+    private static final char SEPARATOR = '_';
+
+    /**
+     * Разбирает курсор из строки вида {@code 2024-03-22_1050}.
+     *
+     * @param value строковое представление курсора
+     * @return курсор
+     * @throws IllegalArgumentException если строка не является курсором
+     */
+    public static AwardCursor parse(String value) {
+        int separatorIndex = value.indexOf(SEPARATOR);
+        if (separatorIndex < 0) {
+            throw new IllegalArgumentException("Некорректный курсор: " + value);
+        }
+        try {
+            return new AwardCursor(
+                LocalDate.parse(value.substring(0, separatorIndex)),
+                Long.parseLong(value.substring(separatorIndex + 1))
+            );
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Некорректный курсор: " + value, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return receivedDate.toString() + SEPARATOR + awardId;
+    }
+}
@@ -0,0 +1,44 @@
+package ru.t2.employeeawards.dto;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Формат выгрузки наград.
+ */
+public enum AwardExportFormat {
+    CSV("csv", new MediaType("text", "csv")),
+    XLSX("xlsx", MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
+
+    private final String value;
+    private final MediaType mediaType;
+
+    AwardExportFormat(String value, MediaType mediaType) {
+        this.value = value;
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * @param value значение параметра format (без учета регистра)
+     * @return формат выгрузки
+     * @throws IllegalArgumentException если формат не поддерживается
+     */
+    public static AwardExportFormat fromValue(String value) {
+        for (AwardExportFormat format : values()) {
+            if (format.value.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Неподдерживаемый формат выгрузки: " + value);
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return имя выгружаемого файла
+     */
+    public String getFileName() {
+        return "awards." + value;
+    }
+}
@@ -1,19 +1,28 @@
 package ru.t2.employeeawards.dto;
 
 public enum AwardFileColumn {
-    EMPLOYEE_EXTERNAL_ID(0),
-    EMPLOYEE_FULL_NAME(1),
-    AWARD_EXTERNAL_ID(2),
-    AWARD_NAME(3),
-    RECEIVED_DATE(4);
+    EMPLOYEE_EXTERNAL_ID(0, "ID сотрудника"),
+    EMPLOYEE_FULL_NAME(1, "ФИО сотрудника"),
+    AWARD_EXTERNAL_ID(2, "ID награды"),
+    AWARD_NAME(3, "Название награды"),
+    RECEIVED_DATE(4, "Дата получения");
     
     private final int index;
+    private final String header;
     
-    AwardFileColumn(int index) {
+    AwardFileColumn(int index, String header) {
         this.index = index;
+        this.header = header;
     }
     
     public int getIndex() {
         return index;
     }
+
+    /**
+     * @return заголовок колонки в выгружаемых файлах
+     */
+    public String getHeader() {
+        return header;
+    }
 }
\ No newline at end of file
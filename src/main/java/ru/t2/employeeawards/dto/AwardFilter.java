@@ -0,0 +1,19 @@
+package ru.t2.employeeawards.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Условия выборки наград. Незаполненные условия не применяются.
+ *
+ * @param employeeId внутренний идентификатор сотрудника
+ * @param awardName точное название награды
+ * @param receivedFrom дата получения не раньше (включительно)
+ * @param receivedTo дата получения не позже (включительно)
+ */
+public record AwardFilter(
+    Long employeeId,
+    String awardName,
+    LocalDate receivedFrom,
+    LocalDate receivedTo
+) {
+}
@@ -0,0 +1,46 @@
+package ru.t2.employeeawards.dto;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Сохраненное состояние награды: проекция строки awards без загрузки сущности.
+ *
+ * @param awardId первичный ключ награды; null для награды, которая еще не записана
+ * @param awardExternalId внешний идентификатор награды
+ * @param awardName название награды
+ * @param receivedDate дата получения награды
+ * @param employeeId внутренний идентификатор сотрудника
+ */
+public record AwardState(
+    Long awardId,
+    long awardExternalId,
+    String awardName,
+    LocalDate receivedDate,
+    long employeeId
+) {
+    /**
+     * Состояние, которое будет у награды после записи данных из файла.
+     *
+     * @param awardId первичный ключ награды или null для новой награды
+     * @param upsert данные награды из файла
+     * @return новое состояние награды
+     */
+    public static AwardState of(Long awardId, AwardUpsert upsert) {
+        return new AwardState(awardId, upsert.awardExternalId(), upsert.awardName(), upsert.receivedDate(),
+                upsert.employeeId());
+    }
+
+    /**
+     * Проверяет, совпадает ли сохраненное состояние с данными из файла. Сравниваются сами поля награды,
+     * поэтому изменения, сделанные в обход загрузки (через JPA или SQL), тоже учитываются.
+     *
+     * @param upsert данные награды из файла
+     * @return true, если запись награды ничего не изменит
+     */
+    public boolean matches(AwardUpsert upsert) {
+        return employeeId == upsert.employeeId()
+                && Objects.equals(awardName, upsert.awardName())
+                && Objects.equals(receivedDate, upsert.receivedDate());
+    }
+}
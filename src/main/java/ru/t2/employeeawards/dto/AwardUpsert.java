@@ -0,0 +1,19 @@
+package ru.t2.employeeawards.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Данные награды для вставки или обновления по внешнему идентификатору.
+ *
+ * @param awardExternalId внешний идентификатор награды (ключ upsert)
+ * @param awardName название награды
+ * @param receivedDate дата получения награды
+ * @param employeeId внутренний идентификатор сотрудника
+ */
+public record AwardUpsert(
+    long awardExternalId,
+    String awardName,
+    LocalDate receivedDate,
+    long employeeId
+) {
+}
@@ -0,0 +1,31 @@
+package ru.t2.employeeawards.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDate;
+
+/**
+ * Награда в ответе API чтения наград.
+ *
+ * @param awardId внутренний идентификатор награды (используется только в курсоре)
+ * @param awardExternalId внешний идентификатор награды
+ * @param awardName название награды
+ * @param receivedDate дата получения награды
+ * @param employeeExternalId внешний идентификатор сотрудника; null, если сотрудник награды не указан
+ * @param employeeFullName ФИО сотрудника; null, если сотрудник награды не указан
+ */
+public record AwardView(
+    @JsonIgnore long awardId,
+    long awardExternalId,
+    String awardName,
+    LocalDate receivedDate,
+    Long employeeExternalId,
+    String employeeFullName
+) {
+    /**
+     * @return позиция этой награды для продолжения выборки после нее
+     */
+    public AwardCursor cursor() {
+        return new AwardCursor(receivedDate, awardId);
+    }
+}
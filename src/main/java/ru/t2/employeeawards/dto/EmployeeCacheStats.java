@@ -0,0 +1,18 @@
+package ru.t2.employeeawards.dto;
+
+/**
+ * Статистика кэша идентификаторов сотрудников.
+ *
+ * @param size текущее количество записей в кэше (включая отсутствующих сотрудников)
+ * @param hitCount количество обращений, обслуженных из кэша
+ * @param missCount количество обращений, потребовавших запроса к БД
+ * @param evictionCount количество записей, вытесненных по размеру или времени жизни
+ * @param hitRate доля обращений, обслуженных из кэша
+ */
+public record EmployeeCacheStats(
+        long size,
+        long hitCount,
+        long missCount,
+        long evictionCount,
+        double hitRate
+) {}
@@ -0,0 +1,26 @@
+package ru.t2.employeeawards.dto;
+
+/**
+ * Колонки файла со справочником сотрудников. Совпадают с первыми колонками файла с наградами
+ * {@link AwardFileColumn}, поэтому сотрудников можно загрузить и из файла с наградами.
+ */
+public enum EmployeeFileColumn {
+    EMPLOYEE_EXTERNAL_ID(0, "ID сотрудника"),
+    EMPLOYEE_FULL_NAME(1, "ФИО сотрудника");
+
+    private final int index;
+    private final String header;
+
+    EmployeeFileColumn(int index, String header) {
+        this.index = index;
+        this.header = header;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+}
@@ -0,0 +1,21 @@
+package ru.t2.employeeawards.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeFileRecord {
+
+    @NotNull
+    private Long employeeExternalId;
+
+    @NotBlank
+    private String fullName;
+}
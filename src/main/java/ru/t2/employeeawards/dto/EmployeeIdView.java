@@ -0,0 +1,13 @@
+package ru.t2.employeeawards.dto;
+
+/**
+ * Идентификаторы сотрудника: проекция строки employees без загрузки сущности в контекст персистентности.
+ *
+ * @param employeeExternalId внешний идентификатор сотрудника
+ * @param employeeId первичный ключ сотрудника
+ */
+public record EmployeeIdView(
+    Long employeeExternalId,
+    Long employeeId
+) {
+}
@@ -0,0 +1,13 @@
+package ru.t2.employeeawards.dto;
+
+/**
+ * Данные сотрудника для вставки или обновления по внешнему идентификатору.
+ *
+ * @param employeeExternalId внешний идентификатор сотрудника (ключ upsert)
+ * @param fullName ФИО сотрудника
+ */
+public record EmployeeUpsert(
+    long employeeExternalId,
+    String fullName
+) {
+}
@@ -0,0 +1,8 @@
+package ru.t2.employeeawards.dto;
+
+public enum UploadJobState {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,30 @@
+package ru.t2.employeeawards.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Текущее состояние асинхронной загрузки.
+ *
+ * @param jobId идентификатор загрузки
+ * @param fileName имя загруженного файла
+ * @param status состояние загрузки
+ * @param parsedRecords количество разобранных записей
+ * @param processedRecords количество сохраненных записей
+ * @param skippedRecords количество пропущенных записей
+ * @param unchangedRecords количество записей, совпавших с сохраненными наградами
+ * @param errors ошибки обработки записей, найденные на текущий момент
+ * @param error причина неуспешного завершения загрузки (для статуса FAILED)
+ */
+public record UploadJobStatus(
+    UUID jobId,
+    String fileName,
+    UploadJobState status,
+    int parsedRecords,
+    int processedRecords,
+    int skippedRecords,
+    int unchangedRecords,
+    List<String> errors,
+    String error
+) {
+}
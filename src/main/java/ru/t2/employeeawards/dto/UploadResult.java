@@ -3,10 +3,20 @@ package ru.t2.employeeawards.dto;
 import java.util.List;
 import java.util.ArrayList;
 
+/**
+ * Результат обработки файла.
+ *
+ * @param totalRecords количество записей в файле
+ * @param processedRecords количество записей, вставленных или измененных в БД
+ * @param skippedRecords количество записей, пропущенных из-за ошибок
+ * @param unchangedRecords количество записей, совпавших с сохраненными наградами (не записывались)
+ * @param errors ошибки обработки записей
+ */
 public record UploadResult(
     int totalRecords,
     int processedRecords,
     int skippedRecords,
+    int unchangedRecords,
     List<String> errors
 ) {
     public UploadResult {
@@ -14,4 +24,8 @@ public record UploadResult(
             errors = new ArrayList<>();
         }
     }
+
+    public UploadResult(int totalRecords, int processedRecords, int skippedRecords, List<String> errors) {
+        this(totalRecords, processedRecords, skippedRecords, 0, errors);
+    }
 }
@@ -1,6 +1,7 @@
 package ru.t2.employeeawards.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -24,6 +25,18 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        log.warn("Ресурс не найден: {}", ex.getMessage());
+        return buildErrorResponse(ex.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleTaskRejectedException(TaskRejectedException ex) {
+        log.warn("Очередь загрузок переполнена: {}", ex.getMessage());
+        return buildErrorResponse("Очередь загрузок переполнена, повторите попытку позже", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     private ResponseEntity<Map<String, String>> buildErrorResponse(String message, HttpStatus status) {
         return ResponseEntity
                 .status(status)
@@ -0,0 +1,16 @@
+package ru.t2.employeeawards.exception;
+
+/**
+ * Исключение, выбрасываемое, когда запрошенный ресурс не найден.
+ */
+public class ResourceNotFoundException extends RuntimeException {
+
+    /**
+     * Создает исключение с указанным сообщением.
+     *
+     * @param message описание ненайденного ресурса
+     */
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -1,12 +1,21 @@
 package ru.t2.employeeawards.factory;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
+import ru.t2.employeeawards.config.UploadProperties;
+import ru.t2.employeeawards.dto.AwardFileRecord;
 import ru.t2.employeeawards.exception.FileParseException;
+import ru.t2.employeeawards.parser.ExcelParseOptions;
 import ru.t2.employeeawards.parser.FileParser;
+import ru.t2.employeeawards.parser.RecordMapper;
+import ru.t2.employeeawards.parser.impl.AwardRecordMapper;
 import ru.t2.employeeawards.parser.impl.CsvParser;
+import ru.t2.employeeawards.parser.impl.CsvRecordParser;
 import ru.t2.employeeawards.parser.impl.ExcelParser;
+import ru.t2.employeeawards.parser.impl.XlsxStreamingParser;
 
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
 
 @Component
@@ -15,32 +24,33 @@ public class FileFactory {
     private static final String EXTENSION_XLS = ".xls";
     private static final String EXTENSION_CSV = ".csv";
 
-    // Финальная мапа с парсерами
-    private static final Map<String, Supplier<FileParser>> PARSER_SUPPLIERS;
-    static {
-        PARSER_SUPPLIERS = Map.of(
-                EXTENSION_XLSX, ExcelParser::new,
-                EXTENSION_XLS, ExcelParser::new,
+    private final ExcelParseOptions excelOptions;
+
+    // Финальная мапа с парсерами файлов с наградами
+    private final Map<String, Supplier<FileParser<AwardFileRecord>>> parserSuppliers;
+
+    public FileFactory(UploadProperties uploadProperties, @Qualifier("excelParserPool") ForkJoinPool excelParserPool) {
+        UploadProperties.Excel excel = uploadProperties.getExcel();
+        excelOptions = new ExcelParseOptions(
+                excel.isAllSheets(),
+                excel.isParallel() ? excelParserPool : null
+        );
+        parserSuppliers = Map.of(
+                EXTENSION_XLSX, () -> new XlsxStreamingParser<>(AwardRecordMapper.INSTANCE, excelOptions),
+                EXTENSION_XLS, () -> new ExcelParser<>(AwardRecordMapper.INSTANCE, excelOptions),
                 EXTENSION_CSV, CsvParser::new
         );
     }
 
     /**
-     * Возвращает парсер для указанного файла на основе его расширения.
+     * Возвращает парсер файла с наградами на основе расширения файла.
      *
      * @param fileName имя файла
      * @return парсер для данного типа файла
      * @throws FileParseException если тип файла не поддерживается
      */
-    public FileParser getParser(String fileName) {
-        if (fileName == null || fileName.isBlank()) {
-            throw new FileParseException("Имя файла не указано");
-        }
-
-        String normalizedFileName = fileName.toLowerCase();
-        String extension = extractExtension(normalizedFileName);
-
-        Supplier<FileParser> parserSupplier = PARSER_SUPPLIERS.get(extension);
+    public FileParser<AwardFileRecord> getParser(String fileName) {
+        Supplier<FileParser<AwardFileRecord>> parserSupplier = parserSuppliers.get(extractExtension(fileName));
         if (parserSupplier == null) {
             throw new FileParseException("Неподдерживаемый тип файла: " + fileName);
         }
@@ -48,18 +58,40 @@ public class FileFactory {
         return parserSupplier.get();
     }
 
+    /**
+     * Возвращает парсер файла произвольного формата (например, справочника сотрудников) на основе расширения файла.
+     *
+     * @param fileName имя файла
+     * @param recordMapper формат строки файла
+     * @return парсер для данного типа файла
+     * @throws FileParseException если тип файла не поддерживается
+     */
+    public <T> FileParser<T> getParser(String fileName, RecordMapper<T> recordMapper) {
+        return switch (extractExtension(fileName)) {
+            case EXTENSION_XLSX -> new XlsxStreamingParser<>(recordMapper, excelOptions);
+            case EXTENSION_XLS -> new ExcelParser<>(recordMapper, excelOptions);
+            case EXTENSION_CSV -> new CsvRecordParser<>(recordMapper);
+            default -> throw new FileParseException("Неподдерживаемый тип файла: " + fileName);
+        };
+    }
+
     /**
      * Извлекает расширение файла из имени.
      *
      * @param fileName имя файла
-     * @return расширение файла или исключение если расширение не найдено
+     * @return расширение файла в нижнем регистре или исключение если расширение не найдено
      */
     private String extractExtension(String fileName) {
-        int lastDotIndex = fileName.lastIndexOf('.');
-        if (lastDotIndex <= 0 || lastDotIndex == fileName.length() - 1) {
-            throw new FileParseException("Файл не имеет расширения: " + fileName);
+        if (fileName == null || fileName.isBlank()) {
+            throw new FileParseException("Имя файла не указано");
+        }
+
+        String normalizedFileName = fileName.toLowerCase();
+        int lastDotIndex = normalizedFileName.lastIndexOf('.');
+        if (lastDotIndex <= 0 || lastDotIndex == normalizedFileName.length() - 1) {
+            throw new FileParseException("Файл не имеет расширения: " + normalizedFileName);
         }
-        return fileName.substring(lastDotIndex);
+        return normalizedFileName.substring(lastDotIndex);
     }
 
 }
@@ -2,9 +2,12 @@ package ru.t2.employeeawards.model;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Column;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
@@ -12,17 +15,29 @@ import lombok.NoArgsConstructor;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.JoinColumn;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import java.time.LocalDate;
 
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "awards")
+// Индексы соответствуют порядку (received_date, award_id) постраничного чтения с фильтрами и без
+// и содержат все читаемые им колонки наград, поэтому страница читается из индекса без обращения к строкам таблицы
+@Table(name = "awards", indexes = {
+    @Index(name = "idx_awards_received_date_award_id",
+        columnList = "received_date, award_id, employee_id, award_external_id, award_name"),
+    @Index(name = "idx_awards_employee_received_date",
+        columnList = "employee_id, received_date, award_id, award_external_id, award_name"),
+    @Index(name = "idx_awards_name_received_date",
+        columnList = "award_name, received_date, award_id, employee_id, award_external_id")
+})
 public class Award {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Пул идентификаторов из последовательности позволяет Hibernate группировать INSERT в JDBC batch
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "awards_seq")
+    @SequenceGenerator(name = "awards_seq", sequenceName = "awards_seq", allocationSize = 50)
     @Column(name = "award_id")
     private Long awardId;
 
@@ -30,13 +45,16 @@ public class Award {
     @Column(name = "award_name")
     private String awardName;
 
+    // Дата обязательна: по ней упорядочено постраничное чтение наград
+    @NotNull(message = "Received date is required")
     @Column(name = "received_date")
     private LocalDate receivedDate;
 
     @Column(name = "award_external_id", unique = true)
     private Long awardExternalId;
 
-    @ManyToOne
+    // Сотрудник загружается только при обращении или через AwardRepository#findWithEmployeeByAwardExternalId
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id")
     private Employee employee;
     
@@ -2,25 +2,30 @@ package ru.t2.employeeawards.model;
 
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.Column;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 import jakarta.validation.constraints.NotBlank;
+import ru.t2.employeeawards.service.EmployeeCacheInvalidationListener;
 
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor
 @Table(name = "employees")
+@EntityListeners(EmployeeCacheInvalidationListener.class)
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     @Column(name = "employee_id")
     private Long employeeId;
 
@@ -0,0 +1,29 @@
+package ru.t2.employeeawards.parser;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Настройки разбора Excel файлов.
+ *
+ * @param allSheets разбирать все листы книги, а не только первый
+ * @param pool пул для параллельного разбора листов xlsx файла; null - разбор в вызывающем потоке.
+ *             Листы xls файла всегда разбираются в вызывающем потоке
+ */
+public record ExcelParseOptions(boolean allSheets, ForkJoinPool pool) {
+
+    /**
+     * Разбор только первого листа в вызывающем потоке.
+     */
+    public static final ExcelParseOptions FIRST_SHEET = new ExcelParseOptions(false, null);
+
+    /**
+     * Возвращает уточнение контекста ошибки с именем листа. При разборе только первого листа
+     * уточнение не добавляется, чтобы сообщения об ошибках не менялись.
+     *
+     * @param sheetName имя листа
+     * @return уточнение вида {@code  листа "Имя"} или пустая строка
+     */
+    public String sheetContext(String sheetName) {
+        return allSheets ? " листа \"" + sheetName + "\"" : "";
+    }
+}
@@ -1,20 +1,37 @@
 package ru.t2.employeeawards.parser;
 
 import java.io.InputStream;
-import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
-import ru.t2.employeeawards.dto.AwardFileRecord;
+import java.util.function.Consumer;
+import ru.t2.employeeawards.exception.FileParseException;
 
 /**
- * Интерфейс для парсинга файлов с наградами сотрудников.
+ * Интерфейс для парсинга файлов с записями (наградами или сотрудниками).
+ *
+ * @param <T> тип записи
  */
-public interface FileParser {
+public interface FileParser<T> {
     /**
-     * Парсит файл и возвращает список записей о наградах.
+     * Потоково парсит файл, передавая каждую запись получателю сразу после ее разбора.
+     * Файл целиком в памяти не хранится: получатель вызывается, пока парсинг еще продолжается.
      *
      * @param inputStream поток данных файла
-     * @return список записей о наградах
-     * @throws IOException если произошла ошибка при чтении файла
+     * @param consumer получатель записей (вызывается в порядке следования строк в файле)
+     * @throws FileParseException если произошла ошибка при чтении или разборе файла
      */
-    List<AwardFileRecord> parse(InputStream inputStream) throws IOException;
+    void parse(InputStream inputStream, Consumer<T> consumer);
+
+    /**
+     * Парсит файл и возвращает список записей.
+     *
+     * @param inputStream поток данных файла
+     * @return список записей
+     * @throws FileParseException если произошла ошибка при чтении или разборе файла
+     */
+    default List<T> parse(InputStream inputStream) {
+        List<T> records = new ArrayList<>();
+        parse(inputStream, records::add);
+        return records;
+    }
 }
@@ -0,0 +1,29 @@
+package ru.t2.employeeawards.parser;
+
+import ru.t2.employeeawards.exception.FileParseException;
+
+import java.util.function.Supplier;
+
+/**
+ * Преобразование строки файла в запись. Определяет формат файла для парсеров,
+ * не привязанных к конкретному типу записей.
+ *
+ * @param <T> тип записи
+ */
+public interface RecordMapper<T> {
+    /**
+     * @return количество обязательных колонок в строке файла
+     */
+    int columnCount();
+
+    /**
+     * Создает запись из значений колонок строки.
+     *
+     * @param values значения колонок, не менее {@link #columnCount()}
+     * @param errorContext контекст ошибки для сообщения (например, номер строки или содержимое строки);
+     *                     строится только при ошибке, чтобы не создавать строку для каждой записи файла
+     * @return созданная запись
+     * @throws FileParseException если значения не соответствуют формату
+     */
+    T map(String[] values, Supplier<String> errorContext);
+}
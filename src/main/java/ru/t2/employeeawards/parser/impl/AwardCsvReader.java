@@ -0,0 +1,326 @@
+package ru.t2.employeeawards.parser.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import ru.t2.employeeawards.dto.AwardFileColumn;
+import ru.t2.employeeawards.dto.AwardFileRecord;
+import ru.t2.employeeawards.exception.FileParseException;
+import ru.t2.employeeawards.parser.FileStructure;
+import ru.t2.employeeawards.parser.utils.RecordParserUtils;
+
+/**
+ * Читатель CSV (RFC 4180) для фиксированного формата файла с наградами.
+ *
+ * Символы читаются в переиспользуемый буфер, значения текущей строки копируются в общий буфер записи
+ * (с раскрытием кавычек), идентификаторы и дата разбираются прямо из него без промежуточных строк.
+ * Строки создаются только для ФИО и названия награды. Если быстрый разбор не удался, запись
+ * разбирается через {@link RecordParserUtils}, поэтому сообщения об ошибках совпадают с остальными
+ * парсерами, а контекст ошибки строится только в этом случае.
+ *
+ * Разделители строк: {@code \n}, {@code \r\n} и {@code \r}. Внутри значений в кавычках допускаются
+ * запятые, переводы строк и экранированные кавычки ({@code ""}). Экземпляр не потокобезопасен.
+ */
+public class AwardCsvReader {
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+    private static final int END_OF_INPUT = -1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int INITIAL_RECORD_LENGTH = 256;
+    private static final int INITIAL_FIELDS = 8;
+    private static final int MAX_RECORD_LENGTH = 1 << 20;
+    // Не более 18 цифр: такое число гарантированно помещается в long
+    private static final int MAX_FAST_LONG_DIGITS = 18;
+    private static final int ISO_DATE_LENGTH = 10;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+
+    private char[] record = new char[INITIAL_RECORD_LENGTH];
+    private int recordLength;
+    private int[] fieldStarts = new int[INITIAL_FIELDS];
+    private int[] fieldEnds = new int[INITIAL_FIELDS];
+    private int fieldCount;
+
+    private long recordLineNumber;
+    private long nextLineNumber;
+
+    public AwardCsvReader(Reader reader) {
+        this(reader, 1);
+    }
+
+    /**
+     * @param reader источник символов
+     * @param firstLineNumber номер строки файла, с которой начинаются данные (если читается часть файла)
+     */
+    public AwardCsvReader(Reader reader, long firstLineNumber) {
+        this.reader = reader;
+        this.nextLineNumber = firstLineNumber;
+    }
+
+    /**
+     * Пропускает строку заголовков.
+     *
+     * @return false, если файл пустой или строка заголовков пустая
+     * @throws IOException если произошла ошибка чтения
+     */
+    public boolean skipHeader() throws IOException {
+        if (!readRecord()) {
+            return false;
+        }
+        return !(fieldCount == 1 && isBlank(0));
+    }
+
+    /**
+     * Читает следующую запись о награде.
+     *
+     * @return запись или null, если данные закончились
+     * @throws IOException если произошла ошибка чтения
+     * @throws FileParseException если строка не соответствует формату файла
+     */
+    public AwardFileRecord next() throws IOException {
+        if (!readRecord()) {
+            return null;
+        }
+        if (fieldCount != FileStructure.EXPECTED_COLUMNS.getValue()) {
+            throw new FileParseException("Строка содержит неверное количество колонок: " + fieldCount);
+        }
+        return toRecord();
+    }
+
+    /**
+     * Читает значения колонок следующей строки без преобразования в запись о награде
+     * (для CSV файлов другого формата, например справочника сотрудников).
+     *
+     * @param minColumns минимальное количество колонок в строке
+     * @return значения колонок или null, если данные закончились
+     * @throws IOException если произошла ошибка чтения
+     * @throws FileParseException если в строке меньше колонок, чем требуется
+     */
+    public String[] nextValues(int minColumns) throws IOException {
+        if (!readRecord()) {
+            return null;
+        }
+        if (fieldCount < minColumns) {
+            throw new FileParseException("Строка содержит неверное количество колонок: " + fieldCount);
+        }
+        return fieldValues();
+    }
+
+    /**
+     * @return номер физической строки файла, с которой начинается последняя прочитанная запись (с 1)
+     */
+    public long getLineNumber() {
+        return recordLineNumber;
+    }
+
+    private boolean readRecord() throws IOException {
+        recordLength = 0;
+        fieldCount = 0;
+        recordLineNumber = nextLineNumber;
+        if (position == limit && !fill()) {
+            return false;
+        }
+
+        int fieldStart = 0;
+        boolean atFieldStart = true;
+        boolean quoted = false;
+        while (true) {
+            if (position == limit && !fill()) {
+                if (quoted) {
+                    throw new FileParseException(
+                        "Ошибка при чтении CSV файла: незакрытые кавычки в строке " + recordLineNumber
+                    );
+                }
+                endField(fieldStart);
+                return true;
+            }
+
+            char c = buffer[position++];
+            if (quoted) {
+                if (c != QUOTE) {
+                    if (c == '\n') {
+                        nextLineNumber++;
+                    }
+                    append(c);
+                } else if (peek() == QUOTE) {
+                    position++;
+                    append(QUOTE);
+                } else {
+                    quoted = false;
+                }
+            } else if (c == DELIMITER) {
+                endField(fieldStart);
+                fieldStart = recordLength;
+                atFieldStart = true;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && peek() == '\n') {
+                    position++;
+                }
+                nextLineNumber++;
+                endField(fieldStart);
+                return true;
+            } else if (c == QUOTE && atFieldStart) {
+                quoted = true;
+                atFieldStart = false;
+            } else {
+                append(c);
+                atFieldStart = false;
+            }
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+
+        position = 0;
+        if (read < 0) {
+            endOfInput = true;
+            limit = 0;
+            return false;
+        }
+        limit = read;
+        return true;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return END_OF_INPUT;
+        }
+        return buffer[position];
+    }
+
+    private void append(char c) {
+        if (recordLength == record.length) {
+            if (recordLength >= MAX_RECORD_LENGTH) {
+                throw new FileParseException(
+                    "Ошибка при чтении CSV файла: строка " + recordLineNumber
+                        + " длиннее " + MAX_RECORD_LENGTH + " символов"
+                );
+            }
+            record = Arrays.copyOf(record, recordLength * 2);
+        }
+        record[recordLength++] = c;
+    }
+
+    private void endField(int fieldStart) {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = fieldStart;
+        fieldEnds[fieldCount] = recordLength;
+        fieldCount++;
+    }
+
+    private AwardFileRecord toRecord() {
+        long employeeExternalId = parseLong(AwardFileColumn.EMPLOYEE_EXTERNAL_ID.getIndex());
+        long awardExternalId = parseLong(AwardFileColumn.AWARD_EXTERNAL_ID.getIndex());
+        LocalDate receivedDate = parseDate(AwardFileColumn.RECEIVED_DATE.getIndex());
+        if (employeeExternalId < 0 || awardExternalId < 0 || receivedDate == null) {
+            // Нестандартное или ошибочное значение: разбор строковым путем с тем же сообщением об ошибке
+            String[] values = fieldValues();
+            return RecordParserUtils.createRecord(values, "строке: " + Arrays.toString(values));
+        }
+
+        return new AwardFileRecord(
+            employeeExternalId,
+            fieldValue(AwardFileColumn.EMPLOYEE_FULL_NAME.getIndex()),
+            awardExternalId,
+            fieldValue(AwardFileColumn.AWARD_NAME.getIndex()),
+            receivedDate
+        );
+    }
+
+    /**
+     * Разбирает неотрицательное число без знака.
+     *
+     * @return значение или -1, если значение нужно разобрать строковым путем
+     */
+    private long parseLong(int field) {
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        if (end == start || end - start > MAX_FAST_LONG_DIGITS) {
+            return -1;
+        }
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = record[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Разбирает дату в формате yyyy-MM-dd.
+     *
+     * @return дата или null, если значение нужно разобрать строковым путем
+     */
+    private LocalDate parseDate(int field) {
+        int start = fieldStarts[field];
+        if (fieldEnds[field] - start != ISO_DATE_LENGTH
+                || record[start + 4] != '-' || record[start + 7] != '-') {
+            return null;
+        }
+
+        int year = parseDigits(start, start + 4);
+        int month = parseDigits(start + 5, start + 7);
+        int day = parseDigits(start + 8, start + 10);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private int parseDigits(int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = record[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private boolean isBlank(int field) {
+        for (int i = fieldStarts[field]; i < fieldEnds[field]; i++) {
+            if (!Character.isWhitespace(record[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String fieldValue(int field) {
+        return new String(record, fieldStarts[field], fieldEnds[field] - fieldStarts[field]);
+    }
+
+    private String[] fieldValues() {
+        String[] values = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            values[i] = fieldValue(i);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,29 @@
+package ru.t2.employeeawards.parser.impl;
+
+import ru.t2.employeeawards.dto.AwardFileRecord;
+import ru.t2.employeeawards.parser.FileStructure;
+import ru.t2.employeeawards.parser.RecordMapper;
+import ru.t2.employeeawards.parser.utils.RecordParserUtils;
+
+import java.util.function.Supplier;
+
+/**
+ * Формат файла с наградами: пять колонок {@link ru.t2.employeeawards.dto.AwardFileColumn}.
+ */
+public final class AwardRecordMapper implements RecordMapper<AwardFileRecord> {
+
+    public static final AwardRecordMapper INSTANCE = new AwardRecordMapper();
+
+    private AwardRecordMapper() {
+    }
+
+    @Override
+    public int columnCount() {
+        return FileStructure.EXPECTED_COLUMNS.getValue();
+    }
+
+    @Override
+    public AwardFileRecord map(String[] values, Supplier<String> errorContext) {
+        return RecordParserUtils.createRecord(values, errorContext);
+    }
+}
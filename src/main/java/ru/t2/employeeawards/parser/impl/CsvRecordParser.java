@@ -0,0 +1,50 @@
+package ru.t2.employeeawards.parser.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import ru.t2.employeeawards.exception.FileParseException;
+import ru.t2.employeeawards.parser.FileParser;
+import ru.t2.employeeawards.parser.RecordMapper;
+
+/**
+ * Парсер CSV файлов произвольного формата: строка разбирается {@link AwardCsvReader} на значения
+ * колонок, которые преобразует в запись {@link RecordMapper}. Колонки сверх требуемых игнорируются.
+ *
+ * @param <T> тип записи
+ */
+public class CsvRecordParser<T> implements FileParser<T> {
+
+    private final RecordMapper<T> recordMapper;
+
+    public CsvRecordParser(RecordMapper<T> recordMapper) {
+        this.recordMapper = recordMapper;
+    }
+
+    /**
+     * Потоково парсит CSV файл, передавая каждую запись получателю.
+     *
+     * @param inputStream поток данных CSV файла
+     * @param consumer получатель записей
+     */
+    @Override
+    public void parse(InputStream inputStream, Consumer<T> consumer) {
+        try (InputStreamReader streamReader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            AwardCsvReader reader = new AwardCsvReader(streamReader);
+            if (!reader.skipHeader()) {
+                throw new FileParseException("CSV файл не содержит данных");
+            }
+
+            String[] values;
+            while ((values = reader.nextValues(recordMapper.columnCount())) != null) {
+                String[] rowValues = values;
+                consumer.accept(recordMapper.map(rowValues, () -> "строке: " + Arrays.toString(rowValues)));
+            }
+        } catch (IOException e) {
+            throw new FileParseException("Ошибка при чтении CSV файла: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ru.t2.employeeawards.parser.impl;
+
+import ru.t2.employeeawards.dto.EmployeeFileColumn;
+import ru.t2.employeeawards.dto.EmployeeFileRecord;
+import ru.t2.employeeawards.exception.FileParseException;
+import ru.t2.employeeawards.parser.RecordMapper;
+
+import java.util.function.Supplier;
+
+/**
+ * Формат файла со справочником сотрудников: колонки {@link EmployeeFileColumn}.
+ * Следующие колонки строки игнорируются, поэтому подходит и файл с наградами.
+ */
+public final class EmployeeRecordMapper implements RecordMapper<EmployeeFileRecord> {
+
+    public static final EmployeeRecordMapper INSTANCE = new EmployeeRecordMapper();
+
+    private EmployeeRecordMapper() {
+    }
+
+    @Override
+    public int columnCount() {
+        return EmployeeFileColumn.values().length;
+    }
+
+    @Override
+    public EmployeeFileRecord map(String[] values, Supplier<String> errorContext) {
+        try {
+            return new EmployeeFileRecord(
+                Long.parseLong(values[EmployeeFileColumn.EMPLOYEE_EXTERNAL_ID.getIndex()]),
+                values[EmployeeFileColumn.EMPLOYEE_FULL_NAME.getIndex()]
+            );
+        } catch (NumberFormatException e) {
+            throw new FileParseException(
+                "Ошибка при парсинге данных: " + e.getMessage() + " в " + errorContext.get(),
+                e
+            );
+        } catch (NullPointerException | ArrayIndexOutOfBoundsException e) {
+            throw new FileParseException(
+                "Отсутствуют обязательные данные в " + errorContext.get(),
+                e
+            );
+        }
+    }
+}
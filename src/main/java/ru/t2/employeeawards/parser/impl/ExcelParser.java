@@ -2,83 +2,135 @@ package ru.t2.employeeawards.parser.impl;
 
 import java.io.InputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
-import ru.t2.employeeawards.dto.AwardFileRecord;
+import java.util.function.Consumer;
+import ru.t2.employeeawards.parser.ExcelParseOptions;
 import ru.t2.employeeawards.parser.FileParser;
 import ru.t2.employeeawards.parser.FileStructure;
+import ru.t2.employeeawards.parser.RecordMapper;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Row;
-import java.util.ArrayList;
-import ru.t2.employeeawards.dto.AwardFileColumn;
 import ru.t2.employeeawards.exception.FileParseException;
 import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.Cell;
-import ru.t2.employeeawards.parser.utils.RecordParserUtils;
 
-public class ExcelParser implements FileParser {
+/**
+ * Парсер Excel файлов (xls и xlsx) на основе объектной модели книги POI.
+ *
+ * По умолчанию разбирается только первый лист. С {@link ExcelParseOptions} можно разбирать все листы книги;
+ * пул из настроек не используется: объектная модель POI не потокобезопасна даже при чтении
+ * (строки, стили и общие строки листа разделяют внутреннее состояние книги), поэтому листы
+ * разбираются последовательно в вызывающем потоке. Параллельный разбор листов поддерживает
+ * только {@link XlsxStreamingParser}, у которого каждый лист читается своим SAX парсером.
+ *
+ * @param <T> тип записи, формат строки задает {@link RecordMapper}
+ */
+public class ExcelParser<T> implements FileParser<T> {
     private static final int FIRST_SHEET_INDEX = 0;
 
+    private final RecordMapper<T> recordMapper;
+    private final ExcelParseOptions options;
+
+    public ExcelParser(RecordMapper<T> recordMapper) {
+        this(recordMapper, ExcelParseOptions.FIRST_SHEET);
+    }
+
+    public ExcelParser(RecordMapper<T> recordMapper, ExcelParseOptions options) {
+        this.recordMapper = recordMapper;
+        this.options = options;
+    }
+
     /**
-     * Парсит Excel файл и возвращает список записей о наградах.
+     * Парсит Excel файл, передавая каждую запись получателю.
+     *
+     * Формат файла проверяется по сигнатуре в начале потока, а структура - при построении книги,
+     * которая затем используется для парсинга, поэтому файл читается один раз.
      *
      * @param inputStream поток данных Excel файла
-     * @return список записей о наградах
+     * @param consumer получатель записей
      */
     @Override
-    public List<AwardFileRecord> parse(InputStream inputStream) {
-        try (Workbook workbook = WorkbookFactory.create(inputStream)) {
-            Sheet sheet = workbook.getSheetAt(FIRST_SHEET_INDEX);
-            if (sheet == null) {
-                throw new FileParseException("Не удалось получить лист из файла");
-            }
-            
-            List<AwardFileRecord> records = new ArrayList<>();
+    public void parse(InputStream inputStream, Consumer<T> consumer) {
+        try (Workbook workbook = openWorkbook(FileMagic.prepareToCheckMagic(inputStream))) {
             DataFormatter dataFormatter = new DataFormatter();
-            for (Row row : sheet) {
-                if (row.getRowNum() == FileStructure.HEADERS_ROW_EXCEL.getValue()) {
-                    continue; // Пропускаем строку заголовков
-                }
-                validateRow(row);
-                records.add(parseRow(row, dataFormatter));
+            for (Sheet sheet : selectSheets(workbook)) {
+                parseRows(sheet, dataFormatter, consumer);
             }
-
-            return records;
         } catch (IOException e) {
             throw new FileParseException("Ошибка при чтении Excel файла: " + e.getMessage(), e);
         }
     }
 
-    private void validateRow(Row row) {
-        if (row == null) {
-            throw new FileParseException("Строка пустая");
+    private List<Sheet> selectSheets(Workbook workbook) {
+        if (workbook.getNumberOfSheets() == 0) {
+            throw new FileParseException("Не удалось получить лист из файла");
+        }
+        if (!options.allSheets()) {
+            return List.of(workbook.getSheetAt(FIRST_SHEET_INDEX));
+        }
+
+        List<Sheet> sheets = new ArrayList<>(workbook.getNumberOfSheets());
+        workbook.forEach(sheets::add);
+        return sheets;
+    }
+
+    private void parseRows(Sheet sheet, DataFormatter dataFormatter, Consumer<T> consumer) {
+        String sheetContext = options.sheetContext(sheet.getSheetName());
+        int firstRow = Math.max(sheet.getFirstRowNum(), 0);
+        int lastRow = sheet.getLastRowNum();
+        for (int rowNum = firstRow; rowNum <= lastRow; rowNum++) {
+            if (rowNum == FileStructure.HEADERS_ROW_EXCEL.getValue()) {
+                continue; // Пропускаем строку заголовков
+            }
+            Row row = sheet.getRow(rowNum);
+            if (row == null) {
+                continue; // Физически отсутствующие строки не хранятся в листе
+            }
+            validateRow(row, sheetContext);
+            consumer.accept(parseRow(row, dataFormatter, sheetContext));
+        }
+    }
+
+    private Workbook openWorkbook(InputStream inputStream) throws IOException {
+        FileMagic fileMagic = FileMagic.valueOf(inputStream);
+        if (fileMagic != FileMagic.OLE2 && fileMagic != FileMagic.OOXML) {
+            throw new FileParseException("Невалидный xls файл: неизвестный формат файла (" + fileMagic + ")");
         }
-        
-        for (int i = 0; i < FileStructure.EXPECTED_COLUMNS.getValue(); i++) {
+
+        try {
+            return WorkbookFactory.create(inputStream);
+        } catch (Exception e) {
+            throw new FileParseException("Невалидный xls файл: " + e.getMessage(), e);
+        }
+    }
+
+    private void validateRow(Row row, String sheetContext) {
+        for (int i = 0; i < recordMapper.columnCount(); i++) {
             Cell cell = row.getCell(i);
             if (cell == null) {
                 throw new FileParseException(
-                    "Ячейка " + i + " пустая в строке " + (row.getRowNum() + 1)
+                    "Ячейка " + i + " пустая в строке " + (row.getRowNum() + 1) + sheetContext
                 );
             }
         }
     }
 
-    private AwardFileRecord parseRow(Row row, DataFormatter dataFormatter) {
+    private T parseRow(Row row, DataFormatter dataFormatter, String sheetContext) {
         Cell[] cells = extractCells(row);
         String[] values = formatCells(cells, dataFormatter);
-        return createRecord(values, row);
+        return createRecord(values, row, sheetContext);
     }
 
     private Cell[] extractCells(Row row) {
-        return new Cell[]{
-            row.getCell(AwardFileColumn.EMPLOYEE_EXTERNAL_ID.getIndex()),
-            row.getCell(AwardFileColumn.EMPLOYEE_FULL_NAME.getIndex()),
-            row.getCell(AwardFileColumn.AWARD_EXTERNAL_ID.getIndex()),
-            row.getCell(AwardFileColumn.AWARD_NAME.getIndex()),
-            row.getCell(AwardFileColumn.RECEIVED_DATE.getIndex())
-        };
+        Cell[] cells = new Cell[recordMapper.columnCount()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = row.getCell(i);
+        }
+        return cells;
     }
 
     private String[] formatCells(Cell[] cells, DataFormatter dataFormatter) {
@@ -89,8 +141,7 @@ public class ExcelParser implements FileParser {
         return values;
     }
 
-    private AwardFileRecord createRecord(String[] values, Row row) {
-        String errorContext = "строке " + (row.getRowNum() + 1);
-        return RecordParserUtils.createRecord(values, errorContext);
+    private T createRecord(String[] values, Row row, String sheetContext) {
+        return recordMapper.map(values, () -> "строке " + (row.getRowNum() + 1) + sheetContext);
     }
 }
@@ -0,0 +1,94 @@
+package ru.t2.employeeawards.parser.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Разбирает части файла (листы xlsx книги) в {@link ForkJoinPool} и передает записи
+ * получателю в порядке следования частей в файле.
+ *
+ * Записи каждой части накапливаются в отдельном списке; получатель вызывается из вызывающего потока
+ * по мере готовности частей, пока следующие части еще разбираются. Ошибка разбора сохраняется
+ * вместе с записями, прочитанными до нее, поэтому результат совпадает с последовательным разбором:
+ * получатель получает все записи до первой по порядку ошибочной строки, затем выбрасывается ее исключение,
+ * даже если в более поздней части ошибка была найдена раньше. Части после ошибочной не запускаются.
+ */
+final class OrderedPartsParser {
+    private static final int NO_FAILURE = Integer.MAX_VALUE;
+
+    private OrderedPartsParser() {
+        // Утилитарный класс
+    }
+
+    /**
+     * Часть файла, которая разбирается независимо от остальных.
+     */
+    @FunctionalInterface
+    interface Part<T> {
+        void parse(Consumer<T> consumer);
+    }
+
+    /**
+     * @param pool пул для параллельного разбора; если null или часть одна, части разбираются
+     *             последовательно в вызывающем потоке без накопления записей
+     * @param parts части в порядке следования в файле
+     * @param consumer получатель записей
+     */
+    static <T> void parse(ForkJoinPool pool, List<Part<T>> parts, Consumer<T> consumer) {
+        if (pool == null || parts.size() <= 1) {
+            parts.forEach(part -> part.parse(consumer));
+            return;
+        }
+
+        AtomicInteger firstFailedPart = new AtomicInteger(NO_FAILURE);
+        List<ForkJoinTask<PartResult<T>>> tasks = new ArrayList<>(parts.size());
+        try {
+            for (int i = 0; i < parts.size(); i++) {
+                tasks.add(pool.submit(new PartTask<>(i, parts.get(i), firstFailedPart)));
+            }
+            for (ForkJoinTask<PartResult<T>> task : tasks) {
+                PartResult<T> result = task.join();
+                result.records().forEach(consumer);
+                if (result.failure() != null) {
+                    throw result.failure();
+                }
+            }
+        } finally {
+            // При ошибке незапущенные части отменяются, а выполняющиеся дожидаются завершения,
+            // чтобы источник (например, книга) не был закрыт, пока его читают
+            tasks.forEach(task -> task.cancel(false));
+            tasks.forEach(ForkJoinTask::quietlyJoin);
+        }
+    }
+
+    /**
+     * Записи части, прочитанные до ошибки, и сама ошибка (null, если часть разобрана полностью).
+     */
+    private record PartResult<T>(List<T> records, RuntimeException failure) {
+    }
+
+    private record PartTask<T>(int index, Part<T> part, AtomicInteger firstFailedPart)
+            implements Callable<PartResult<T>> {
+
+        @Override
+        public PartResult<T> call() {
+            List<T> records = new ArrayList<>();
+            if (firstFailedPart.get() < index) {
+                // Более ранняя часть уже содержит ошибку, записи этой части не понадобятся
+                return new PartResult<>(records, null);
+            }
+            try {
+                part.parse(records::add);
+                return new PartResult<>(records, null);
+            } catch (RuntimeException e) {
+                firstFailedPart.accumulateAndGet(index, Math::min);
+                return new PartResult<>(records, e);
+            }
+        }
+    }
+}
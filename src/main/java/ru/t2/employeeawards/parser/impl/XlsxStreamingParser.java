@@ -0,0 +1,229 @@
+package ru.t2.employeeawards.parser.impl;
+
+import java.io.InputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import javax.xml.parsers.ParserConfigurationException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.ooxml.POIXMLException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import ru.t2.employeeawards.exception.FileParseException;
+import ru.t2.employeeawards.parser.ExcelParseOptions;
+import ru.t2.employeeawards.parser.FileParser;
+import ru.t2.employeeawards.parser.FileStructure;
+import ru.t2.employeeawards.parser.RecordMapper;
+
+/**
+ * Потоковый парсер xlsx файлов на основе событийного API POI.
+ *
+ * В отличие от {@link ExcelParser} не строит объектную модель книги: лист читается SAX-парсером,
+ * общие строки - через {@link ReadOnlySharedStringsTable}, поэтому в памяти одновременно
+ * находится только текущая строка листа, а готовые записи сразу передаются получателю.
+ *
+ * С {@link ExcelParseOptions} можно разбирать все листы книги. Если при этом задан пул, листы
+ * разбираются параллельно (каждый своим SAX-парсером), а записи листа накапливаются до передачи
+ * получателю в порядке листов. Диапазоны строк одного листа параллельно не разбираются:
+ * XML листа читается только последовательно.
+ *
+ * Пакет открывается из временного файла: {@link OPCPackage#open(InputStream)} распаковывает в память
+ * все части архива, включая XML листа целиком, и память снова росла бы с числом строк.
+ *
+ * @param <T> тип записи, формат строки задает {@link RecordMapper}
+ */
+@Slf4j
+public class XlsxStreamingParser<T> implements FileParser<T> {
+    private static final String TEMP_FILE_PREFIX = "awards-xlsx-";
+    private static final String TEMP_FILE_SUFFIX = ".xlsx";
+    private static final String MISSING_XL_STRUCTURE_MESSAGE =
+            "Файл не является валидным Excel файлом: отсутствует структура xl/";
+    private static final Pattern XL_PART_NAME = Pattern.compile("/xl/.*");
+
+    private final RecordMapper<T> recordMapper;
+    private final ExcelParseOptions options;
+
+    public XlsxStreamingParser(RecordMapper<T> recordMapper) {
+        this(recordMapper, ExcelParseOptions.FIRST_SHEET);
+    }
+
+    public XlsxStreamingParser(RecordMapper<T> recordMapper, ExcelParseOptions options) {
+        this.recordMapper = recordMapper;
+        this.options = options;
+    }
+
+    /**
+     * Потоково парсит xlsx файл, передавая каждую запись получателю.
+     *
+     * Сигнатура ZIP проверяется по первым байтам потока, наличие структуры xl/ - по уже открытому
+     * пакету, поэтому отдельного прохода по архиву для валидации нет. Поток копируется во временный файл,
+     * который удаляется после разбора.
+     *
+     * @param inputStream поток данных xlsx файла
+     * @param consumer получатель записей
+     */
+    @Override
+    public void parse(InputStream inputStream, Consumer<T> consumer) {
+        Path packageFile = null;
+        OPCPackage opcPackage = null;
+        try {
+            packageFile = copyToTempFile(FileMagic.prepareToCheckMagic(inputStream));
+            opcPackage = OPCPackage.open(packageFile.toFile(), PackageAccess.READ);
+            if (opcPackage.getPartsByName(XL_PART_NAME).isEmpty()) {
+                throw new FileParseException(MISSING_XL_STRUCTURE_MESSAGE);
+            }
+
+            XSSFReader reader = new XSSFReader(opcPackage);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(opcPackage);
+            StylesTable styles = reader.getStylesTable();
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new FileParseException("Не удалось получить лист из файла");
+            }
+
+            List<OrderedPartsParser.Part<T>> parts = new ArrayList<>();
+            do {
+                sheets.next().close(); // Поток листа открывается при разборе части
+                PackagePart sheetPart = sheets.getSheetPart();
+                String sheetContext = options.sheetContext(sheets.getSheetName());
+                parts.add(sheetConsumer -> parseSheet(sheetPart, styles, sharedStrings,
+                        new RecordRowHandler<>(recordMapper, sheetConsumer, sheetContext)));
+            } while (options.allSheets() && sheets.hasNext());
+
+            OrderedPartsParser.parse(options.pool(), parts, consumer);
+        } catch (SAXException e) {
+            throw new FileParseException("Ошибка при чтении Excel файла: " + e.getMessage(), e);
+        } catch (IOException | OpenXML4JException | UnsupportedFileFormatException | POIXMLException e) {
+            throw new FileParseException("Ошибка при чтении Excel файла: " + e.getMessage(), e);
+        } finally {
+            if (opcPackage != null) {
+                opcPackage.revert(); // Пакет открыт только для чтения: закрывается без сохранения
+            }
+            deleteTempFile(packageFile);
+        }
+    }
+
+    /**
+     * Читает XML листа SAX-парсером. Вызывается из потока пула при параллельном разборе листов,
+     * поэтому ошибки чтения оборачиваются в {@link FileParseException} здесь же.
+     */
+    private void parseSheet(PackagePart sheetPart, StylesTable styles, ReadOnlySharedStringsTable sharedStrings,
+                            RecordRowHandler<T> rowHandler) {
+        try (InputStream sheet = sheetPart.getInputStream()) {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(new XSSFSheetXMLHandler(
+                    styles, sharedStrings, rowHandler, new DataFormatter(), false
+            ));
+            xmlReader.parse(new InputSource(sheet));
+        } catch (SAXException e) {
+            if (e.getCause() instanceof FileParseException fileParseException) {
+                throw fileParseException;
+            }
+            throw new FileParseException("Ошибка при чтении Excel файла: " + e.getMessage(), e);
+        } catch (IOException | ParserConfigurationException | POIXMLException e) {
+            throw new FileParseException("Ошибка при чтении Excel файла: " + e.getMessage(), e);
+        }
+    }
+
+    private Path copyToTempFile(InputStream inputStream) throws IOException {
+        if (FileMagic.valueOf(inputStream) != FileMagic.OOXML) {
+            throw new FileParseException(MISSING_XL_STRUCTURE_MESSAGE);
+        }
+        Path packageFile = Files.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+        try {
+            Files.copy(inputStream, packageFile, StandardCopyOption.REPLACE_EXISTING);
+            return packageFile;
+        } catch (IOException e) {
+            deleteTempFile(packageFile);
+            throw e;
+        }
+    }
+
+    private void deleteTempFile(Path packageFile) {
+        if (packageFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(packageFile);
+        } catch (IOException e) {
+            log.warn("Не удалось удалить временный файл {}: {}", packageFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Собирает значения ячеек текущей строки и превращает их в запись по окончании строки.
+     */
+    private static class RecordRowHandler<T> implements SheetContentsHandler {
+        private final RecordMapper<T> recordMapper;
+        private final Consumer<T> consumer;
+        private final String sheetContext;
+        private final String[] values;
+        private int currentColumn;
+
+        RecordRowHandler(RecordMapper<T> recordMapper, Consumer<T> consumer, String sheetContext) {
+            this.recordMapper = recordMapper;
+            this.consumer = consumer;
+            this.sheetContext = sheetContext;
+            this.values = new String[recordMapper.columnCount()];
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            Arrays.fill(values, null);
+            currentColumn = -1;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // Атрибут r у ячейки необязателен, без него ячейки идут подряд
+            currentColumn = cellReference != null
+                    ? new CellReference(cellReference).getCol()
+                    : currentColumn + 1;
+            if (currentColumn < values.length) {
+                values[currentColumn] = formattedValue;
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (rowNum == FileStructure.HEADERS_ROW_EXCEL.getValue()) {
+                return; // Пропускаем строку заголовков
+            }
+            validateRow(rowNum);
+            consumer.accept(recordMapper.map(values, () -> "строке " + (rowNum + 1) + sheetContext));
+        }
+
+        private void validateRow(int rowNum) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == null) {
+                    throw new FileParseException(
+                        "Ячейка " + i + " пустая в строке " + (rowNum + 1) + sheetContext
+                    );
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ru.t2.employeeawards.parser.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Разбиение CSV файла на части по границам строк для параллельного разбора
+ */
+@UtilityClass
+public final class CsvRangeSplitter {
+    // Файл просматривается окнами, так как отображение в память ограничено 2 ГБ
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+
+    /**
+     * Часть файла.
+     *
+     * @param start смещение первого байта
+     * @param end смещение байта, следующего за последним
+     * @param firstLineNumber номер строки файла, с которой начинается часть (с 1)
+     */
+    public record Range(long start, long end, long firstLineNumber) {
+        public long length() {
+            return end - start;
+        }
+    }
+
+    /**
+     * Разбивает файл примерно на равные части, каждая из которых начинается с новой записи.
+     *
+     * Граница ставится после первого символа {@code \n} за расчетной точкой, который находится
+     * вне значения в кавычках: для этого файл один раз просматривается от начала с подсчетом
+     * кавычек (экранированная кавычка {@code ""} меняет состояние дважды). Файлы с разделителем
+     * строк {@code \r} без {@code \n} не разбиваются.
+     *
+     * @param channel канал файла
+     * @param rangeCount желаемое количество частей
+     * @return части файла в порядке следования; частей может быть меньше, если строк мало
+     * @throws IOException если произошла ошибка чтения
+     */
+    public static List<Range> split(FileChannel channel, int rangeCount) throws IOException {
+        long size = channel.size();
+        List<Range> ranges = new ArrayList<>(rangeCount);
+        long rangeStart = 0;
+        long rangeFirstLine = 1;
+        long lineNumber = 1;
+        boolean quoted = false;
+        int nextRange = 1;
+        long target = boundaryTarget(size, nextRange, rangeCount);
+
+        for (long windowStart = 0; windowStart < size && nextRange < rangeCount; windowStart += WINDOW_SIZE) {
+            int windowLength = (int) Math.min(WINDOW_SIZE, size - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowLength);
+
+            for (int i = 0; i < windowLength && nextRange < rangeCount; i++) {
+                byte b = window.get(i);
+                if (b == '"') {
+                    quoted = !quoted;
+                } else if (b == '\n') {
+                    lineNumber++;
+                    long position = windowStart + i + 1;
+                    if (!quoted && position >= target && position < size) {
+                        ranges.add(new Range(rangeStart, position, rangeFirstLine));
+                        rangeStart = position;
+                        rangeFirstLine = lineNumber;
+                        while (nextRange < rangeCount && target <= position) {
+                            nextRange++;
+                            target = boundaryTarget(size, nextRange, rangeCount);
+                        }
+                    }
+                }
+            }
+        }
+
+        ranges.add(new Range(rangeStart, size, rangeFirstLine));
+        return ranges;
+    }
+
+    private static long boundaryTarget(long size, int rangeIndex, int rangeCount) {
+        return size / rangeCount * rangeIndex;
+    }
+}
@@ -6,6 +6,7 @@ import ru.t2.employeeawards.exception.FileParseException;
 import lombok.experimental.UtilityClass;
 import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.util.function.Supplier;
 
 /*
  * Утилитарный класс для парсинга записей о наградах из файлов
@@ -22,6 +23,18 @@ public final class RecordParserUtils {
      * @throws FileParseException если произошла ошибка при парсинге данных
      */
     public static AwardFileRecord createRecord(String[] values, String errorContext) {
+        return createRecord(values, () -> errorContext);
+    }
+
+    /**
+     * Создает объект AwardFileRecord из массива строковых значений.
+     *
+     * @param values массив строковых значений для создания записи
+     * @param errorContext контекст ошибки для сообщения; вычисляется только при ошибке
+     * @return созданный объект AwardFileRecord
+     * @throws FileParseException если произошла ошибка при парсинге данных
+     */
+    public static AwardFileRecord createRecord(String[] values, Supplier<String> errorContext) {
         try {
             return new AwardFileRecord(
                 Long.parseLong(values[AwardFileColumn.EMPLOYEE_EXTERNAL_ID.getIndex()]),
@@ -32,12 +45,12 @@ public final class RecordParserUtils {
             );
         } catch (NumberFormatException | DateTimeException e) {
             throw new FileParseException(
-                "Ошибка при парсинге данных: " + e.getMessage() + " в " + errorContext,
+                "Ошибка при парсинге данных: " + e.getMessage() + " в " + errorContext.get(),
                 e
             );
         } catch (NullPointerException | ArrayIndexOutOfBoundsException e) {
             throw new FileParseException(
-                "Отсутствуют обязательные данные в " + errorContext,
+                "Отсутствуют обязательные данные в " + errorContext.get(),
                 e
             );
         }
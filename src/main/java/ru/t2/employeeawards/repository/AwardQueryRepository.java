@@ -0,0 +1,31 @@
+package ru.t2.employeeawards.repository;
+
+import ru.t2.employeeawards.dto.AwardCursor;
+import ru.t2.employeeawards.dto.AwardFilter;
+import ru.t2.employeeawards.dto.AwardView;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Чтение наград постранично по ключу (received_date, award_id) без OFFSET и потоком для выгрузки.
+ */
+public interface AwardQueryRepository {
+    /**
+     * Возвращает награды, идущие после курсора, в порядке (received_date, award_id)
+     * @param filter условия выборки
+     * @param after позиция, после которой начинается страница; null - с начала
+     * @param limit максимальное количество наград
+     * @return страница наград
+     */
+    List<AwardView> findAwards(AwardFilter filter, AwardCursor after, int limit);
+
+    /**
+     * Возвращает все награды в порядке (received_date, award_id) через однонаправленный курсор JDBC,
+     * без каких-либо условий отбора, включая награды без сотрудника.
+     * Поток нужно закрыть; для PostgreSQL он должен читаться внутри транзакции, иначе fetch size не действует
+     * @param fetchSize количество строк, получаемых драйвером из БД за одно обращение
+     * @return поток наград
+     */
+    Stream<AwardView> streamAllAwards(int fetchSize);
+}
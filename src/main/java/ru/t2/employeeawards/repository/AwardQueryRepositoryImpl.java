@@ -0,0 +1,111 @@
+package ru.t2.employeeawards.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import ru.t2.employeeawards.dto.AwardCursor;
+import ru.t2.employeeawards.dto.AwardFilter;
+import ru.t2.employeeawards.dto.AwardView;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Постраничное чтение наград нативным SQL для H2 и PostgreSQL.
+ *
+ * Страница начинается сразу после курсора: условие {@code received_date >= ?} задает начало
+ * диапазона в индексе, а остальная часть условия отсекает награды той же даты до курсора.
+ * Поэтому стоимость запроса не зависит от номера страницы, в отличие от OFFSET.
+ * Порядок и условия совпадают с индексами таблицы awards (см. {@link ru.t2.employeeawards.model.Award}).
+ * Дата получения обязательна (NOT NULL), поэтому ключ (received_date, award_id) определен у каждой награды;
+ * сотрудник присоединяется через LEFT JOIN, чтобы награды без сотрудника не выпадали из выборки.
+ */
+public class AwardQueryRepositoryImpl implements AwardQueryRepository {
+
+    private static final String SELECT_AWARDS_SQL = """
+            SELECT a.award_id, a.award_external_id, a.award_name, a.received_date,
+                   e.employee_external_id, e.full_name
+            FROM awards a
+            LEFT JOIN employees e ON e.employee_id = a.employee_id
+            """;
+
+    private static final String ORDER_BY_SQL = " ORDER BY a.received_date, a.award_id";
+
+    // Отдельный запрос выгрузки: условия постраничного чтения на него не распространяются,
+    // выгружаются все награды, включая награды без сотрудника
+    private static final String EXPORT_AWARDS_SQL = """
+            SELECT a.award_id, a.award_external_id, a.award_name, a.received_date,
+                   e.employee_external_id, e.full_name
+            FROM awards a
+            LEFT JOIN employees e ON e.employee_id = a.employee_id
+            ORDER BY a.received_date, a.award_id
+            """;
+
+    private static final RowMapper<AwardView> AWARD_VIEW_MAPPER = (rs, rowNum) -> new AwardView(
+            rs.getLong("award_id"),
+            rs.getLong("award_external_id"),
+            rs.getString("award_name"),
+            rs.getObject("received_date", LocalDate.class),
+            rs.getObject("employee_external_id", Long.class),
+            rs.getString("full_name")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AwardQueryRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public List<AwardView> findAwards(AwardFilter filter, AwardCursor after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (filter.employeeId() != null) {
+            conditions.add("a.employee_id = ?");
+            args.add(filter.employeeId());
+        }
+        if (filter.awardName() != null) {
+            conditions.add("a.award_name = ?");
+            args.add(filter.awardName());
+        }
+        if (filter.receivedFrom() != null) {
+            conditions.add("a.received_date >= ?");
+            args.add(Date.valueOf(filter.receivedFrom()));
+        }
+        if (filter.receivedTo() != null) {
+            conditions.add("a.received_date <= ?");
+            args.add(Date.valueOf(filter.receivedTo()));
+        }
+        if (after != null) {
+            Date afterDate = Date.valueOf(after.receivedDate());
+            conditions.add("a.received_date >= ? AND (a.received_date > ? OR a.award_id > ?)");
+            args.add(afterDate);
+            args.add(afterDate);
+            args.add(after.awardId());
+        }
+
+        StringBuilder sql = new StringBuilder(SELECT_AWARDS_SQL);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(ORDER_BY_SQL).append(" LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), AWARD_VIEW_MAPPER, args.toArray());
+    }
+
+    @Override
+    public Stream<AwardView> streamAllAwards(int fetchSize) {
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    EXPORT_AWARDS_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, AWARD_VIEW_MAPPER);
+    }
+}
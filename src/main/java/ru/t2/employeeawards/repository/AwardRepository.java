@@ -1,17 +1,36 @@
 package ru.t2.employeeawards.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.t2.employeeawards.model.Award;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AwardRepository extends JpaRepository<Award, Long> {
+public interface AwardRepository extends JpaRepository<Award, Long>, AwardUpsertRepository, AwardQueryRepository,
+        AwardStagingRepository {
     /**
-     * Поиск награды по внешнему идентификатору
+     * Поиск награды по внешнему идентификатору. Сотрудник награды не загружается
      * @param awardExternalId внешний идентификатор награды
      * @return награда
      */
     Optional<Award> findByAwardExternalId(Long awardExternalId);
+
+    /**
+     * Поиск награды по внешнему идентификатору вместе с сотрудником одним запросом с JOIN
+     * @param awardExternalId внешний идентификатор награды
+     * @return награда с загруженным сотрудником
+     */
+    @EntityGraph(attributePaths = "employee")
+    Optional<Award> findWithEmployeeByAwardExternalId(Long awardExternalId);
+
+    /**
+     * Поиск наград по набору внешних идентификаторов одним запросом
+     * @param awardExternalIds внешние идентификаторы наград
+     * @return найденные награды
+     */
+    List<Award> findAllByAwardExternalIdIn(Collection<Long> awardExternalIds);
 }
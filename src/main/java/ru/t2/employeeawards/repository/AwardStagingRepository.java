@@ -0,0 +1,62 @@
+package ru.t2.employeeawards.repository;
+
+import ru.t2.employeeawards.dto.AwardFileRecord;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Загрузка наград через промежуточную таблицу award_staging: строки файла вставляются в нее
+ * пакетами без проверок, а проверка сотрудников и запись в awards выполняются несколькими запросами над всей загрузкой.
+ * Строки разных загрузок различаются по load_id.
+ */
+public interface AwardStagingRepository {
+    /**
+     * Создает таблицу award_staging, если ее еще нет (в PostgreSQL - UNLOGGED)
+     */
+    void createStagingTable();
+
+    /**
+     * Вставляет записи загрузки в award_staging одним JDBC batch
+     * @param loadId идентификатор загрузки
+     * @param firstRowNumber номер первой записи; номера задают порядок записей в файле
+     * @param records записи из файла
+     */
+    void insertStaged(UUID loadId, long firstRowNumber, List<AwardFileRecord> records);
+
+    /**
+     * @param loadId идентификатор загрузки
+     * @return количество записей загрузки
+     */
+    int countStaged(UUID loadId);
+
+    /**
+     * Находит сотрудников загрузки, отсутствующих в employees, одним запросом с соединением по employee_external_id.
+     * Записи без ФИО сотрудника не учитываются
+     * @param loadId идентификатор загрузки
+     * @return ФИО из первой записи сотрудника по внешнему идентификатору
+     */
+    Map<Long, String> findMissingEmployees(UUID loadId);
+
+    /**
+     * Возвращает записи загрузки, сотрудника которых нет в employees, одним запросом с соединением по employee_external_id
+     * @param loadId идентификатор загрузки
+     * @return записи в порядке следования в файле
+     */
+    List<AwardFileRecord> findStagedWithUnknownEmployee(UUID loadId);
+
+    /**
+     * Переносит записи загрузки с известными сотрудниками в awards одним запросом MERGE / INSERT ... ON CONFLICT.
+     * Из повторов награды в загрузке берется последняя запись. Награды, совпадающие с сохраненными, не перезаписываются
+     * @param loadId идентификатор загрузки
+     * @return количество вставленных или измененных наград
+     */
+    int mergeStaged(UUID loadId);
+
+    /**
+     * Удаляет записи загрузки из award_staging
+     * @param loadId идентификатор загрузки
+     */
+    void deleteStaged(UUID loadId);
+}
@@ -0,0 +1,197 @@
+package ru.t2.employeeawards.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.t2.employeeawards.dto.AwardFileRecord;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Реализация загрузки через award_staging нативным SQL для H2 и PostgreSQL.
+ *
+ * В PostgreSQL таблица создается UNLOGGED: ее строки живут только до конца загрузки и не пишутся в WAL.
+ */
+public class AwardStagingRepositoryImpl implements AwardStagingRepository {
+
+    private static final String H2_PRODUCT_NAME = "H2";
+    private static final String POSTGRESQL_PRODUCT_NAME = "PostgreSQL";
+
+    private static final String STAGING_COLUMNS = """
+            (
+                load_id UUID NOT NULL,
+                row_num BIGINT NOT NULL,
+                employee_external_id BIGINT NOT NULL,
+                employee_full_name VARCHAR(255),
+                award_external_id BIGINT NOT NULL,
+                award_name VARCHAR(255),
+                received_date DATE,
+                PRIMARY KEY (load_id, row_num)
+            )""";
+
+    private static final String H2_CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS award_staging " + STAGING_COLUMNS;
+
+    private static final String POSTGRESQL_CREATE_TABLE_SQL =
+            "CREATE UNLOGGED TABLE IF NOT EXISTS award_staging " + STAGING_COLUMNS;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO award_staging (load_id, row_num, employee_external_id, employee_full_name,
+                                       award_external_id, award_name, received_date)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM award_staging WHERE load_id = ?";
+
+    private static final String SELECT_MISSING_EMPLOYEES_SQL = """
+            SELECT employee_external_id, employee_full_name
+            FROM (SELECT st.employee_external_id, st.employee_full_name,
+                         ROW_NUMBER() OVER (PARTITION BY st.employee_external_id ORDER BY st.row_num) AS rn
+                  FROM award_staging st
+                  LEFT JOIN employees e ON e.employee_external_id = st.employee_external_id
+                  WHERE st.load_id = ? AND e.employee_id IS NULL AND TRIM(st.employee_full_name) <> '') s
+            WHERE s.rn = 1
+            """;
+
+    private static final String SELECT_UNKNOWN_EMPLOYEE_SQL = """
+            SELECT st.employee_external_id, st.employee_full_name, st.award_external_id, st.award_name, st.received_date
+            FROM award_staging st
+            LEFT JOIN employees e ON e.employee_external_id = st.employee_external_id
+            WHERE st.load_id = ? AND e.employee_id IS NULL
+            ORDER BY st.row_num
+            """;
+
+    // Последняя в файле запись каждой награды среди записей с известными сотрудниками
+    private static final String LATEST_STAGED_SQL = """
+            SELECT award_external_id, award_name, received_date, employee_id
+            FROM (SELECT st.award_external_id, st.award_name, st.received_date, e.employee_id,
+                         ROW_NUMBER() OVER (PARTITION BY st.award_external_id ORDER BY st.row_num DESC) AS rn
+                  FROM award_staging st
+                  JOIN employees e ON e.employee_external_id = st.employee_external_id
+                  WHERE st.load_id = ?) ranked
+            WHERE ranked.rn = 1""";
+
+    private static final String H2_MERGE_SQL = """
+            MERGE INTO awards a
+            USING (%s) s
+            ON a.award_external_id = s.award_external_id
+            WHEN MATCHED AND (a.award_name IS DISTINCT FROM s.award_name
+                    OR a.received_date IS DISTINCT FROM s.received_date
+                    OR a.employee_id IS DISTINCT FROM s.employee_id) THEN UPDATE SET
+                award_name = s.award_name,
+                received_date = s.received_date,
+                employee_id = s.employee_id
+            WHEN NOT MATCHED THEN INSERT (award_id, award_external_id, award_name, received_date, employee_id)
+                VALUES (NEXT VALUE FOR awards_seq, s.award_external_id, s.award_name, s.received_date, s.employee_id)
+            """.formatted(LATEST_STAGED_SQL);
+
+    private static final String POSTGRESQL_MERGE_SQL = """
+            INSERT INTO awards (award_id, award_external_id, award_name, received_date, employee_id)
+            SELECT nextval('awards_seq'), s.award_external_id, s.award_name, s.received_date, s.employee_id
+            FROM (%s) s
+            ON CONFLICT (award_external_id) DO UPDATE SET
+                award_name = EXCLUDED.award_name,
+                received_date = EXCLUDED.received_date,
+                employee_id = EXCLUDED.employee_id
+            WHERE awards.award_name IS DISTINCT FROM EXCLUDED.award_name
+                OR awards.received_date IS DISTINCT FROM EXCLUDED.received_date
+                OR awards.employee_id IS DISTINCT FROM EXCLUDED.employee_id
+            """.formatted(LATEST_STAGED_SQL);
+
+    private static final String DELETE_SQL = "DELETE FROM award_staging WHERE load_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Dialect dialect;
+
+    public AwardStagingRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void createStagingTable() {
+        jdbcTemplate.execute(getDialect().createTableSql());
+    }
+
+    @Override
+    public void insertStaged(UUID loadId, long firstRowNumber, List<AwardFileRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        int[] index = {0};
+        jdbcTemplate.batchUpdate(INSERT_SQL, records, records.size(), (ps, record) -> {
+            ps.setObject(1, loadId);
+            ps.setLong(2, firstRowNumber + index[0]++);
+            ps.setLong(3, record.getEmployeeExternalId());
+            ps.setString(4, record.getEmployeeFullName());
+            ps.setLong(5, record.getAwardExternalId());
+            ps.setString(6, record.getAwardName());
+            ps.setDate(7, record.getReceivedDate() != null ? Date.valueOf(record.getReceivedDate()) : null);
+        });
+    }
+
+    @Override
+    public int countStaged(UUID loadId) {
+        Integer count = jdbcTemplate.queryForObject(COUNT_SQL, Integer.class, loadId);
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public Map<Long, String> findMissingEmployees(UUID loadId) {
+        Map<Long, String> fullNames = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_MISSING_EMPLOYEES_SQL, rs -> {
+            fullNames.put(rs.getLong(1), rs.getString(2));
+        }, loadId);
+        return fullNames;
+    }
+
+    @Override
+    public List<AwardFileRecord> findStagedWithUnknownEmployee(UUID loadId) {
+        return jdbcTemplate.query(SELECT_UNKNOWN_EMPLOYEE_SQL, (rs, rowNum) -> new AwardFileRecord(
+                rs.getLong("employee_external_id"),
+                rs.getString("employee_full_name"),
+                rs.getLong("award_external_id"),
+                rs.getString("award_name"),
+                rs.getObject("received_date", LocalDate.class)
+        ), loadId);
+    }
+
+    @Override
+    public int mergeStaged(UUID loadId) {
+        return jdbcTemplate.update(getDialect().mergeSql(), loadId);
+    }
+
+    @Override
+    public void deleteStaged(UUID loadId) {
+        jdbcTemplate.update(DELETE_SQL, loadId);
+    }
+
+    private Dialect getDialect() {
+        if (dialect == null) {
+            dialect = resolveDialect();
+        }
+        return dialect;
+    }
+
+    private Dialect resolveDialect() {
+        String productName = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (H2_PRODUCT_NAME.equals(productName)) {
+            return new Dialect(H2_CREATE_TABLE_SQL, H2_MERGE_SQL);
+        }
+        if (POSTGRESQL_PRODUCT_NAME.equals(productName)) {
+            return new Dialect(POSTGRESQL_CREATE_TABLE_SQL, POSTGRESQL_MERGE_SQL);
+        }
+        throw new IllegalStateException("Загрузка через award_staging не поддерживается для СУБД: " + productName);
+    }
+
+    /**
+     * SQL загрузки через award_staging для конкретной СУБД.
+     */
+    private record Dialect(String createTableSql, String mergeSql) {
+    }
+}
@@ -0,0 +1,33 @@
+package ru.t2.employeeawards.repository;
+
+import ru.t2.employeeawards.dto.AwardState;
+import ru.t2.employeeawards.dto.AwardUpsert;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Пакетная запись наград в обход persistence context.
+ */
+public interface AwardUpsertRepository {
+    /**
+     * Вставляет новые и обновляет существующие награды по award_external_id одним JDBC batch
+     * @param awards награды для записи
+     */
+    void upsertAll(List<AwardUpsert> awards);
+
+    /**
+     * Обновляет существующие награды по первичному ключу одним JDBC batch
+     * @param awards новые состояния наград с заполненным awardId
+     * @return награды, строк которых уже нет в БД (например, удалены параллельно)
+     */
+    List<AwardState> updateAll(List<AwardState> awards);
+
+    /**
+     * Возвращает сохраненные состояния наград одним запросом IN (...) без загрузки сущностей
+     * @param awardExternalIds внешние идентификаторы наград
+     * @return состояние по внешнему идентификатору; награды, которых нет в БД, в результат не попадают
+     */
+    Map<Long, AwardState> findStates(Collection<Long> awardExternalIds);
+}
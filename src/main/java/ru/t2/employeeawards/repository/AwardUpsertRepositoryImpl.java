@@ -0,0 +1,151 @@
+package ru.t2.employeeawards.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.t2.employeeawards.dto.AwardState;
+import ru.t2.employeeawards.dto.AwardUpsert;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Реализация upsert наград нативным SQL для H2 и PostgreSQL.
+ *
+ * Для H2 используется MERGE INTO ... USING, а не MERGE INTO ... KEY(award_external_id):
+ * форма с KEY перезаписывает все перечисленные колонки, включая award_id, и меняла бы первичный ключ
+ * существующих наград. Новые идентификаторы берутся из той же последовательности awards_seq,
+ * что и у Hibernate, поэтому не пересекаются с выделенными им пулами.
+ * Измененные существующие награды обновляются по первичному ключу, без поиска по внешнему идентификатору
+ * и без обращения к последовательности.
+ */
+public class AwardUpsertRepositoryImpl implements AwardUpsertRepository {
+
+    private static final String H2_PRODUCT_NAME = "H2";
+    private static final String POSTGRESQL_PRODUCT_NAME = "PostgreSQL";
+
+    private static final String H2_UPSERT_SQL = """
+            MERGE INTO awards a
+            USING (SELECT CAST(? AS BIGINT) AS award_external_id,
+                          CAST(? AS VARCHAR(255)) AS award_name,
+                          CAST(? AS DATE) AS received_date,
+                          CAST(? AS BIGINT) AS employee_id) s
+            ON a.award_external_id = s.award_external_id
+            WHEN MATCHED THEN UPDATE SET
+                award_name = s.award_name,
+                received_date = s.received_date,
+                employee_id = s.employee_id
+            WHEN NOT MATCHED THEN INSERT (award_id, award_external_id, award_name, received_date, employee_id)
+                VALUES (NEXT VALUE FOR awards_seq, s.award_external_id, s.award_name, s.received_date, s.employee_id)
+            """;
+
+    private static final String POSTGRESQL_UPSERT_SQL = """
+            INSERT INTO awards (award_id, award_external_id, award_name, received_date, employee_id)
+            VALUES (nextval('awards_seq'), ?, ?, ?, ?)
+            ON CONFLICT (award_external_id) DO UPDATE SET
+                award_name = EXCLUDED.award_name,
+                received_date = EXCLUDED.received_date,
+                employee_id = EXCLUDED.employee_id
+            """;
+
+    private static final String UPDATE_SQL = """
+            UPDATE awards SET award_name = ?, received_date = ?, employee_id = ?
+            WHERE award_id = ?
+            """;
+
+    private static final String SELECT_STATES_SQL = """
+            SELECT award_id, award_external_id, award_name, received_date, employee_id
+            FROM awards
+            WHERE award_external_id IN (""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String upsertSql;
+
+    public AwardUpsertRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void upsertAll(List<AwardUpsert> awards) {
+        if (awards.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(getUpsertSql(), awards, awards.size(), (ps, award) -> {
+            ps.setLong(1, award.awardExternalId());
+            ps.setString(2, award.awardName());
+            ps.setDate(3, Date.valueOf(award.receivedDate()));
+            ps.setLong(4, award.employeeId());
+        });
+    }
+
+    @Override
+    public List<AwardState> updateAll(List<AwardState> awards) {
+        if (awards.isEmpty()) {
+            return List.of();
+        }
+
+        int[][] updateCounts = jdbcTemplate.batchUpdate(UPDATE_SQL, awards, awards.size(), (ps, award) -> {
+            ps.setString(1, award.awardName());
+            ps.setDate(2, Date.valueOf(award.receivedDate()));
+            ps.setLong(3, award.employeeId());
+            ps.setLong(4, award.awardId());
+        });
+
+        // Драйвер может вернуть SUCCESS_NO_INFO вместо количества строк, такие обновления считаются выполненными
+        List<AwardState> missing = new ArrayList<>();
+        int[] counts = updateCounts[0];
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                missing.add(awards.get(i));
+            }
+        }
+        return missing;
+    }
+
+    @Override
+    public Map<Long, AwardState> findStates(Collection<Long> awardExternalIds) {
+        if (awardExternalIds.isEmpty()) {
+            return Map.of();
+        }
+
+        String sql = SELECT_STATES_SQL + String.join(", ", Collections.nCopies(awardExternalIds.size(), "?")) + ")";
+        Map<Long, AwardState> states = new HashMap<>(awardExternalIds.size());
+        jdbcTemplate.query(sql, rs -> {
+            AwardState state = new AwardState(
+                    rs.getLong("award_id"),
+                    rs.getLong("award_external_id"),
+                    rs.getString("award_name"),
+                    rs.getObject("received_date", LocalDate.class),
+                    rs.getLong("employee_id")
+            );
+            states.put(state.awardExternalId(), state);
+        }, awardExternalIds.toArray());
+        return states;
+    }
+
+    private String getUpsertSql() {
+        if (upsertSql == null) {
+            upsertSql = resolveUpsertSql();
+        }
+        return upsertSql;
+    }
+
+    private String resolveUpsertSql() {
+        String productName = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (H2_PRODUCT_NAME.equals(productName)) {
+            return H2_UPSERT_SQL;
+        }
+        if (POSTGRESQL_PRODUCT_NAME.equals(productName)) {
+            return POSTGRESQL_UPSERT_SQL;
+        }
+        throw new IllegalStateException("Upsert наград не поддерживается для СУБД: " + productName);
+    }
+}
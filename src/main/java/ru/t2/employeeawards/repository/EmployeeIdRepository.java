@@ -0,0 +1,33 @@
+package ru.t2.employeeawards.repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Чтение соответствия внешних идентификаторов сотрудников их первичным ключам без создания сущностей.
+ */
+public interface EmployeeIdRepository {
+    /**
+     * Передает идентификаторы всех сотрудников через однонаправленный курсор JDBC.
+     * Для PostgreSQL fetch size действует только внутри транзакции
+     * @param fetchSize количество строк, получаемых драйвером из БД за одно обращение
+     * @param consumer получатель пары (внешний идентификатор, первичный ключ)
+     * @return количество переданных сотрудников
+     */
+    long forEachEmployeeId(int fetchSize, EmployeeIdConsumer consumer);
+
+    /**
+     * Возвращает первичные ключи сотрудников одним запросом IN (...) без загрузки сущностей
+     * @param employeeExternalIds внешние идентификаторы сотрудников
+     * @return первичный ключ по внешнему идентификатору; сотрудники, которых нет в БД, в результат не попадают
+     */
+    Map<Long, Long> findEmployeeIds(Collection<Long> employeeExternalIds);
+
+    /**
+     * Получатель идентификаторов сотрудника в примитивах, без упаковки в Long.
+     */
+    @FunctionalInterface
+    interface EmployeeIdConsumer {
+        void accept(long employeeExternalId, long employeeId);
+    }
+}
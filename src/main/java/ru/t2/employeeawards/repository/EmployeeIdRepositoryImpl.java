@@ -0,0 +1,68 @@
+package ru.t2.employeeawards.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Чтение идентификаторов сотрудников нативным SQL.
+ */
+public class EmployeeIdRepositoryImpl implements EmployeeIdRepository {
+
+    private static final String SELECT_EMPLOYEE_IDS_SQL = """
+            SELECT employee_external_id, employee_id
+            FROM employees
+            WHERE employee_external_id IS NOT NULL
+            """;
+
+    private static final String SELECT_EMPLOYEE_IDS_BY_EXTERNAL_ID_SQL = """
+            SELECT employee_external_id, employee_id
+            FROM employees
+            WHERE employee_external_id IN (""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmployeeIdRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public long forEachEmployeeId(int fetchSize, EmployeeIdConsumer consumer) {
+        return jdbcTemplate.execute(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_EMPLOYEE_IDS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, statement -> {
+            long count = 0;
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(rs.getLong(1), rs.getLong(2));
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    @Override
+    public Map<Long, Long> findEmployeeIds(Collection<Long> employeeExternalIds) {
+        if (employeeExternalIds.isEmpty()) {
+            return Map.of();
+        }
+
+        String sql = SELECT_EMPLOYEE_IDS_BY_EXTERNAL_ID_SQL
+                + String.join(", ", Collections.nCopies(employeeExternalIds.size(), "?")) + ")";
+        Map<Long, Long> employeeIds = new HashMap<>(employeeExternalIds.size());
+        jdbcTemplate.query(sql, rs -> {
+            employeeIds.put(rs.getLong(1), rs.getLong(2));
+        }, employeeExternalIds.toArray());
+        return employeeIds;
+    }
+}
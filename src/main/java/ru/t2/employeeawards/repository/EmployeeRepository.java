@@ -1,17 +1,35 @@
 package ru.t2.employeeawards.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import ru.t2.employeeawards.dto.EmployeeIdView;
 import ru.t2.employeeawards.model.Employee;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeIdRepository,
+        EmployeeUpsertRepository {
     /**
      * Поиск сотрудника по внешнему идентификатору
      * @param employeeExternalId внешний идентификатор сотрудника
      * @return сотрудник
      */
     Optional<Employee> findByEmployeeExternalId(Long employeeExternalId);
+
+    /**
+     * Поиск сотрудников по набору внешних идентификаторов одним запросом
+     * @param employeeExternalIds внешние идентификаторы сотрудников
+     * @return найденные сотрудники
+     */
+    List<Employee> findAllByEmployeeExternalIdIn(Collection<Long> employeeExternalIds);
+
+    /**
+     * Идентификаторы сотрудников по набору внешних идентификаторов одним запросом, без создания сущностей
+     * @param employeeExternalIds внешние идентификаторы сотрудников
+     * @return идентификаторы найденных сотрудников
+     */
+    List<EmployeeIdView> findIdsByEmployeeExternalIdIn(Collection<Long> employeeExternalIds);
 }
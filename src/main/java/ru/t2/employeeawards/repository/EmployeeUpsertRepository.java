@@ -0,0 +1,28 @@
+package ru.t2.employeeawards.repository;
+
+import ru.t2.employeeawards.dto.EmployeeUpsert;
+
+import java.util.List;
+
+/**
+ * Пакетная запись сотрудников в обход persistence context.
+ *
+ * JPA listener сотрудников при такой записи не вызывается: кэш и индекс сотрудников
+ * обновляет вызывающий код.
+ */
+public interface EmployeeUpsertRepository {
+    /**
+     * Вставляет новых сотрудников и обновляет ФИО существующих по employee_external_id одним JDBC batch.
+     * Сотрудники с тем же ФИО не перезаписываются
+     * @param employees сотрудники для записи
+     * @return количество вставленных или измененных строк
+     */
+    int upsertAll(List<EmployeeUpsert> employees);
+
+    /**
+     * Вставляет сотрудников, которых еще нет в БД, одним JDBC batch; существующие не изменяются
+     * @param employees сотрудники для вставки
+     * @return количество вставленных строк
+     */
+    int insertMissing(List<EmployeeUpsert> employees);
+}
@@ -0,0 +1,118 @@
+package ru.t2.employeeawards.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.t2.employeeawards.dto.EmployeeUpsert;
+
+import javax.sql.DataSource;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Реализация upsert сотрудников нативным SQL для H2 и PostgreSQL.
+ *
+ * Как и для наград (см. {@link AwardUpsertRepositoryImpl}), для H2 используется MERGE INTO ... USING,
+ * а новые идентификаторы берутся из последовательности employees_seq, общей с Hibernate.
+ * Строки, в которых ФИО не изменилось, не обновляются и не учитываются в количестве записанных.
+ */
+public class EmployeeUpsertRepositoryImpl implements EmployeeUpsertRepository {
+
+    private static final String H2_PRODUCT_NAME = "H2";
+    private static final String POSTGRESQL_PRODUCT_NAME = "PostgreSQL";
+
+    private static final String H2_UPSERT_SQL = """
+            MERGE INTO employees e
+            USING (SELECT CAST(? AS BIGINT) AS employee_external_id,
+                          CAST(? AS VARCHAR(255)) AS full_name) s
+            ON e.employee_external_id = s.employee_external_id
+            WHEN MATCHED AND e.full_name IS DISTINCT FROM s.full_name THEN UPDATE SET
+                full_name = s.full_name
+            WHEN NOT MATCHED THEN INSERT (employee_id, employee_external_id, full_name)
+                VALUES (NEXT VALUE FOR employees_seq, s.employee_external_id, s.full_name)
+            """;
+
+    private static final String H2_INSERT_MISSING_SQL = """
+            MERGE INTO employees e
+            USING (SELECT CAST(? AS BIGINT) AS employee_external_id,
+                          CAST(? AS VARCHAR(255)) AS full_name) s
+            ON e.employee_external_id = s.employee_external_id
+            WHEN NOT MATCHED THEN INSERT (employee_id, employee_external_id, full_name)
+                VALUES (NEXT VALUE FOR employees_seq, s.employee_external_id, s.full_name)
+            """;
+
+    private static final String POSTGRESQL_UPSERT_SQL = """
+            INSERT INTO employees (employee_id, employee_external_id, full_name)
+            VALUES (nextval('employees_seq'), ?, ?)
+            ON CONFLICT (employee_external_id) DO UPDATE SET
+                full_name = EXCLUDED.full_name
+            WHERE employees.full_name IS DISTINCT FROM EXCLUDED.full_name
+            """;
+
+    private static final String POSTGRESQL_INSERT_MISSING_SQL = """
+            INSERT INTO employees (employee_id, employee_external_id, full_name)
+            VALUES (nextval('employees_seq'), ?, ?)
+            ON CONFLICT (employee_external_id) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Dialect dialect;
+
+    public EmployeeUpsertRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public int upsertAll(List<EmployeeUpsert> employees) {
+        return write(getDialect().upsertSql(), employees);
+    }
+
+    @Override
+    public int insertMissing(List<EmployeeUpsert> employees) {
+        return write(getDialect().insertMissingSql(), employees);
+    }
+
+    private int write(String sql, List<EmployeeUpsert> employees) {
+        if (employees.isEmpty()) {
+            return 0;
+        }
+
+        int[][] updateCounts = jdbcTemplate.batchUpdate(sql, employees, employees.size(), (ps, employee) -> {
+            ps.setLong(1, employee.employeeExternalId());
+            ps.setString(2, employee.fullName());
+        });
+
+        // Драйвер может вернуть SUCCESS_NO_INFO вместо количества строк, такие строки считаются записанными
+        int written = 0;
+        for (int count : updateCounts[0]) {
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private Dialect getDialect() {
+        if (dialect == null) {
+            dialect = resolveDialect();
+        }
+        return dialect;
+    }
+
+    private Dialect resolveDialect() {
+        String productName = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (H2_PRODUCT_NAME.equals(productName)) {
+            return new Dialect(H2_UPSERT_SQL, H2_INSERT_MISSING_SQL);
+        }
+        if (POSTGRESQL_PRODUCT_NAME.equals(productName)) {
+            return new Dialect(POSTGRESQL_UPSERT_SQL, POSTGRESQL_INSERT_MISSING_SQL);
+        }
+        throw new IllegalStateException("Upsert сотрудников не поддерживается для СУБД: " + productName);
+    }
+
+    /**
+     * SQL записи сотрудников для конкретной СУБД.
+     */
+    private record Dialect(String upsertSql, String insertMissingSql) {
+    }
+}
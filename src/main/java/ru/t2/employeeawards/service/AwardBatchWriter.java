@@ -0,0 +1,164 @@
+package ru.t2.employeeawards.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.t2.employeeawards.config.UploadProperties;
+import ru.t2.employeeawards.dto.AwardFileRecord;
+import ru.t2.employeeawards.dto.AwardState;
+import ru.t2.employeeawards.dto.AwardUpsert;
+import ru.t2.employeeawards.repository.AwardRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Сохраняет записи о наградах пачками: одна пачка - одна транзакция.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AwardBatchWriter {
+
+    private final EmployeeIdCache employeeIdCache;
+    private final EmployeeIndex employeeIndex;
+    private final AwardRepository awardRepository;
+    private final UploadMetrics uploadMetrics;
+    private final UploadResultCache uploadResultCache;
+    private final EmployeeBatchWriter employeeBatchWriter;
+    private final UploadProperties uploadProperties;
+
+    /**
+     * Сохраняет пачку записей в одной транзакции.
+     *
+     * Сотрудники пачки берутся из индекса в памяти, если он включен и загружен, иначе из кэша,
+     * а отсутствующие в кэше загружаются одним запросом IN (...). Если включено
+     * {@code awards.upload.create-missing-employees}, ненайденные сотрудники создаются в той же транзакции
+     * по колонке "ФИО сотрудника".
+     * Текущее состояние наград пачки читается одним запросом без загрузки сущностей в persistence context:
+     * совпадающие с ним записи не порождают SQL, измененные награды обновляются одним JDBC batch UPDATE
+     * по первичному ключу, новые - одним JDBC batch upsert по внешнему идентификатору
+     * (на случай, если награду параллельно добавила другая загрузка).
+     * Записи, для которых не найден сотрудник, не сохраняются и возвращаются как ошибки,
+     * не прерывая транзакцию. Любое другое исключение откатывает всю пачку.
+     *
+     * @param chunk пачка записей из файла
+     * @return количество записанных и неизмененных записей, записи, которые не удалось сохранить
+     */
+    @Transactional
+    public ChunkWriteResult writeChunk(List<AwardFileRecord> chunk) {
+        uploadMetrics.timeCommit();
+        LookupResult lookup = uploadMetrics.stageTimer(UploadMetrics.Stage.LOOKUP).record(() -> lookup(chunk));
+        Map<Long, Long> employeeIds = lookup.employeeIds();
+        Map<Long, AwardState> states = lookup.awardStates();
+        List<AwardState> updates = new ArrayList<>();
+        List<AwardUpsert> upserts = new ArrayList<>();
+        List<RecordFailure> failures = new ArrayList<>();
+        int unchanged = 0;
+
+        for (AwardFileRecord record : chunk) {
+            Long employeeId = employeeIds.get(record.getEmployeeExternalId());
+
+            if (employeeId == null) {
+                log.warn("Сотрудник с внешним идентификатором {} не найден", record.getEmployeeExternalId());
+                failures.add(new RecordFailure(record,
+                        new IllegalArgumentException("Сотрудник не найден: " + record.getEmployeeExternalId())));
+                continue;
+            }
+
+            AwardUpsert upsert = toUpsert(record, employeeId);
+            AwardState current = states.get(record.getAwardExternalId());
+            if (current != null && current.matches(upsert)) {
+                unchanged++;
+                continue;
+            }
+
+            // Состояние заменяется записываемым, чтобы повтор награды ниже в пачке сравнивался с последним значением
+            AwardState written = AwardState.of(current != null ? current.awardId() : null, upsert);
+            states.put(record.getAwardExternalId(), written);
+            if (written.awardId() != null) {
+                updates.add(written);
+            } else {
+                upserts.add(upsert);
+            }
+        }
+
+        uploadMetrics.stageTimer(UploadMetrics.Stage.PERSIST).record(() -> persist(updates, upserts));
+        int writtenRecords = updates.size() + upserts.size();
+        uploadResultCache.recordDataChange(writtenRecords);
+        return new ChunkWriteResult(writtenRecords, unchanged, failures);
+    }
+
+    private void persist(List<AwardState> updates, List<AwardUpsert> upserts) {
+        List<AwardState> missing = awardRepository.updateAll(updates);
+        if (!missing.isEmpty()) {
+            log.debug("Наград удалено после чтения состояния: {}, они будут вставлены заново", missing.size());
+            missing.forEach(state -> upserts.add(toUpsert(state)));
+        }
+        awardRepository.upsertAll(upserts);
+    }
+
+    private LookupResult lookup(List<AwardFileRecord> chunk) {
+        Set<Long> employeeExternalIds = new HashSet<>();
+        Set<Long> awardExternalIds = new HashSet<>();
+        for (AwardFileRecord record : chunk) {
+            employeeExternalIds.add(record.getEmployeeExternalId());
+            awardExternalIds.add(record.getAwardExternalId());
+        }
+        Map<Long, Long> employeeIds = resolveEmployeeIds(employeeExternalIds);
+        if (uploadProperties.isCreateMissingEmployees() && employeeIds.size() < employeeExternalIds.size()) {
+            employeeIds = new HashMap<>(employeeIds);
+            employeeIds.putAll(createMissingEmployees(chunk, employeeIds));
+        }
+        return new LookupResult(
+                employeeIds,
+                new HashMap<>(awardRepository.findStates(awardExternalIds))
+        );
+    }
+
+    /**
+     * Создает сотрудников пачки, отсутствующих в БД. Записи без ФИО сотрудника не создают
+     * и остаются ошибками "Сотрудник не найден".
+     */
+    private Map<Long, Long> createMissingEmployees(List<AwardFileRecord> chunk, Map<Long, Long> employeeIds) {
+        Map<Long, String> fullNames = new HashMap<>();
+        for (AwardFileRecord record : chunk) {
+            String fullName = record.getEmployeeFullName();
+            if (!employeeIds.containsKey(record.getEmployeeExternalId()) && fullName != null && !fullName.isBlank()) {
+                fullNames.putIfAbsent(record.getEmployeeExternalId(), fullName);
+            }
+        }
+        return fullNames.isEmpty() ? Map.of() : employeeBatchWriter.createMissing(fullNames);
+    }
+
+    private Map<Long, Long> resolveEmployeeIds(Set<Long> employeeExternalIds) {
+        // Загруженный индекс не выгружается, поэтому между проверкой и чтением он не может пропасть
+        return employeeIndex.isLoaded()
+                ? employeeIndex.resolveEmployeeIds(employeeExternalIds)
+                : employeeIdCache.resolveEmployeeIds(employeeExternalIds);
+    }
+
+    private AwardUpsert toUpsert(AwardState state) {
+        return new AwardUpsert(state.awardExternalId(), state.awardName(), state.receivedDate(), state.employeeId());
+    }
+
+    private AwardUpsert toUpsert(AwardFileRecord record, long employeeId) {
+        return new AwardUpsert(
+                record.getAwardExternalId(),
+                record.getAwardName(),
+                record.getReceivedDate(),
+                employeeId
+        );
+    }
+
+    /**
+     * Первичные ключи сотрудников и сохраненные состояния наград пачки по внешним идентификаторам.
+     */
+    private record LookupResult(Map<Long, Long> employeeIds, Map<Long, AwardState> awardStates) {
+    }
+}
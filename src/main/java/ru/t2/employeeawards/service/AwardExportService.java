@@ -0,0 +1,206 @@
+package ru.t2.employeeawards.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.t2.employeeawards.config.AwardQueryProperties;
+import ru.t2.employeeawards.dto.AwardExportFormat;
+import ru.t2.employeeawards.dto.AwardFileColumn;
+import ru.t2.employeeawards.dto.AwardView;
+import ru.t2.employeeawards.parser.FileStructure;
+import ru.t2.employeeawards.repository.AwardRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Выгрузка всех наград в CSV или XLSX.
+ *
+ * Награды читаются однонаправленным курсором JDBC и сразу пишутся в поток ответа, поэтому
+ * потребление памяти не зависит от количества наград. Файл имеет тот же формат из пяти колонок
+ * {@link AwardFileColumn}, что и загружаемые файлы, и может быть загружен повторно без изменений.
+ * XLSX выгружается на один лист, потому что при загрузке по умолчанию читается только первый лист;
+ * если награды на лист не помещаются, выгрузка в XLSX отклоняется и нужно выгружать в CSV.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AwardExportService {
+    private static final int CSV_BUFFER_SIZE = 64 * 1024;
+    private static final char CSV_DELIMITER = ',';
+    private static final char CSV_QUOTE = '"';
+    private static final String CSV_LINE_SEPARATOR = "\n";
+    private static final String SHEET_NAME = "Награды";
+    // Количество строк листа XLSX, которые SXSSF держит в памяти; остальные сбрасываются во временный файл
+    private static final int XLSX_ROW_ACCESS_WINDOW = 100;
+    private static final int FIRST_XLSX_DATA_ROW = FileStructure.HEADERS_ROW_EXCEL.getValue() + 1;
+    private static final int XLSX_MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+    private static final long XLSX_MAX_AWARDS = XLSX_MAX_ROWS - FIRST_XLSX_DATA_ROW;
+    private static final String XLSX_TOO_MANY_AWARDS_MESSAGE =
+            "Награды не помещаются на лист XLSX (не более " + XLSX_MAX_AWARDS + "), выгрузите их в формате csv";
+    // Целые числа больше 2^53 не представимы в числовой ячейке без потери точности
+    private static final long MAX_EXACT_NUMERIC_CELL = 1L << 53;
+    private static final String INTEGER_FORMAT = "0";
+
+    private final AwardRepository awardRepository;
+    private final AwardQueryProperties awardQueryProperties;
+
+    /**
+     * Проверяет до начала ответа, что награды можно выгрузить в формате: в XLSX - не больше, чем строк на листе.
+     *
+     * @param format формат файла
+     * @throws IllegalArgumentException если награды не помещаются на лист XLSX
+     */
+    public void checkExportable(AwardExportFormat format) {
+        if (format == AwardExportFormat.XLSX && awardRepository.count() > XLSX_MAX_AWARDS) {
+            throw new IllegalArgumentException(XLSX_TOO_MANY_AWARDS_MESSAGE);
+        }
+    }
+
+    /**
+     * Выгружает все награды в порядке даты получения.
+     *
+     * @param format формат файла
+     * @param outputStream поток ответа (не закрывается)
+     * @throws IOException если не удалось записать файл
+     */
+    @Transactional(readOnly = true)
+    public void export(AwardExportFormat format, OutputStream outputStream) throws IOException {
+        log.info("Начало выгрузки наград в формате {}", format);
+        long exported;
+        try (Stream<AwardView> awards = awardRepository.streamAllAwards(awardQueryProperties.getExportFetchSize())) {
+            exported = switch (format) {
+                case CSV -> writeCsv(awards.iterator(), outputStream);
+                case XLSX -> writeXlsx(awards.iterator(), outputStream);
+            };
+        }
+        log.info("Выгрузка наград завершена. Выгружено записей: {}", exported);
+    }
+
+    private long writeCsv(Iterator<AwardView> awards, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), CSV_BUFFER_SIZE);
+        AwardFileColumn[] columns = AwardFileColumn.values();
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(CSV_DELIMITER);
+            }
+            writeCsvValue(writer, columns[i].getHeader());
+        }
+        writer.write(CSV_LINE_SEPARATOR);
+
+        long exported = 0;
+        while (awards.hasNext()) {
+            AwardView award = awards.next();
+            if (award.employeeExternalId() != null) {
+                writer.write(Long.toString(award.employeeExternalId()));
+            }
+            writer.write(CSV_DELIMITER);
+            writeCsvValue(writer, award.employeeFullName());
+            writer.write(CSV_DELIMITER);
+            writer.write(Long.toString(award.awardExternalId()));
+            writer.write(CSV_DELIMITER);
+            writeCsvValue(writer, award.awardName());
+            writer.write(CSV_DELIMITER);
+            writer.write(award.receivedDate().toString());
+            writer.write(CSV_LINE_SEPARATOR);
+            exported++;
+        }
+        writer.flush();
+        return exported;
+    }
+
+    /**
+     * Пишет значение, заключая его в кавычки по RFC 4180, если оно содержит разделитель, кавычку или перевод строки.
+     */
+    private void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == CSV_DELIMITER || c == CSV_QUOTE || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write(CSV_QUOTE);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == CSV_QUOTE) {
+                writer.write(CSV_QUOTE);
+            }
+            writer.write(c);
+        }
+        writer.write(CSV_QUOTE);
+    }
+
+    /**
+     * Пишет награды в XLSX. Идентификаторы записываются числами с целочисленным форматом
+     * (формат General показал бы большие числа в экспоненциальной записи), дата - строкой yyyy-MM-dd.
+     * Награды, добавленные после {@link #checkExportable}, могут не поместиться на лист: тогда выгрузка прерывается
+     * до записи файла в поток ответа.
+     */
+    private long writeXlsx(Iterator<AwardView> awards, OutputStream outputStream) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_ACCESS_WINDOW)) {
+            workbook.setCompressTempFiles(true);
+            CellStyle integerStyle = workbook.createCellStyle();
+            integerStyle.setDataFormat(workbook.createDataFormat().getFormat(INTEGER_FORMAT));
+
+            Sheet sheet = createSheet(workbook);
+            int rowNum = FIRST_XLSX_DATA_ROW;
+            long exported = 0;
+            while (awards.hasNext()) {
+                if (rowNum == XLSX_MAX_ROWS) {
+                    throw new IllegalStateException(XLSX_TOO_MANY_AWARDS_MESSAGE);
+                }
+                AwardView award = awards.next();
+                Row row = sheet.createRow(rowNum++);
+                if (award.employeeExternalId() != null) {
+                    setIdCell(row, AwardFileColumn.EMPLOYEE_EXTERNAL_ID, award.employeeExternalId(), integerStyle);
+                    row.createCell(AwardFileColumn.EMPLOYEE_FULL_NAME.getIndex()).setCellValue(award.employeeFullName());
+                }
+                setIdCell(row, AwardFileColumn.AWARD_EXTERNAL_ID, award.awardExternalId(), integerStyle);
+                row.createCell(AwardFileColumn.AWARD_NAME.getIndex()).setCellValue(award.awardName());
+                row.createCell(AwardFileColumn.RECEIVED_DATE.getIndex()).setCellValue(award.receivedDate().toString());
+                exported++;
+            }
+            workbook.write(outputStream);
+            return exported;
+        }
+    }
+
+    private Sheet createSheet(SXSSFWorkbook workbook) {
+        Sheet sheet = workbook.createSheet(SHEET_NAME);
+        Row headerRow = sheet.createRow(FileStructure.HEADERS_ROW_EXCEL.getValue());
+        for (AwardFileColumn column : AwardFileColumn.values()) {
+            headerRow.createCell(column.getIndex()).setCellValue(column.getHeader());
+        }
+        return sheet;
+    }
+
+    private void setIdCell(Row row, AwardFileColumn column, long value, CellStyle integerStyle) {
+        if (Math.abs(value) > MAX_EXACT_NUMERIC_CELL) {
+            row.createCell(column.getIndex()).setCellValue(Long.toString(value));
+            return;
+        }
+        Cell cell = row.createCell(column.getIndex());
+        cell.setCellValue(value);
+        cell.setCellStyle(integerStyle);
+    }
+}
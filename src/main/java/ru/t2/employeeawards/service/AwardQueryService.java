@@ -0,0 +1,104 @@
+package ru.t2.employeeawards.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.t2.employeeawards.config.AwardQueryProperties;
+import ru.t2.employeeawards.dto.AwardCursor;
+import ru.t2.employeeawards.dto.AwardFilter;
+import ru.t2.employeeawards.dto.AwardView;
+import ru.t2.employeeawards.exception.ResourceNotFoundException;
+import ru.t2.employeeawards.repository.AwardRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Чтение наград для API.
+ *
+ * Ответ пишется в поток по мере чтения: награды выбираются из БД пачками по ключу
+ * (received_date, award_id), поэтому память не зависит от количества наград в ответе.
+ */
+@Service
+@RequiredArgsConstructor
+public class AwardQueryService {
+
+    private final AwardRepository awardRepository;
+    private final EmployeeIdCache employeeIdCache;
+    private final AwardQueryProperties awardQueryProperties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Возвращает первичный ключ сотрудника по внешнему идентификатору.
+     *
+     * @param employeeExternalId внешний идентификатор сотрудника
+     * @return первичный ключ сотрудника
+     * @throws ResourceNotFoundException если сотрудник не найден
+     */
+    public long getEmployeeId(long employeeExternalId) {
+        Map<Long, Long> employeeIds = employeeIdCache.resolveEmployeeIds(List.of(employeeExternalId));
+        Long employeeId = employeeIds.get(employeeExternalId);
+        if (employeeId == null) {
+            throw new ResourceNotFoundException("Сотрудник не найден: " + employeeExternalId);
+        }
+        return employeeId;
+    }
+
+    /**
+     * Пишет награды в формате {@code {"items": [...], "nextCursor": "..."}}.
+     *
+     * {@code nextCursor} заполняется, если выдача остановлена по {@code limit} и после последней
+     * выданной награды есть еще награды; его значение передается в следующий запрос.
+     *
+     * @param filter условия выборки
+     * @param after позиция, после которой начинается выдача; null - с начала
+     * @param limit максимальное количество наград; null - все подходящие награды
+     * @param outputStream поток ответа
+     * @throws IOException если не удалось записать ответ
+     */
+    public void writeAwards(AwardFilter filter, AwardCursor after, Integer limit,
+                            OutputStream outputStream) throws IOException {
+        int batchSize = awardQueryProperties.getBatchSize();
+        long remaining = limit != null ? limit : Long.MAX_VALUE;
+        AwardCursor cursor = after;
+        AwardCursor nextCursor = null;
+        // Поток сбрасывается после каждой пачки, а не после каждой награды
+        ObjectWriter itemWriter = objectMapper.writerFor(AwardView.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("items");
+            while (true) {
+                // На одну награду больше остатка, чтобы узнать, есть ли награды после limit
+                int fetchSize = remaining < batchSize ? (int) remaining + 1 : batchSize;
+                List<AwardView> page = awardRepository.findAwards(filter, cursor, fetchSize);
+                int written = (int) Math.min(page.size(), remaining);
+                for (int i = 0; i < written; i++) {
+                    itemWriter.writeValue(generator, page.get(i));
+                }
+                if (written > 0) {
+                    cursor = page.get(written - 1).cursor();
+                    remaining -= written;
+                }
+                generator.flush();
+
+                if (page.size() > written) {
+                    nextCursor = cursor;
+                    break;
+                }
+                if (page.size() < fetchSize) {
+                    break;
+                }
+            }
+            generator.writeEndArray();
+            generator.writeStringField("nextCursor", nextCursor != null ? nextCursor.toString() : null);
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package ru.t2.employeeawards.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.t2.employeeawards.config.UploadProperties;
+import ru.t2.employeeawards.dto.AwardFileRecord;
+import ru.t2.employeeawards.repository.AwardRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Загрузка наград через промежуточную таблицу award_staging ({@code awards.upload.staging.enabled}).
+ *
+ * Разобранные записи вставляются в award_staging пачками без чтения БД, а после разбора всего файла
+ * одна транзакция находит записи с неизвестными сотрудниками одним запросом с соединением и переносит
+ * остальные в awards одним MERGE. Запись загрузки либо переносится целиком, либо не переносится вовсе.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AwardStagingService {
+
+    private final AwardRepository awardRepository;
+    private final EmployeeBatchWriter employeeBatchWriter;
+    private final UploadProperties uploadProperties;
+    private final UploadMetrics uploadMetrics;
+    private final UploadResultCache uploadResultCache;
+
+    private volatile boolean tableCreated;
+
+    /**
+     * Начинает загрузку, при первом вызове создавая award_staging.
+     *
+     * @return идентификатор загрузки
+     */
+    public UUID startLoad() {
+        if (!tableCreated) {
+            awardRepository.createStagingTable();
+            tableCreated = true;
+        }
+        return UUID.randomUUID();
+    }
+
+    /**
+     * Вставляет пачку записей в award_staging в отдельной транзакции. Может вызываться из нескольких потоков.
+     *
+     * @param loadId идентификатор загрузки
+     * @param firstRowNumber номер первой записи пачки; из повторов награды переносится запись с наибольшим номером
+     * @param chunk пачка записей из файла
+     */
+    @Transactional
+    public void stage(UUID loadId, long firstRowNumber, List<AwardFileRecord> chunk) {
+        uploadMetrics.stageTimer(UploadMetrics.Stage.PERSIST)
+                .record(() -> awardRepository.insertStaged(loadId, firstRowNumber, chunk));
+    }
+
+    /**
+     * Переносит записи загрузки в awards в одной транзакции. Если включено
+     * {@code awards.upload.create-missing-employees}, отсутствующие сотрудники предварительно создаются.
+     * Записи, для которых не найден сотрудник, возвращаются как ошибки.
+     *
+     * @param loadId идентификатор загрузки
+     * @return количество записанных и неизмененных записей, записи, которые не удалось сохранить
+     */
+    @Transactional
+    public ChunkWriteResult merge(UUID loadId) {
+        uploadMetrics.timeCommit();
+        List<RecordFailure> failures = uploadMetrics.stageTimer(UploadMetrics.Stage.LOOKUP).record(() -> {
+            if (uploadProperties.isCreateMissingEmployees()) {
+                createMissingEmployees(loadId);
+            }
+            List<RecordFailure> unknown = new ArrayList<>();
+            for (AwardFileRecord record : awardRepository.findStagedWithUnknownEmployee(loadId)) {
+                unknown.add(new RecordFailure(record,
+                        new IllegalArgumentException("Сотрудник не найден: " + record.getEmployeeExternalId())));
+            }
+            return unknown;
+        });
+
+        int staged = awardRepository.countStaged(loadId);
+        int written = uploadMetrics.stageTimer(UploadMetrics.Stage.PERSIST).record(() -> awardRepository.mergeStaged(loadId));
+        uploadResultCache.recordDataChange(written);
+        log.debug("Перенесено из award_staging: {} записей, записано наград: {}, ошибок: {}",
+                staged, written, failures.size());
+        // Повторы награды в файле, кроме последнего, учитываются как неизмененные
+        return new ChunkWriteResult(written, staged - failures.size() - written, failures);
+    }
+
+    /**
+     * Удаляет записи загрузки из award_staging.
+     *
+     * @param loadId идентификатор загрузки
+     */
+    public void discard(UUID loadId) {
+        awardRepository.deleteStaged(loadId);
+    }
+
+    /**
+     * Создает отсутствующих сотрудников пачками, чтобы не превышать ограничение на число параметров запроса.
+     */
+    private void createMissingEmployees(UUID loadId) {
+        Map<Long, String> missing = awardRepository.findMissingEmployees(loadId);
+        Map<Long, String> batch = new HashMap<>();
+        for (Map.Entry<Long, String> employee : missing.entrySet()) {
+            batch.put(employee.getKey(), employee.getValue());
+            if (batch.size() >= uploadProperties.getBatchSize()) {
+                employeeBatchWriter.createMissing(batch);
+                batch = new HashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            employeeBatchWriter.createMissing(batch);
+        }
+    }
+}
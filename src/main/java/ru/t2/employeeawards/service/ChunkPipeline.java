@@ -0,0 +1,145 @@
+package ru.t2.employeeawards.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.t2.employeeawards.dto.AwardFileRecord;
+import ru.t2.employeeawards.exception.FileParseException;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Конвейер между парсером и потоками записи в БД.
+ *
+ * Парсер передает пачки записей через ограниченную очередь: когда очередь заполнена, парсер
+ * ждет, пока потоки записи освободят место. Если парсинг завершился ошибкой, конвейер
+ * отменяется: необработанные пачки отбрасываются, а {@link #cancel()} возвращает управление
+ * только после того, как потоки записи закончат текущие пачки.
+ */
+@Slf4j
+class ChunkPipeline {
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final BlockingQueue<List<AwardFileRecord>> queue;
+    private final Consumer<List<AwardFileRecord>> chunkWriter;
+    private final int writers;
+    private final CountDownLatch writersFinished;
+    private final AtomicReference<Throwable> writerFailure = new AtomicReference<>();
+
+    private volatile boolean inputFinished;
+    private volatile boolean cancelled;
+
+    /**
+     * @param queueCapacity максимальное количество пачек, ожидающих записи
+     * @param writers количество потоков записи
+     * @param chunkWriter обработчик одной пачки, вызывается из потоков записи
+     */
+    ChunkPipeline(int queueCapacity, int writers, Consumer<List<AwardFileRecord>> chunkWriter) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writers = writers;
+        this.chunkWriter = chunkWriter;
+        this.writersFinished = new CountDownLatch(writers);
+    }
+
+    /**
+     * Запускает потоки записи.
+     *
+     * @param executor исполнитель, в котором работают потоки записи
+     */
+    void start(Executor executor) {
+        for (int i = 0; i < writers; i++) {
+            try {
+                executor.execute(this::drain);
+            } catch (RuntimeException e) {
+                // Незапущенные потоки записи не уменьшат счетчик сами
+                for (int j = i; j < writers; j++) {
+                    writersFinished.countDown();
+                }
+                cancel();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Передает пачку потокам записи, ожидая свободного места в очереди.
+     *
+     * @param chunk пачка записей, после передачи не должна изменяться вызывающим кодом
+     * @throws FileParseException если поток записи завершился с ошибкой или ожидание было прервано
+     */
+    void submit(List<AwardFileRecord> chunk) {
+        try {
+            while (!queue.offer(chunk, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                checkWriterFailure();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileParseException("Обработка файла прервана", e);
+        }
+        checkWriterFailure();
+    }
+
+    /**
+     * Сообщает, что парсинг завершен, и ждет записи всех переданных пачек.
+     *
+     * @throws FileParseException если поток записи завершился с ошибкой или ожидание было прервано
+     */
+    void finish() {
+        inputFinished = true;
+        awaitWriters();
+        checkWriterFailure();
+    }
+
+    /**
+     * Отменяет запись необработанных пачек и ждет остановки потоков записи.
+     */
+    void cancel() {
+        cancelled = true;
+        queue.clear();
+        awaitWriters();
+    }
+
+    private void drain() {
+        try {
+            while (!cancelled) {
+                List<AwardFileRecord> chunk = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (chunk != null) {
+                    chunkWriter.accept(chunk);
+                } else if (inputFinished && queue.isEmpty()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writerFailure.compareAndSet(null, e);
+        } catch (RuntimeException | Error e) {
+            log.error("Ошибка в потоке записи: {}", e.getMessage(), e);
+            writerFailure.compareAndSet(null, e);
+        } finally {
+            writersFinished.countDown();
+        }
+    }
+
+    private void awaitWriters() {
+        try {
+            writersFinished.await();
+        } catch (InterruptedException e) {
+            cancelled = true;
+            Thread.currentThread().interrupt();
+            throw new FileParseException("Обработка файла прервана", e);
+        }
+    }
+
+    private void checkWriterFailure() {
+        Throwable failure = writerFailure.get();
+        if (failure != null) {
+            throw new FileParseException("Ошибка при сохранении записей: " + failure.getMessage(), failure);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ru.t2.employeeawards.service;
+
+import java.util.List;
+
+/**
+ * Итог записи пачки.
+ *
+ * @param writtenRecords количество вставленных или измененных наград
+ * @param unchangedRecords количество записей, совпавших с сохраненными наградами (не записывались)
+ * @param failures записи, которые не удалось сохранить
+ */
+public record ChunkWriteResult(int writtenRecords, int unchangedRecords, List<RecordFailure> failures) {
+}
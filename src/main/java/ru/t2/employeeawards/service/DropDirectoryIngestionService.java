@@ -0,0 +1,306 @@
+package ru.t2.employeeawards.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import ru.t2.employeeawards.config.DropDirectoryProperties;
+import ru.t2.employeeawards.config.UploadProperties;
+import ru.t2.employeeawards.dto.AwardFileRecord;
+import ru.t2.employeeawards.dto.UploadResult;
+import ru.t2.employeeawards.exception.FileParseException;
+import ru.t2.employeeawards.exception.ResourceNotFoundException;
+import ru.t2.employeeawards.parser.impl.AwardCsvReader;
+import ru.t2.employeeawards.parser.utils.CsvRangeSplitter;
+import ru.t2.employeeawards.parser.utils.CsvRangeSplitter.Range;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Загружает большие CSV файлы из каталога на сервере, минуя HTTP.
+ *
+ * Файл отображается в память ({@link FileChannel#map}), разбивается на части по границам строк,
+ * части разбираются параллельно, а записи сохраняются пачками через {@link FileProcessingService#persistChunk}.
+ * Пачки разных частей сохраняются параллельно, поэтому не в порядке следования в файле: если награда
+ * встречается в нескольких частях, какая из ее записей останется, не определено. Пачки одной части
+ * сохраняются по порядку, поэтому внутри части остается последняя запись награды.
+ * При включенной загрузке через award_staging пачки всех частей вставляются в нее, а в awards
+ * переносятся одной транзакцией после разбора всего файла; тогда остается последняя запись награды в файле.
+ */
+@Slf4j
+@Service
+public class DropDirectoryIngestionService {
+    private static final String CSV_EXTENSION = ".csv";
+    // Часть файла отображается в память целиком, а отображение ограничено 2 ГБ
+    private static final long MAX_RANGE_BYTES = 1L << 30;
+    // Номера записей в award_staging: старшие биты - номер части, младшие - номер записи в части
+    private static final int RANGE_ROW_NUMBER_BITS = 40;
+
+    private final DropDirectoryProperties dropDirectoryProperties;
+    private final UploadProperties uploadProperties;
+    private final FileProcessingService fileProcessingService;
+    private final AsyncTaskExecutor dropDirectoryExecutor;
+    private final UploadMetrics uploadMetrics;
+    private final AwardStagingService awardStagingService;
+
+    public DropDirectoryIngestionService(DropDirectoryProperties dropDirectoryProperties,
+                                         UploadProperties uploadProperties,
+                                         FileProcessingService fileProcessingService,
+                                         @Qualifier("dropDirectoryExecutor") AsyncTaskExecutor dropDirectoryExecutor,
+                                         UploadMetrics uploadMetrics,
+                                         AwardStagingService awardStagingService) {
+        this.dropDirectoryProperties = dropDirectoryProperties;
+        this.uploadProperties = uploadProperties;
+        this.fileProcessingService = fileProcessingService;
+        this.dropDirectoryExecutor = dropDirectoryExecutor;
+        this.uploadMetrics = uploadMetrics;
+        this.awardStagingService = awardStagingService;
+    }
+
+    /**
+     * Проверяет, что файл можно загрузить из каталога, не начиная загрузку.
+     *
+     * @param fileName имя файла внутри каталога
+     * @throws IllegalArgumentException если каталог не настроен или имя файла указывает за пределы каталога
+     * @throws ResourceNotFoundException если файл не найден
+     * @throws FileParseException если файл не CSV
+     */
+    public void checkFile(String fileName) {
+        resolveFile(fileName);
+    }
+
+    /**
+     * Загружает CSV файл из каталога загрузки.
+     *
+     * @param fileName имя файла внутри каталога
+     * @return результат обработки файла
+     * @throws IllegalArgumentException если каталог не настроен или имя файла указывает за пределы каталога
+     * @throws ResourceNotFoundException если файл не найден
+     * @throws FileParseException если файл не CSV или произошла ошибка при его разборе
+     */
+    public UploadResult ingest(String fileName) {
+        return ingest(fileName, new UploadProgress());
+    }
+
+    /**
+     * Загружает CSV файл из каталога загрузки, обновляя счетчики по мере обработки.
+     *
+     * @param fileName имя файла внутри каталога
+     * @param progress счетчики обработки файла
+     * @return результат обработки файла
+     * @throws IllegalArgumentException если каталог не настроен или имя файла указывает за пределы каталога
+     * @throws ResourceNotFoundException если файл не найден
+     * @throws FileParseException если файл не CSV или произошла ошибка при его разборе
+     */
+    public UploadResult ingest(String fileName, UploadProgress progress) {
+        Path file = resolveFile(fileName);
+        log.info("Начало обработки файла из каталога: {}", file);
+
+        uploadMetrics.uploadStarted();
+        boolean succeeded = false;
+        UUID loadId = uploadProperties.getStaging().isEnabled() ? awardStagingService.startLoad() : null;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            uploadMetrics.recordFileSize(channel.size());
+            List<Range> ranges = CsvRangeSplitter.split(channel, rangeCount(channel.size()));
+            log.debug("Файл {} разбит на {} частей", file, ranges.size());
+            processRanges(channel, ranges, progress, loadId);
+            if (loadId != null) {
+                fileProcessingService.mergeStaged(loadId, progress);
+            }
+            succeeded = true;
+        } catch (IOException e) {
+            throw new FileParseException("Ошибка при чтении файла: " + e.getMessage(), e);
+        } finally {
+            if (loadId != null) {
+                awardStagingService.discard(loadId);
+            }
+            uploadMetrics.uploadFinished(succeeded);
+        }
+
+        UploadResult result = progress.toResult();
+        log.info("Обработка завершена. Всего записей: {}, обработано: {}, без изменений: {}, пропущено: {}",
+                result.totalRecords(), result.processedRecords(), result.unchangedRecords(), result.skippedRecords());
+        return result;
+    }
+
+    private Path resolveFile(String fileName) {
+        Path directory = dropDirectoryProperties.getPath();
+        if (directory == null) {
+            throw new IllegalArgumentException("Каталог для загрузки файлов не настроен");
+        }
+        if (fileName == null || fileName.isBlank()) {
+            throw new FileParseException("Имя файла не указано");
+        }
+        if (!fileName.toLowerCase().endsWith(CSV_EXTENSION)) {
+            throw new FileParseException("Неподдерживаемый тип файла: " + fileName);
+        }
+
+        Path baseDirectory = directory.toAbsolutePath().normalize();
+        Path file = baseDirectory.resolve(fileName).normalize();
+        if (!file.startsWith(baseDirectory)) {
+            throw new IllegalArgumentException("Недопустимое имя файла: " + fileName);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Файл не найден: " + fileName);
+        }
+
+        try {
+            // Символические ссылки не должны выводить за пределы каталога
+            if (!file.toRealPath().startsWith(baseDirectory.toRealPath())) {
+                throw new IllegalArgumentException("Недопустимое имя файла: " + fileName);
+            }
+        } catch (IOException e) {
+            throw new FileParseException("Ошибка при чтении файла: " + e.getMessage(), e);
+        }
+        return file;
+    }
+
+    private int rangeCount(long fileSize) {
+        long bySize = Math.max(1, fileSize / dropDirectoryProperties.getMinRangeSize().toBytes());
+        long byMappingLimit = (fileSize + MAX_RANGE_BYTES - 1) / MAX_RANGE_BYTES;
+        return (int) Math.max(byMappingLimit, Math.min(dropDirectoryProperties.getParallelism(), bySize));
+    }
+
+    /**
+     * Разбирает части файла параллельно. При ошибке в одной части остальные останавливаются
+     * после текущей пачки, а исключение пробрасывается после завершения всех частей.
+     * При прерывании вызывающего потока метод тоже дожидается остановки частей, чтобы после
+     * выхода из него ни одна часть не продолжала запись.
+     */
+    private void processRanges(FileChannel channel, List<Range> ranges, UploadProgress progress, UUID loadId) {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<Future<?>> futures = new ArrayList<>(ranges.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            Range range = ranges.get(i);
+            int rangeIndex = i;
+            futures.add(dropDirectoryExecutor.submit(() -> {
+                try {
+                    processRange(channel, range, rangeIndex, progress, loadId, cancelled);
+                } catch (Throwable e) {
+                    // Остальные части останавливаются сразу, не дожидаясь, пока до этой части дойдет ожидание
+                    cancelled.set(true);
+                    throw e;
+                }
+                return null;
+            }));
+        }
+
+        RuntimeException failure = null;
+        InterruptedException interruption = null;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = toRuntimeException(e.getCause());
+                    }
+                    break;
+                } catch (InterruptedException e) {
+                    cancelled.set(true);
+                    interruption = e;
+                }
+            }
+        }
+        if (interruption != null) {
+            Thread.currentThread().interrupt();
+            throw new FileParseException("Обработка файла прервана", interruption);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void processRange(FileChannel channel, Range range, int rangeIndex, UploadProgress progress,
+                              UUID loadId, AtomicBoolean cancelled) throws IOException {
+        if (range.length() > Integer.MAX_VALUE) {
+            throw new FileParseException("Не удалось разбить файл на части: строка длиннее "
+                    + Integer.MAX_VALUE + " байт начиная со строки " + range.firstLineNumber());
+        }
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, range.start(), range.length());
+        AwardCsvReader reader = new AwardCsvReader(
+                new InputStreamReader(new ByteBufferInputStream(buffer), StandardCharsets.UTF_8),
+                range.firstLineNumber()
+        );
+        if (rangeIndex == 0 && !reader.skipHeader()) {
+            throw new FileParseException("CSV файл не содержит данных");
+        }
+
+        int batchSize = uploadProperties.getBatchSize();
+        List<AwardFileRecord> chunk = new ArrayList<>(batchSize);
+        long rowNumber = (long) rangeIndex << RANGE_ROW_NUMBER_BITS;
+        AwardFileRecord record;
+        while (!cancelled.get() && (record = reader.next()) != null) {
+            progress.recordParsed();
+            chunk.add(record);
+            if (chunk.size() >= batchSize) {
+                persistChunk(chunk, rowNumber, progress, loadId);
+                rowNumber += chunk.size();
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        if (!cancelled.get() && !chunk.isEmpty()) {
+            persistChunk(chunk, rowNumber, progress, loadId);
+        }
+    }
+
+    private void persistChunk(List<AwardFileRecord> chunk, long firstRowNumber, UploadProgress progress, UUID loadId) {
+        uploadMetrics.recordParsed(chunk.size());
+        if (loadId != null) {
+            awardStagingService.stage(loadId, firstRowNumber, chunk);
+        } else {
+            fileProcessingService.persistChunk(chunk, progress);
+        }
+    }
+
+    private RuntimeException toRuntimeException(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new FileParseException("Ошибка при чтении файла: " + cause.getMessage(), cause);
+    }
+
+    /**
+     * Поток байтов из отображенной в память части файла.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ru.t2.employeeawards.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.t2.employeeawards.dto.EmployeeFileRecord;
+import ru.t2.employeeawards.dto.EmployeeUpsert;
+import ru.t2.employeeawards.repository.EmployeeRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Сохраняет сотрудников пачками нативным upsert по внешнему идентификатору.
+ *
+ * Запись идет в обход JPA, поэтому кэш и индекс сотрудников и версия данных для
+ * {@link UploadResultCache} обновляются здесь, после фиксации транзакции.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployeeBatchWriter {
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeIdCache employeeIdCache;
+    private final EmployeeIndex employeeIndex;
+    private final UploadResultCache uploadResultCache;
+
+    /**
+     * Сохраняет пачку сотрудников в одной транзакции: новые вставляются, у существующих обновляется ФИО.
+     * Сотрудники, ФИО которых не изменилось, не перезаписываются и учитываются как неизмененные.
+     *
+     * @param chunk пачка записей из файла
+     * @return количество записанных и неизмененных сотрудников
+     */
+    @Transactional
+    public ChunkWriteResult writeChunk(List<EmployeeFileRecord> chunk) {
+        List<EmployeeUpsert> employees = new ArrayList<>(chunk.size());
+        for (EmployeeFileRecord record : chunk) {
+            employees.add(new EmployeeUpsert(record.getEmployeeExternalId(), record.getFullName()));
+        }
+
+        int written = employeeRepository.upsertAll(employees);
+        if (written > 0) {
+            employeesWritten(employees.stream().map(EmployeeUpsert::employeeExternalId).toList(), written, null);
+        }
+        return new ChunkWriteResult(written, chunk.size() - written, List.of());
+    }
+
+    /**
+     * Создает в текущей транзакции сотрудников, которых еще нет в БД. Существующие сотрудники
+     * (в том числе созданные параллельно другой загрузкой) не изменяются.
+     *
+     * @param fullNames ФИО создаваемых сотрудников по внешнему идентификатору
+     * @return первичные ключи сотрудников по внешнему идентификатору
+     */
+    public Map<Long, Long> createMissing(Map<Long, String> fullNames) {
+        List<EmployeeUpsert> employees = new ArrayList<>(fullNames.size());
+        fullNames.forEach((externalId, fullName) -> employees.add(new EmployeeUpsert(externalId, fullName)));
+
+        int created = employeeRepository.insertMissing(employees);
+        Map<Long, Long> employeeIds = employeeRepository.findEmployeeIds(fullNames.keySet());
+        if (created > 0) {
+            log.info("Создано отсутствующих сотрудников: {}", created);
+            employeesWritten(fullNames.keySet(), created, employeeIds);
+        }
+        return employeeIds;
+    }
+
+    /**
+     * @param employeeIds первичные ключи записанных сотрудников, если уже известны; иначе читаются из БД при включенном индексе
+     */
+    private void employeesWritten(Collection<Long> employeeExternalIds, int written, Map<Long, Long> employeeIds) {
+        employeeIdCache.invalidate(employeeExternalIds);
+        uploadResultCache.recordDataChange(written);
+        if (employeeIndex.isEnabled()) {
+            Map<Long, Long> ids = employeeIds != null
+                    ? employeeIds
+                    : employeeRepository.findEmployeeIds(Set.copyOf(employeeExternalIds));
+            // Upsert идет по внешнему идентификатору и не меняет его у существующих сотрудников
+            ids.forEach((externalId, employeeId) -> employeeIndex.employeeSaved(externalId, employeeId, true));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package ru.t2.employeeawards.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import ru.t2.employeeawards.model.Employee;
+
+/**
+ * Сбрасывает кэш идентификаторов сотрудников и сохраненные результаты загрузок и обновляет индекс сотрудников
+ * при изменении сотрудников через JPA.
+ *
+ * Кэши и индекс запрашиваются через {@link ObjectProvider}, так как listener создается Hibernate
+ * и в тестовых срезах контекста (например, {@code @DataJpaTest}) их бинов может не быть.
+ */
+public class EmployeeCacheInvalidationListener {
+
+    private final ObjectProvider<EmployeeIdCache> employeeIdCache;
+    private final ObjectProvider<UploadResultCache> uploadResultCache;
+    private final ObjectProvider<EmployeeIndex> employeeIndex;
+
+    public EmployeeCacheInvalidationListener(ObjectProvider<EmployeeIdCache> employeeIdCache,
+                                             ObjectProvider<UploadResultCache> uploadResultCache,
+                                             ObjectProvider<EmployeeIndex> employeeIndex) {
+        this.employeeIdCache = employeeIdCache;
+        this.uploadResultCache = uploadResultCache;
+        this.employeeIndex = employeeIndex;
+    }
+
+    @PostPersist
+    public void onPersist(Employee employee) {
+        employeeIdCache.ifAvailable(cache -> cache.invalidate(employee.getEmployeeExternalId()));
+        uploadResultCache.ifAvailable(cache -> cache.recordDataChange(1));
+        employeeIndex.ifAvailable(index ->
+                index.employeeSaved(employee.getEmployeeExternalId(), employee.getEmployeeId(), true));
+    }
+
+    @PostUpdate
+    public void onUpdate(Employee employee) {
+        invalidate(employee);
+        employeeIndex.ifAvailable(index ->
+                index.employeeSaved(employee.getEmployeeExternalId(), employee.getEmployeeId(), false));
+    }
+
+    @PostRemove
+    public void onRemove(Employee employee) {
+        invalidate(employee);
+        employeeIndex.ifAvailable(index -> index.employeeRemoved(employee.getEmployeeId()));
+    }
+
+    private void invalidate(Employee employee) {
+        employeeIdCache.ifAvailable(cache -> {
+            cache.invalidate(employee.getEmployeeExternalId());
+            cache.invalidateByEmployeeId(employee.getEmployeeId());
+        });
+        uploadResultCache.ifAvailable(cache -> cache.recordDataChange(1));
+    }
+}
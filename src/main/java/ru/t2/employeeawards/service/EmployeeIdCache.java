@@ -0,0 +1,182 @@
+package ru.t2.employeeawards.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.t2.employeeawards.config.EmployeeCacheProperties;
+import ru.t2.employeeawards.dto.EmployeeCacheStats;
+import ru.t2.employeeawards.dto.EmployeeIdView;
+import ru.t2.employeeawards.repository.EmployeeRepository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Кэш соответствия внешнего идентификатора сотрудника его первичному ключу.
+ *
+ * Отсутствующие сотрудники тоже кэшируются, но на меньшее время ({@code negativeTtl}), чтобы
+ * повторные загрузки с неизвестными сотрудниками не выполняли запросы к БД на каждую пачку.
+ * Статистика кэша публикуется в метриках {@code cache.*} с тегом {@code cache=employeeIds}.
+ */
+@Slf4j
+@Component
+public class EmployeeIdCache implements MeterBinder {
+
+    /**
+     * Значение для отсутствующего сотрудника (первичные ключи из последовательности положительные).
+     */
+    private static final long NOT_FOUND = -1L;
+    private static final String CACHE_NAME = "employeeIds";
+
+    private final EmployeeRepository employeeRepository;
+    private final Cache<Long, Long> cache;
+
+    @Autowired
+    public EmployeeIdCache(EmployeeRepository employeeRepository, EmployeeCacheProperties properties) {
+        this(employeeRepository, properties, Ticker.systemTicker());
+    }
+
+    EmployeeIdCache(EmployeeRepository employeeRepository, EmployeeCacheProperties properties, Ticker ticker) {
+        this.employeeRepository = employeeRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new EmployeeIdExpiry(properties.getTtl().toNanos(), properties.getNegativeTtl().toNanos()))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Возвращает первичные ключи сотрудников по внешним идентификаторам.
+     * Идентификаторы, отсутствующие в кэше, загружаются из БД одним запросом IN (...).
+     *
+     * @param employeeExternalIds внешние идентификаторы сотрудников
+     * @return первичные ключи найденных сотрудников по внешнему идентификатору;
+     *         отсутствующие в БД сотрудники в результат не попадают
+     */
+    public Map<Long, Long> resolveEmployeeIds(Collection<Long> employeeExternalIds) {
+        Map<Long, Long> cached = cache.getAll(employeeExternalIds, this::loadEmployeeIds);
+        Map<Long, Long> result = new HashMap<>(cached.size());
+        cached.forEach((externalId, employeeId) -> {
+            if (employeeId != NOT_FOUND) {
+                result.put(externalId, employeeId);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Удаляет сотрудника из кэша после завершения текущей транзакции (или сразу, если транзакции нет),
+     * чтобы параллельная загрузка не успела закэшировать еще не зафиксированное состояние.
+     *
+     * @param employeeExternalId внешний идентификатор сотрудника
+     */
+    public void invalidate(Long employeeExternalId) {
+        runAfterTransaction(() -> cache.invalidate(employeeExternalId));
+    }
+
+    /**
+     * Удаляет сотрудников из кэша после завершения текущей транзакции (или сразу, если транзакции нет).
+     *
+     * @param employeeExternalIds внешние идентификаторы сотрудников
+     */
+    public void invalidate(Collection<Long> employeeExternalIds) {
+        List<Long> keys = List.copyOf(employeeExternalIds);
+        runAfterTransaction(() -> cache.invalidateAll(keys));
+    }
+
+    /**
+     * Удаляет из кэша все записи, указывающие на сотрудника с указанным первичным ключом.
+     * Нужно при смене внешнего идентификатора или удалении сотрудника, когда прежний ключ неизвестен.
+     *
+     * @param employeeId первичный ключ сотрудника
+     */
+    public void invalidateByEmployeeId(Long employeeId) {
+        runAfterTransaction(() -> cache.asMap().values().removeIf(cachedId -> cachedId.equals(employeeId)));
+    }
+
+    /**
+     * Очищает кэш целиком (например, после массового изменения сотрудников).
+     */
+    public void invalidateAll() {
+        runAfterTransaction(cache::invalidateAll);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * @return статистика обращений к кэшу с момента запуска приложения
+     */
+    public EmployeeCacheStats getStats() {
+        CacheStats stats = cache.stats();
+        return new EmployeeCacheStats(
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                stats.hitRate()
+        );
+    }
+
+    private Map<Long, Long> loadEmployeeIds(Set<? extends Long> employeeExternalIds) {
+        Map<Long, Long> loaded = new HashMap<>(employeeExternalIds.size());
+        for (EmployeeIdView employee : employeeRepository.findIdsByEmployeeExternalIdIn(Set.copyOf(employeeExternalIds))) {
+            loaded.put(employee.employeeExternalId(), employee.employeeId());
+        }
+        for (Long externalId : employeeExternalIds) {
+            loaded.putIfAbsent(externalId, NOT_FOUND);
+        }
+        log.debug("Загружено сотрудников в кэш: {} из {}", loaded.size(), employeeExternalIds.size());
+        return loaded;
+    }
+
+    private void runAfterTransaction(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Время жизни записи зависит от того, найден ли сотрудник.
+     */
+    private record EmployeeIdExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<Long, Long> {
+
+        @Override
+        public long expireAfterCreate(Long key, Long value, long currentTime) {
+            return value == NOT_FOUND ? negativeTtlNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Long value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Long value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package ru.t2.employeeawards.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import ru.t2.employeeawards.config.UploadProperties;
+import ru.t2.employeeawards.dto.EmployeeFileRecord;
+import ru.t2.employeeawards.dto.UploadResult;
+import ru.t2.employeeawards.exception.FileParseException;
+import ru.t2.employeeawards.factory.FileFactory;
+import ru.t2.employeeawards.parser.FileParser;
+import ru.t2.employeeawards.parser.impl.EmployeeRecordMapper;
+import ru.t2.employeeawards.validator.FileValidator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Загружает справочник сотрудников из файла (CSV или Excel) пачками через {@link EmployeeBatchWriter}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeImportService {
+
+    private final FileValidator fileValidator;
+    private final FileFactory fileFactory;
+    private final EmployeeBatchWriter employeeBatchWriter;
+    private final UploadProperties uploadProperties;
+
+    /**
+     * Обрабатывает файл со справочником сотрудников: новые сотрудники добавляются,
+     * у существующих (по внешнему идентификатору) обновляется ФИО.
+     *
+     * @param file загруженный файл со справочником сотрудников
+     * @return результат обработки файла, содержащий статистику по обработанным записям
+     * @throws FileParseException если произошла ошибка при валидации или парсинге файла
+     */
+    public UploadResult importFile(MultipartFile file) {
+        String fileName = file.getOriginalFilename();
+        log.info("Начало обработки файла сотрудников: {}", fileName);
+        fileValidator.validate(fileName);
+        FileParser<EmployeeFileRecord> fileParser = fileFactory.getParser(fileName, EmployeeRecordMapper.INSTANCE);
+
+        UploadProgress progress = new UploadProgress();
+        int batchSize = uploadProperties.getBatchSize();
+        List<EmployeeFileRecord> chunk = new ArrayList<>(batchSize);
+        try (InputStream inputStream = file.getInputStream()) {
+            fileParser.parse(inputStream, record -> {
+                progress.recordParsed();
+                if (record.getFullName() == null || record.getFullName().isBlank()) {
+                    progress.recordSkipped(formatError(record, "ФИО сотрудника не указано"));
+                    return;
+                }
+                chunk.add(record);
+                if (chunk.size() >= batchSize) {
+                    persistChunk(List.copyOf(chunk), progress);
+                    chunk.clear();
+                }
+            });
+            if (!chunk.isEmpty()) {
+                persistChunk(chunk, progress);
+            }
+        } catch (FileParseException e) {
+            log.error("Ошибка парсинга файла: {}", e.getMessage(), e);
+            throw e;
+        } catch (IOException e) {
+            throw new FileParseException("Ошибка при чтении файла: " + e.getMessage(), e);
+        }
+
+        UploadResult result = progress.toResult();
+        log.info("Обработка завершена. Всего записей: {}, обработано: {}, без изменений: {}, пропущено: {}",
+                result.totalRecords(), result.processedRecords(), result.unchangedRecords(), result.skippedRecords());
+        return result;
+    }
+
+    /**
+     * Сохраняет пачку в одной транзакции. Если транзакция пачки откатилась, записи пачки
+     * сохраняются повторно по одной, чтобы отклонить только ошибочные строки.
+     */
+    private void persistChunk(List<EmployeeFileRecord> chunk, UploadProgress progress) {
+        try {
+            recordResult(employeeBatchWriter.writeChunk(chunk), progress);
+        } catch (RuntimeException e) {
+            log.warn("Ошибка при сохранении пачки из {} сотрудников, повторная обработка по одной записи: {}",
+                    chunk.size(), e.getMessage());
+            for (EmployeeFileRecord record : chunk) {
+                try {
+                    recordResult(employeeBatchWriter.writeChunk(List.of(record)), progress);
+                } catch (RuntimeException recordError) {
+                    String errorMsg = formatError(record, recordError.getMessage());
+                    log.error(errorMsg, recordError);
+                    progress.recordSkipped(errorMsg);
+                }
+            }
+        }
+    }
+
+    private void recordResult(ChunkWriteResult result, UploadProgress progress) {
+        progress.recordProcessed(result.writtenRecords());
+        progress.recordUnchanged(result.unchangedRecords());
+    }
+
+    private String formatError(EmployeeFileRecord record, String error) {
+        return String.format("Ошибка при обработке записи (employeeId=%d): %s", record.getEmployeeExternalId(), error);
+    }
+}
@@ -0,0 +1,228 @@
+package ru.t2.employeeawards.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.t2.employeeawards.config.EmployeeIndexProperties;
+import ru.t2.employeeawards.repository.EmployeeRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Индекс всех сотрудников в памяти: внешний идентификатор -> первичный ключ.
+ *
+ * Справочник сотрудников большой, но меняется редко, поэтому при включенном индексе
+ * ({@code awards.employee-index.enabled}) он целиком загружается при запуске приложения в
+ * {@link LongLongHashMap}, и загрузка наград находит сотрудников без запросов к БД.
+ * Изменения сотрудников через JPA применяются к индексу после фиксации транзакции.
+ * Изменения в обход JPA (массовые UPDATE/DELETE, другие экземпляры приложения) индекс не видит,
+ * для них предназначен {@link #load()}.
+ */
+@Slf4j
+@Component
+public class EmployeeIndex {
+
+    /**
+     * Значение для отсутствующего сотрудника (первичные ключи из последовательности положительные).
+     */
+    private static final long NOT_FOUND = -1L;
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeIndexProperties properties;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Поля ниже защищены lock
+    private LongLongHashMap index;
+    // Изменения, зафиксированные во время загрузки; применяются к загруженному индексу перед его публикацией
+    private List<EmployeeChange> pendingChanges;
+
+    public EmployeeIndex(EmployeeRepository employeeRepository, EmployeeIndexProperties properties) {
+        this.employeeRepository = employeeRepository;
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * @return true, если индекс включен и загружен; после загрузки индекс остается доступным и при перезагрузке
+     */
+    public boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return index != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return количество сотрудников в индексе
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index != null ? index.size() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Загружает (или перезагружает) индекс, если он включен. Вызывается при запуске приложения.
+     * До завершения первой загрузки сотрудники ищутся через {@link EmployeeIdCache}.
+     * Ошибка загрузки не останавливает приложение: индекс остается прежним.
+     */
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                log.debug("Индекс сотрудников уже загружается");
+                return;
+            }
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long startNanos = System.nanoTime();
+        LongLongHashMap loaded = null;
+        try {
+            loaded = new LongLongHashMap(Math.toIntExact(employeeRepository.count()));
+            employeeRepository.forEachEmployeeId(properties.getFetchSize(), loaded::put);
+        } catch (RuntimeException e) {
+            loaded = null;
+            log.error("Не удалось загрузить индекс сотрудников, будет использоваться кэш: {}", e.getMessage(), e);
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (loaded != null) {
+                for (EmployeeChange change : pendingChanges) {
+                    change.applyTo(loaded);
+                }
+                index = loaded;
+            }
+            pendingChanges = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (loaded != null) {
+            log.info("Индекс сотрудников загружен: {} сотрудников за {} мс",
+                    loaded.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+    }
+
+    /**
+     * Возвращает первичные ключи сотрудников по внешним идентификаторам без обращения к БД.
+     *
+     * @param employeeExternalIds внешние идентификаторы сотрудников
+     * @return первичные ключи найденных сотрудников по внешнему идентификатору
+     * @throws IllegalStateException если индекс еще не загружен
+     */
+    public Map<Long, Long> resolveEmployeeIds(Collection<Long> employeeExternalIds) {
+        Map<Long, Long> result = new HashMap<>(employeeExternalIds.size() * 2);
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                throw new IllegalStateException("Индекс сотрудников не загружен");
+            }
+            for (Long externalId : employeeExternalIds) {
+                long employeeId = index.get(externalId, NOT_FOUND);
+                if (employeeId != NOT_FOUND) {
+                    result.put(externalId, employeeId);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Учитывает сохранение сотрудника после фиксации текущей транзакции (или сразу, если транзакции нет).
+     *
+     * @param employeeExternalId внешний идентификатор сотрудника (может отсутствовать)
+     * @param employeeId первичный ключ сотрудника
+     * @param externalIdUnchanged внешний идентификатор сотрудника не мог измениться (сотрудник создан
+     *                            или записан по внешнему идентификатору), поэтому прежние записи сотрудника не ищутся
+     */
+    public void employeeSaved(Long employeeExternalId, long employeeId, boolean externalIdUnchanged) {
+        applyAfterCommit(new EmployeeChange(employeeExternalId, employeeId, externalIdUnchanged));
+    }
+
+    /**
+     * Учитывает удаление сотрудника после фиксации текущей транзакции (или сразу, если транзакции нет).
+     *
+     * @param employeeId первичный ключ сотрудника
+     */
+    public void employeeRemoved(long employeeId) {
+        applyAfterCommit(new EmployeeChange(null, employeeId, false));
+    }
+
+    private void applyAfterCommit(EmployeeChange change) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(EmployeeChange change) {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            if (index != null) {
+                change.applyTo(index);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Изменение сотрудника; {@code employeeExternalId == null} - сотрудник удален или остался без внешнего идентификатора.
+     */
+    private record EmployeeChange(Long employeeExternalId, long employeeId, boolean externalIdUnchanged) {
+
+        void applyTo(LongLongHashMap index) {
+            if (employeeExternalId != null && index.get(employeeExternalId, NOT_FOUND) == employeeId) {
+                return;
+            }
+            // Прежний внешний идентификатор неизвестен, поэтому записи сотрудника ищутся по значению
+            if (!externalIdUnchanged) {
+                index.removeValue(employeeId);
+            }
+            if (employeeExternalId != null) {
+                index.put(employeeExternalId, employeeId);
+            }
+        }
+    }
+}
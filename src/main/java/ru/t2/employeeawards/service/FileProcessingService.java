@@ -1,103 +1,286 @@
 package ru.t2.employeeawards.service;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import ru.t2.employeeawards.config.UploadProperties;
 import ru.t2.employeeawards.dto.AwardFileRecord;
 import ru.t2.employeeawards.dto.UploadResult;
 import ru.t2.employeeawards.exception.FileParseException;
 import ru.t2.employeeawards.factory.FileFactory;
-import ru.t2.employeeawards.model.Award;
-import ru.t2.employeeawards.model.Employee;
 import ru.t2.employeeawards.parser.FileParser;
-import ru.t2.employeeawards.repository.AwardRepository;
-import ru.t2.employeeawards.repository.EmployeeRepository;
 import ru.t2.employeeawards.validator.FileValidator;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class FileProcessingService {
-    
+
     private final FileValidator fileValidator;
     private final FileFactory fileFactory;
-    private final EmployeeRepository employeeRepository;
-    private final AwardRepository awardRepository;
+    private final AwardBatchWriter awardBatchWriter;
+    private final UploadProperties uploadProperties;
+    private final TaskExecutor uploadWriterExecutor;
+    private final UploadMetrics uploadMetrics;
+    private final UploadResultCache uploadResultCache;
+    private final AwardStagingService awardStagingService;
 
-    @Autowired
-    private FileProcessingService self;
+    public FileProcessingService(FileValidator fileValidator,
+                                 FileFactory fileFactory,
+                                 AwardBatchWriter awardBatchWriter,
+                                 UploadProperties uploadProperties,
+                                 @Qualifier("uploadWriterExecutor") TaskExecutor uploadWriterExecutor,
+                                 UploadMetrics uploadMetrics,
+                                 UploadResultCache uploadResultCache,
+                                 AwardStagingService awardStagingService) {
+        this.fileValidator = fileValidator;
+        this.fileFactory = fileFactory;
+        this.awardBatchWriter = awardBatchWriter;
+        this.uploadProperties = uploadProperties;
+        this.uploadWriterExecutor = uploadWriterExecutor;
+        this.uploadMetrics = uploadMetrics;
+        this.uploadResultCache = uploadResultCache;
+        this.awardStagingService = awardStagingService;
+    }
 
     /**
      * Обрабатывает загруженный файл: выполняет валидацию, парсинг и сохранение записей о наградах.
-     * 
+     *
      * @param file загруженный файл с информацией о наградах сотрудников
      * @return результат обработки файла, содержащий статистику по обработанным записям
      * @throws FileParseException если произошла ошибка при валидации или парсинге файла
      */
     public UploadResult processFile(MultipartFile file) {
-        log.info("Начало обработки файла: {}", file.getOriginalFilename());
-        
+        return processFile(file.getOriginalFilename(), file, new UploadProgress());
+    }
+
+    /**
+     * Обрабатывает файл, обновляя переданные счетчики по мере обработки.
+     *
+     * Если файл с тем же содержимым уже загружался и данные с тех пор не менялись,
+     * возвращается прежний результат без разбора файла (см. {@link UploadResultCache}).
+     *
+     * @param fileName исходное имя файла (по расширению выбирается парсер)
+     * @param source источник содержимого файла
+     * @param progress счетчики, доступные для чтения во время обработки
+     * @return результат обработки файла, содержащий статистику по обработанным записям
+     * @throws FileParseException если произошла ошибка при валидации или парсинге файла
+     */
+    public UploadResult processFile(String fileName, InputStreamSource source, UploadProgress progress) {
+        log.info("Начало обработки файла: {}", fileName);
+        uploadMetrics.uploadStarted();
+        boolean succeeded = false;
+
         try {
-            List<AwardFileRecord> records = parseFile(file);
-            return processRecords(records);
+            FileParser<AwardFileRecord> fileParser = uploadMetrics.stageTimer(UploadMetrics.Stage.VALIDATE).record(() -> {
+                fileValidator.validate(fileName);
+                return fileFactory.getParser(fileName);
+            });
+
+            long dataVersion = uploadResultCache.getDataVersion();
+            String fileHash = uploadResultCache.isEnabled() ? hashFile(fileName, source) : null;
+            if (fileHash != null) {
+                Optional<UploadResult> previous = uploadResultCache.find(fileHash);
+                if (previous.isPresent()) {
+                    log.info("Файл {} уже загружался и данные с тех пор не менялись, возвращается прежний результат",
+                            fileName);
+                    uploadMetrics.recordReusedResult();
+                    succeeded = true;
+                    return previous.get();
+                }
+            }
+
+            UploadResult result;
+            try (CountingInputStream inputStream = new CountingInputStream(source.getInputStream())) {
+                try {
+                    result = processRecords(fileParser, inputStream, progress);
+                } finally {
+                    uploadMetrics.recordFileSize(inputStream.getCount());
+                }
+            }
+            if (fileHash != null) {
+                uploadResultCache.put(fileHash, result, dataVersion);
+            }
+            succeeded = true;
+            return result;
         } catch (FileParseException e) {
             log.error("Ошибка парсинга файла: {}", e.getMessage(), e);
             throw e;
         } catch (IOException e) {
             throw new FileParseException("Ошибка при чтении файла: " + e.getMessage(), e);
+        } finally {
+            uploadMetrics.uploadFinished(succeeded);
         }
     }
 
-    private List<AwardFileRecord> parseFile(MultipartFile file) throws IOException {
-        fileValidator.validate(file);
-        FileParser fileParser = fileFactory.getParser(file.getOriginalFilename());
-        List<AwardFileRecord> records = fileParser.parse(file.getInputStream());
-        log.info("Найдено записей для обработки: {}", records.size());
-        return records;
+    /**
+     * Сохраняет записи пачками по мере их разбора парсером, не дожидаясь окончания чтения файла.
+     */
+    private UploadResult processRecords(FileParser<AwardFileRecord> fileParser, InputStream inputStream,
+                                        UploadProgress progress) {
+        if (uploadProperties.getStaging().isEnabled()) {
+            processRecordsStaged(fileParser, inputStream, progress);
+        } else if (uploadProperties.getPipeline().isEnabled()) {
+            processRecordsPipelined(fileParser, inputStream, progress);
+        } else {
+            parseInChunks(fileParser, inputStream, progress, chunk -> persistChunk(chunk, progress));
+        }
+
+        UploadResult result = progress.toResult();
+        log.info("Обработка завершена. Всего записей: {}, обработано: {}, без изменений: {}, пропущено: {}",
+                result.totalRecords(), result.processedRecords(), result.unchangedRecords(), result.skippedRecords());
+        return result;
+    }
+
+    private String hashFile(String fileName, InputStreamSource source) throws IOException {
+        long startNanos = System.nanoTime();
+        try (InputStream inputStream = source.getInputStream()) {
+            return uploadResultCache.hash(fileName, inputStream);
+        } finally {
+            uploadMetrics.stageTimer(UploadMetrics.Stage.HASH).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
     }
 
-    private UploadResult processRecords(List<AwardFileRecord> records) {
-        int processedRecords = 0;
-        int skippedRecords = 0;
-        List<String> errors = new ArrayList<>();
-        
-        for (AwardFileRecord record : records) {
+    /**
+     * Парсит файл в текущем потоке, а пачки сохраняет в потоках записи, чтобы разбор следующих
+     * строк шел одновременно с записью предыдущих. При ошибке парсинга запись оставшихся пачек отменяется.
+     */
+    private void processRecordsPipelined(FileParser<AwardFileRecord> fileParser, InputStream inputStream,
+                                         UploadProgress progress) {
+        UploadProperties.Pipeline settings = uploadProperties.getPipeline();
+        ChunkPipeline pipeline = new ChunkPipeline(
+                settings.getQueueCapacity(), settings.getWriters(), chunk -> persistChunk(chunk, progress));
+        pipeline.start(uploadWriterExecutor);
+
+        try {
+            parseInChunks(fileParser, inputStream, progress, pipeline::submit);
+        } catch (RuntimeException e) {
+            log.warn("Парсинг прерван, запись оставшихся пачек отменена: {}", e.getMessage());
+            pipeline.cancel();
+            throw e;
+        }
+        pipeline.finish();
+    }
+
+    /**
+     * Вставляет разобранные пачки в award_staging, а после разбора всего файла переносит их в awards
+     * одной транзакцией (см. {@link AwardStagingService}).
+     */
+    private void processRecordsStaged(FileParser<AwardFileRecord> fileParser, InputStream inputStream,
+                                      UploadProgress progress) {
+        UUID loadId = awardStagingService.startLoad();
+        try {
+            long[] nextRowNumber = {0};
+            parseInChunks(fileParser, inputStream, progress, chunk -> {
+                awardStagingService.stage(loadId, nextRowNumber[0], chunk);
+                nextRowNumber[0] += chunk.size();
+            });
+            mergeStaged(loadId, progress);
+        } finally {
+            awardStagingService.discard(loadId);
+        }
+    }
+
+    /**
+     * Время разбора учитывается без времени передачи пачек дальше (сохранения или ожидания места в очереди).
+     */
+    private void parseInChunks(FileParser<AwardFileRecord> fileParser, InputStream inputStream, UploadProgress progress,
+                               Consumer<List<AwardFileRecord>> chunkConsumer) {
+        ChunkCollector collector = new ChunkCollector(
+                uploadProperties.getBatchSize(), progress, uploadMetrics, chunkConsumer);
+        long startNanos = System.nanoTime();
+        try {
+            fileParser.parse(inputStream, collector);
+            collector.flush();
+        } finally {
+            uploadMetrics.stageTimer(UploadMetrics.Stage.PARSE).record(
+                    System.nanoTime() - startNanos - collector.getDownstreamNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Сохраняет пачку в одной транзакции. Если транзакция пачки откатилась, записи пачки
+     * сохраняются повторно по одной, чтобы отклонить только ошибочные строки.
+     * Записи, совпадающие с сохраненными наградами, учитываются как неизмененные и не записываются.
+     *
+     * Используется и для файлов, разобранных вне этого сервиса (например, при загрузке из каталога).
+     * Может вызываться из нескольких потоков одновременно.
+     *
+     * @param chunk пачка записей
+     * @param progress счетчики обработки, в которые добавляются сохраненные, неизмененные и пропущенные записи
+     */
+    public void persistChunk(List<AwardFileRecord> chunk, UploadProgress progress) {
+        ChunkWriteResult result;
+        try {
+            result = awardBatchWriter.writeChunk(chunk);
+        } catch (RuntimeException e) {
+            log.warn("Ошибка при сохранении пачки из {} записей, повторная обработка по одной записи: {}",
+                    chunk.size(), e.getMessage());
+            result = processRecordsOneByOne(chunk);
+        }
+        recordResult(result, progress);
+    }
+
+    /**
+     * Переносит записи, вставленные в award_staging, в awards (см. {@link AwardStagingService#merge}).
+     *
+     * Используется и для файлов, разобранных вне этого сервиса (например, при загрузке из каталога).
+     *
+     * @param loadId идентификатор загрузки
+     * @param progress счетчики обработки, в которые добавляются сохраненные, неизмененные и пропущенные записи
+     */
+    public void mergeStaged(UUID loadId, UploadProgress progress) {
+        recordResult(awardStagingService.merge(loadId), progress);
+    }
+
+    private void recordResult(ChunkWriteResult result, UploadProgress progress) {
+        progress.recordProcessed(result.writtenRecords());
+        progress.recordUnchanged(result.unchangedRecords());
+        uploadMetrics.recordProcessed(result.writtenRecords());
+        uploadMetrics.recordUnchanged(result.unchangedRecords());
+        for (RecordFailure failure : result.failures()) {
+            progress.recordSkipped(handleRecordError(failure.record(), failure.error()));
+            uploadMetrics.recordSkipped(failure.error());
+        }
+    }
+
+    private ChunkWriteResult processRecordsOneByOne(List<AwardFileRecord> chunk) {
+        int written = 0;
+        int unchanged = 0;
+        List<RecordFailure> failures = new ArrayList<>();
+        for (AwardFileRecord record : chunk) {
             try {
-                self.processRecord(record);
-                processedRecords++;
+                ChunkWriteResult result = awardBatchWriter.writeChunk(List.of(record));
+                written += result.writtenRecords();
+                unchanged += result.unchangedRecords();
+                failures.addAll(result.failures());
             } catch (RuntimeException e) {
-                handleRecordError(record, e, errors);
-                skippedRecords++;
+                failures.add(new RecordFailure(record, e));
             }
         }
-        
-        log.info("Обработка завершена. Обработано: {}, пропущено: {}",
-                processedRecords, skippedRecords);
-        
-        return new UploadResult(
-                records.size(),
-                processedRecords,
-                skippedRecords,
-                errors
-        );
+        return new ChunkWriteResult(written, unchanged, failures);
     }
 
-    private void handleRecordError(AwardFileRecord record, RuntimeException e, List<String> errors) {
+    private String handleRecordError(AwardFileRecord record, RuntimeException e) {
         String errorMsg = formatError(record, e);
         if (e instanceof IllegalArgumentException) {
             log.error(errorMsg);
         } else {
             log.error(errorMsg, e);
         }
-        errors.add(errorMsg);
+        return errorMsg;
     }
 
     private String formatError(AwardFileRecord record, RuntimeException e) {
@@ -105,28 +288,93 @@ public class FileProcessingService {
                 record.getEmployeeExternalId(), record.getAwardExternalId(), e.getMessage());
     }
 
-    @Transactional
-    protected void processRecord(AwardFileRecord record) {
-        Optional<Employee> employeeOpt = employeeRepository.findByEmployeeExternalId(record.getEmployeeExternalId());
-        
-        if (employeeOpt.isEmpty()) {
-            log.warn("Сотрудник с внешним идентификатором {} не найден", record.getEmployeeExternalId());
-            throw new IllegalArgumentException("Сотрудник не найден: " + record.getEmployeeExternalId());
-        }
-        
-        Employee employee = employeeOpt.get();
-        Optional<Award> awardOpt = awardRepository.findByAwardExternalId(record.getAwardExternalId());
-        
-        Award award = awardOpt.orElse(new Award());
-        
-        mapRecordToAward(award, employee, record);
-        awardRepository.save(award);
-    }
-    
-    private void mapRecordToAward(Award award, Employee employee, AwardFileRecord record) {
-        award.setAwardExternalId(record.getAwardExternalId());
-        award.setAwardName(record.getAwardName());
-        award.setReceivedDate(record.getReceivedDate());
-        award.setEmployee(employee);
+    /**
+     * Собирает разобранные записи в пачки. Каждая пачка передается дальше новым списком,
+     * поэтому может обрабатываться в другом потоке, пока собирается следующая.
+     */
+    private static class ChunkCollector implements Consumer<AwardFileRecord> {
+
+        private final int batchSize;
+        private final UploadProgress progress;
+        private final UploadMetrics uploadMetrics;
+        private final Consumer<List<AwardFileRecord>> chunkConsumer;
+        private List<AwardFileRecord> chunk;
+        private long downstreamNanos;
+
+        ChunkCollector(int batchSize, UploadProgress progress, UploadMetrics uploadMetrics,
+                       Consumer<List<AwardFileRecord>> chunkConsumer) {
+            this.batchSize = batchSize;
+            this.progress = progress;
+            this.uploadMetrics = uploadMetrics;
+            this.chunkConsumer = chunkConsumer;
+            this.chunk = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void accept(AwardFileRecord record) {
+            progress.recordParsed();
+            chunk.add(record);
+            if (chunk.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!chunk.isEmpty()) {
+                uploadMetrics.recordParsed(chunk.size());
+                long startNanos = System.nanoTime();
+                try {
+                    chunkConsumer.accept(chunk);
+                } finally {
+                    downstreamNanos += System.nanoTime() - startNanos;
+                }
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+
+        long getDownstreamNanos() {
+            return downstreamNanos;
+        }
+    }
+
+    /**
+     * Считает байты, прочитанные парсером, для метрики размера файла.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        long getCount() {
+            return count;
+        }
     }
 }
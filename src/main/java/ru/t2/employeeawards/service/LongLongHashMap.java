@@ -0,0 +1,205 @@
+package ru.t2.employeeawards.service;
+
+/**
+ * Хеш-таблица {@code long -> long} с открытой адресацией и линейным пробированием.
+ *
+ * Ключи и значения хранятся в двух массивах примитивов, без объектов на каждую запись:
+ * 200 тыс. записей занимают около 8 МБ против сотен МБ у {@code HashMap<Long, ...>}.
+ * Пустая ячейка обозначается ключом 0, поэтому сам ключ 0 хранится отдельно.
+ * Удаление сдвигает следующие записи цепочки назад, так что надгробий не остается
+ * и поиск не замедляется после удалений. Класс не потокобезопасен.
+ */
+final class LongLongHashMap {
+    private static final long EMPTY_KEY = 0L;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final float LOAD_FACTOR = 0.75f;
+    // Мультипликативное перемешивание (золотое сечение), чтобы последовательные идентификаторы не образовывали кластеры
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int resizeThreshold;
+    private int size;
+    private boolean hasEmptyKey;
+    private long emptyKeyValue;
+
+    /**
+     * @param expectedSize ожидаемое количество записей; таблица заранее выделяется так, чтобы не расширяться до него
+     */
+    LongLongHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param key ключ
+     * @param missingValue значение, возвращаемое при отсутствии ключа
+     * @return значение по ключу или {@code missingValue}
+     */
+    long get(long key, long missingValue) {
+        if (key == EMPTY_KEY) {
+            return hasEmptyKey ? emptyKeyValue : missingValue;
+        }
+        int slot = slot(key);
+        long current;
+        while ((current = keys[slot]) != EMPTY_KEY) {
+            if (current == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    /**
+     * Добавляет запись или заменяет значение существующей.
+     */
+    void put(long key, long value) {
+        if (key == EMPTY_KEY) {
+            if (!hasEmptyKey) {
+                hasEmptyKey = true;
+                size++;
+            }
+            emptyKeyValue = value;
+            return;
+        }
+        int slot = slot(key);
+        long current;
+        while ((current = keys[slot]) != EMPTY_KEY) {
+            if (current == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * @return true, если запись была удалена
+     */
+    boolean remove(long key) {
+        if (key == EMPTY_KEY) {
+            if (!hasEmptyKey) {
+                return false;
+            }
+            hasEmptyKey = false;
+            size--;
+            return true;
+        }
+        int slot = slot(key);
+        long current;
+        while ((current = keys[slot]) != EMPTY_KEY) {
+            if (current == key) {
+                shiftKeys(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Удаляет все записи с указанным значением полным просмотром таблицы.
+     *
+     * @return количество удаленных записей
+     */
+    int removeValue(long value) {
+        int removed = 0;
+        if (hasEmptyKey && emptyKeyValue == value) {
+            hasEmptyKey = false;
+            size--;
+            removed++;
+        }
+        int slot = 0;
+        while (slot < keys.length) {
+            if (keys[slot] != EMPTY_KEY && values[slot] == value) {
+                // На место удаленной записи может сдвинуться следующая, поэтому ячейка проверяется повторно
+                shiftKeys(slot);
+                size--;
+                removed++;
+            } else {
+                slot++;
+            }
+        }
+        return removed;
+    }
+
+    private int slot(long key) {
+        long hash = key * HASH_MULTIPLIER;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Освобождает ячейку, перенося в нее следующие записи цепочки, чья исходная ячейка не лежит между ней и их текущей.
+     */
+    private void shiftKeys(int slot) {
+        while (true) {
+            int last = slot;
+            slot = (slot + 1) & mask;
+            long current;
+            while (true) {
+                current = keys[slot];
+                if (current == EMPTY_KEY) {
+                    keys[last] = EMPTY_KEY;
+                    return;
+                }
+                int home = slot(current);
+                boolean movable = last <= slot
+                        ? last >= home || home > slot
+                        : last >= home && home > slot;
+                if (movable) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[last] = current;
+            values[last] = values[slot];
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY_KEY) {
+                int slot = slot(key);
+                while (keys[slot] != EMPTY_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Превышен максимальный размер таблицы: " + MAX_CAPACITY);
+        }
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long required = (long) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR);
+        if (required > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Слишком много записей для таблицы: " + expectedSize);
+        }
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) required - 1) << 1);
+    }
+}
@@ -0,0 +1,12 @@
+package ru.t2.employeeawards.service;
+
+import ru.t2.employeeawards.dto.AwardFileRecord;
+
+/**
+ * Запись, которую не удалось сохранить, вместе с причиной ошибки.
+ *
+ * @param record запись из файла
+ * @param error причина, по которой запись пропущена
+ */
+public record RecordFailure(AwardFileRecord record, RuntimeException error) {
+}
@@ -0,0 +1,62 @@
+package ru.t2.employeeawards.service;
+
+import lombok.Getter;
+import ru.t2.employeeawards.dto.UploadJobState;
+import ru.t2.employeeawards.dto.UploadResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Асинхронная обработка одного загруженного файла.
+ */
+@Getter
+public class UploadJob {
+
+    private final UUID id;
+    private final String fileName;
+    private final Instant createdAt = Instant.now();
+    private final UploadProgress progress = new UploadProgress();
+
+    private volatile UploadJobState state = UploadJobState.QUEUED;
+    private volatile UploadResult result;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    public UploadJob(UUID id, String fileName) {
+        this.id = id;
+        this.fileName = fileName;
+    }
+
+    void markRunning() {
+        state = UploadJobState.RUNNING;
+    }
+
+    void complete(UploadResult result) {
+        this.result = result;
+        finish(UploadJobState.COMPLETED);
+    }
+
+    void fail(String error) {
+        this.error = error;
+        finish(UploadJobState.FAILED);
+    }
+
+    /**
+     * Проверяет, истек ли срок хранения статуса завершенной загрузки.
+     *
+     * @param now текущий момент времени
+     * @param retention время хранения статуса после завершения
+     * @return true, если загрузка завершена раньше, чем retention назад
+     */
+    boolean isExpired(Instant now, Duration retention) {
+        Instant finished = finishedAt;
+        return finished != null && finished.plus(retention).isBefore(now);
+    }
+
+    private void finish(UploadJobState finalState) {
+        finishedAt = Instant.now();
+        state = finalState;
+    }
+}
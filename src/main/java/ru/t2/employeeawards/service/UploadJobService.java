@@ -0,0 +1,192 @@
+package ru.t2.employeeawards.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import ru.t2.employeeawards.config.UploadProperties;
+import ru.t2.employeeawards.dto.UploadJobStatus;
+import ru.t2.employeeawards.dto.UploadResult;
+import ru.t2.employeeawards.exception.FileParseException;
+import ru.t2.employeeawards.exception.ResourceNotFoundException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Запускает обработку загруженных файлов и файлов из каталога загрузки в фоне и хранит статусы загрузок.
+ */
+@Slf4j
+@Service
+public class UploadJobService {
+
+    private static final String TEMP_FILE_PREFIX = "award-upload-";
+
+    private final FileProcessingService fileProcessingService;
+    private final DropDirectoryIngestionService dropDirectoryIngestionService;
+    private final TaskExecutor uploadJobExecutor;
+    private final UploadProperties uploadProperties;
+    private final Map<UUID, UploadJob> jobs = new ConcurrentHashMap<>();
+
+    public UploadJobService(FileProcessingService fileProcessingService,
+                            DropDirectoryIngestionService dropDirectoryIngestionService,
+                            @Qualifier("uploadJobExecutor") TaskExecutor uploadJobExecutor,
+                            UploadProperties uploadProperties) {
+        this.fileProcessingService = fileProcessingService;
+        this.dropDirectoryIngestionService = dropDirectoryIngestionService;
+        this.uploadJobExecutor = uploadJobExecutor;
+        this.uploadProperties = uploadProperties;
+    }
+
+    /**
+     * Ставит файл в очередь на асинхронную обработку.
+     *
+     * Содержимое multipart файла копируется во временный файл, так как после завершения
+     * HTTP запроса загруженный файл удаляется.
+     *
+     * @param file загруженный файл
+     * @return статус созданной загрузки
+     * @throws TaskRejectedException если очередь загрузок переполнена
+     */
+    public UploadJobStatus submit(MultipartFile file) {
+        removeExpiredJobs();
+
+        Path tempFile = copyToTempFile(file);
+        UploadJob job = new UploadJob(UUID.randomUUID(), file.getOriginalFilename());
+        return enqueue(
+                job,
+                () -> fileProcessingService.processFile(
+                        job.getFileName(), new FileSystemResource(tempFile), job.getProgress()),
+                () -> deleteTempFile(tempFile)
+        );
+    }
+
+    /**
+     * Ставит в очередь на асинхронную обработку CSV файл из каталога загрузки.
+     *
+     * Имя файла проверяется сразу, поэтому ошибки в нем возвращаются в ответе на запрос, а не в статусе загрузки.
+     *
+     * @param fileName имя файла внутри каталога загрузки
+     * @return статус созданной загрузки
+     * @throws IllegalArgumentException если каталог не настроен или имя файла указывает за пределы каталога
+     * @throws ResourceNotFoundException если файл не найден
+     * @throws FileParseException если файл не CSV
+     * @throws TaskRejectedException если очередь загрузок переполнена
+     */
+    public UploadJobStatus submitImport(String fileName) {
+        removeExpiredJobs();
+
+        dropDirectoryIngestionService.checkFile(fileName);
+        UploadJob job = new UploadJob(UUID.randomUUID(), fileName);
+        return enqueue(job, () -> dropDirectoryIngestionService.ingest(fileName, job.getProgress()), () -> { });
+    }
+
+    /**
+     * Возвращает текущее состояние загрузки.
+     *
+     * @param jobId идентификатор загрузки
+     * @return статус загрузки
+     * @throws ResourceNotFoundException если загрузка не найдена
+     */
+    public UploadJobStatus getStatus(UUID jobId) {
+        UploadJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Загрузка не найдена: " + jobId);
+        }
+        return toStatus(job);
+    }
+
+    /**
+     * @param processing обработка файла, выполняемая в фоне
+     * @param cleanup освобождение ресурсов загрузки после обработки или при отказе в постановке в очередь
+     */
+    private UploadJobStatus enqueue(UploadJob job, Supplier<UploadResult> processing, Runnable cleanup) {
+        jobs.put(job.getId(), job);
+
+        try {
+            uploadJobExecutor.execute(() -> run(job, processing, cleanup));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            cleanup.run();
+            throw e;
+        }
+
+        log.info("Загрузка {} файла {} поставлена в очередь", job.getId(), job.getFileName());
+        return toStatus(job);
+    }
+
+    private void run(UploadJob job, Supplier<UploadResult> processing, Runnable cleanup) {
+        job.markRunning();
+        try {
+            job.complete(processing.get());
+            log.info("Загрузка {} завершена", job.getId());
+        } catch (RuntimeException e) {
+            log.error("Загрузка {} завершилась с ошибкой: {}", job.getId(), e.getMessage(), e);
+            job.fail(e.getMessage());
+        } finally {
+            cleanup.run();
+        }
+    }
+
+    private Path copyToTempFile(MultipartFile file) {
+        try {
+            Path tempFile = Files.createTempFile(TEMP_FILE_PREFIX, null);
+            file.transferTo(tempFile);
+            return tempFile;
+        } catch (IOException e) {
+            throw new FileParseException("Ошибка при сохранении файла для обработки: " + e.getMessage(), e);
+        }
+    }
+
+    private void deleteTempFile(Path tempFile) {
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            log.warn("Не удалось удалить временный файл {}: {}", tempFile, e.getMessage());
+        }
+    }
+
+    private void removeExpiredJobs() {
+        Instant now = Instant.now();
+        jobs.values().removeIf(job -> job.isExpired(now, uploadProperties.getAsync().getJobRetention()));
+    }
+
+    private UploadJobStatus toStatus(UploadJob job) {
+        UploadResult result = job.getResult();
+        if (result != null) {
+            // Результат повторной загрузки может быть взят из UploadResultCache без обновления счетчиков
+            return new UploadJobStatus(
+                    job.getId(),
+                    job.getFileName(),
+                    job.getState(),
+                    result.totalRecords(),
+                    result.processedRecords(),
+                    result.skippedRecords(),
+                    result.unchangedRecords(),
+                    result.errors(),
+                    job.getError()
+            );
+        }
+        UploadProgress progress = job.getProgress();
+        return new UploadJobStatus(
+                job.getId(),
+                job.getFileName(),
+                job.getState(),
+                progress.getParsedRecords(),
+                progress.getProcessedRecords(),
+                progress.getSkippedRecords(),
+                progress.getUnchangedRecords(),
+                progress.getErrors(),
+                job.getError()
+        );
+    }
+}
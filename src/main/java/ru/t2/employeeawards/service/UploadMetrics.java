@@ -0,0 +1,164 @@
+package ru.t2.employeeawards.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Метрики загрузки файлов с наградами.
+ *
+ * Время этапов обработки ({@code awards.upload.stage} с тегом {@code stage}), количество записей
+ * ({@code awards.upload.records.*}, скорость - через rate() в Prometheus), размер файлов и количество
+ * загрузок, обрабатываемых в данный момент. Этапы lookup, persist и commit измеряются для каждой пачки,
+ * validate, hash и parse - для каждого файла; время parse не включает сохранение пачек.
+ */
+@Component
+public class UploadMetrics {
+    private static final String STAGE_TIMER = "awards.upload.stage";
+    private static final String SKIPPED_RECORDS = "awards.upload.records.skipped";
+    private static final String UPLOADS = "awards.upload.files";
+    private static final double MIN_EXPECTED_FILE_SIZE = 1024;
+    private static final double MAX_EXPECTED_FILE_SIZE = 16L * 1024 * 1024 * 1024;
+
+    /**
+     * Этап обработки файла.
+     */
+    public enum Stage {
+        VALIDATE, HASH, PARSE, LOOKUP, PERSIST, COMMIT;
+
+        String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Counter parsedRecords;
+    private final Counter processedRecords;
+    private final Counter unchangedRecords;
+    private final Counter reusedResults;
+    private final Counter succeededUploads;
+    private final Counter failedUploads;
+    private final DistributionSummary fileSize;
+    private final AtomicInteger activeUploads = new AtomicInteger();
+
+    public UploadMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder(STAGE_TIMER)
+                    .description("Время этапа обработки загружаемого файла")
+                    .tag("stage", stage.tagValue())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        parsedRecords = Counter.builder("awards.upload.records.parsed")
+                .description("Записи, разобранные из загруженных файлов")
+                .register(meterRegistry);
+        processedRecords = Counter.builder("awards.upload.records.processed")
+                .description("Записи, сохраненные в БД")
+                .register(meterRegistry);
+        unchangedRecords = Counter.builder("awards.upload.records.unchanged")
+                .description("Записи, совпавшие с сохраненными наградами")
+                .register(meterRegistry);
+        reusedResults = Counter.builder("awards.upload.files.reused")
+                .description("Повторные загрузки файлов, на которые возвращен прежний результат")
+                .register(meterRegistry);
+        succeededUploads = Counter.builder(UPLOADS).tag("outcome", "success").register(meterRegistry);
+        failedUploads = Counter.builder(UPLOADS).tag("outcome", "failure").register(meterRegistry);
+        fileSize = DistributionSummary.builder("awards.upload.file.size")
+                .description("Размер загруженных файлов")
+                .baseUnit(BaseUnits.BYTES)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED_FILE_SIZE)
+                .maximumExpectedValue(MAX_EXPECTED_FILE_SIZE)
+                .register(meterRegistry);
+        meterRegistry.gauge("awards.upload.active", activeUploads);
+    }
+
+    /**
+     * @param stage этап обработки
+     * @return таймер этапа
+     */
+    public Timer stageTimer(Stage stage) {
+        return stageTimers.get(stage);
+    }
+
+    /**
+     * Измеряет фиксацию текущей транзакции: от начала фиксации (включая flush) до ее завершения.
+     * Без активной транзакции ничего не делает.
+     */
+    public void timeCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commitStartNanos;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStartNanos = System.nanoTime();
+            }
+
+            @Override
+            public void afterCommit() {
+                stageTimer(Stage.COMMIT).record(System.nanoTime() - commitStartNanos, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    public void uploadStarted() {
+        activeUploads.incrementAndGet();
+    }
+
+    /**
+     * @param succeeded файл обработан без ошибки разбора
+     */
+    public void uploadFinished(boolean succeeded) {
+        activeUploads.decrementAndGet();
+        (succeeded ? succeededUploads : failedUploads).increment();
+    }
+
+    public void recordFileSize(long bytes) {
+        fileSize.record(bytes);
+    }
+
+    public void recordParsed(int count) {
+        parsedRecords.increment(count);
+    }
+
+    public void recordProcessed(int count) {
+        processedRecords.increment(count);
+    }
+
+    public void recordUnchanged(int count) {
+        unchangedRecords.increment(count);
+    }
+
+    public void recordReusedResult() {
+        reusedResults.increment();
+    }
+
+    /**
+     * Учитывает пропущенную запись с тегом {@code reason} по типу ошибки.
+     *
+     * @param error причина пропуска записи
+     */
+    public void recordSkipped(RuntimeException error) {
+        Counter.builder(SKIPPED_RECORDS)
+                .description("Записи, пропущенные из-за ошибок")
+                .tag("reason", error.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+}
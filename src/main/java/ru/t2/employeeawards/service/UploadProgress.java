@@ -0,0 +1,82 @@
+package ru.t2.employeeawards.service;
+
+import ru.t2.employeeawards.dto.UploadResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Потокобезопасные счетчики обработки одного файла.
+ *
+ * Обновляются по ходу обработки и могут читаться из других потоков (например, при опросе статуса
+ * асинхронной загрузки), поэтому отражают промежуточное состояние до завершения обработки.
+ */
+public class UploadProgress {
+
+    private final AtomicInteger parsedRecords = new AtomicInteger();
+    private final AtomicInteger processedRecords = new AtomicInteger();
+    private final AtomicInteger skippedRecords = new AtomicInteger();
+    private final AtomicInteger unchangedRecords = new AtomicInteger();
+    private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+    public void recordParsed() {
+        parsedRecords.incrementAndGet();
+    }
+
+    public void recordProcessed(int count) {
+        processedRecords.addAndGet(count);
+    }
+
+    public void recordUnchanged(int count) {
+        unchangedRecords.addAndGet(count);
+    }
+
+    public void recordSkipped(String error) {
+        skippedRecords.incrementAndGet();
+        errors.add(error);
+    }
+
+    public int getParsedRecords() {
+        return parsedRecords.get();
+    }
+
+    public int getProcessedRecords() {
+        return processedRecords.get();
+    }
+
+    public int getSkippedRecords() {
+        return skippedRecords.get();
+    }
+
+    public int getUnchangedRecords() {
+        return unchangedRecords.get();
+    }
+
+    /**
+     * Возвращает снимок накопленных на текущий момент ошибок.
+     *
+     * @return копия списка ошибок
+     */
+    public List<String> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+
+    /**
+     * Формирует итоговый результат обработки по текущим значениям счетчиков.
+     *
+     * @return результат обработки файла
+     */
+    public UploadResult toResult() {
+        return new UploadResult(
+                getParsedRecords(),
+                getProcessedRecords(),
+                getSkippedRecords(),
+                getUnchangedRecords(),
+                new ArrayList<>(getErrors())
+        );
+    }
+}
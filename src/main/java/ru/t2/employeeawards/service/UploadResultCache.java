@@ -0,0 +1,155 @@
+package ru.t2.employeeawards.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.t2.employeeawards.config.UploadProperties;
+import ru.t2.employeeawards.dto.UploadResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Результаты обработки файлов по хешу их содержимого, чтобы повторная загрузка того же файла
+ * возвращала прежний результат без разбора и записи.
+ *
+ * Результат действителен, только пока данные не менялись: каждая зафиксированная запись наград
+ * и каждое изменение сотрудников увеличивают версию данных, и результат, сохраненный при другой версии,
+ * не возвращается. Сохраняются только результаты без пропущенных записей, так как ошибки
+ * (например, еще не созданный сотрудник) при повторной загрузке могут не повториться.
+ * Версия хранится в памяти приложения и не учитывает изменения, сделанные другими экземплярами.
+ */
+@Slf4j
+@Component
+public class UploadResultCache {
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final boolean enabled;
+    private final Cache<String, CachedResult> results;
+    private final AtomicLong dataVersion = new AtomicLong();
+
+    public UploadResultCache(UploadProperties uploadProperties) {
+        UploadProperties.Deduplication settings = uploadProperties.getDeduplication();
+        this.enabled = settings.isEnabled();
+        this.results = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumFiles())
+                .expireAfterWrite(settings.getTtl())
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Вычисляет SHA-256 содержимого файла. Расширение имени файла входит в хеш, так как от него
+     * зависит выбор парсера.
+     *
+     * @param fileName имя файла
+     * @param inputStream содержимое файла (читается до конца, но не закрывается)
+     * @return хеш в шестнадцатеричном виде
+     * @throws IOException если не удалось прочитать файл
+     */
+    public String hash(String fileName, InputStream inputStream) throws IOException {
+        MessageDigest digest = newDigest();
+        int dot = fileName.lastIndexOf('.');
+        String extension = dot >= 0 ? fileName.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+        digest.update(extension.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * @return текущая версия данных; передается в {@link #put} после обработки файла
+     */
+    public long getDataVersion() {
+        return dataVersion.get();
+    }
+
+    /**
+     * Возвращает результат прежней обработки файла, если с тех пор данные не менялись.
+     *
+     * @param fileHash хеш файла
+     * @return прежний результат или пустой Optional
+     */
+    public Optional<UploadResult> find(String fileHash) {
+        CachedResult cached = results.getIfPresent(fileHash);
+        if (cached == null) {
+            return Optional.empty();
+        }
+        if (cached.dataVersion() != dataVersion.get()) {
+            results.invalidate(fileHash);
+            return Optional.empty();
+        }
+        return Optional.of(cached.result());
+    }
+
+    /**
+     * Сохраняет результат обработки файла. Результат не сохраняется, если в нем есть пропущенные записи
+     * или если во время обработки данные менялись не только этим файлом.
+     *
+     * @param fileHash хеш файла
+     * @param result результат обработки
+     * @param versionBefore версия данных до начала обработки
+     */
+    public void put(String fileHash, UploadResult result, long versionBefore) {
+        if (result.skippedRecords() > 0) {
+            return;
+        }
+        long versionAfter = dataVersion.get();
+        if (versionAfter - versionBefore != result.processedRecords()) {
+            log.debug("Результат файла {} не сохранен: данные изменялись параллельно", fileHash);
+            return;
+        }
+        results.put(fileHash, new CachedResult(result, versionAfter));
+    }
+
+    /**
+     * Учитывает изменение данных после фиксации текущей транзакции (или сразу, если транзакции нет).
+     *
+     * @param changes количество измененных записей
+     */
+    public void recordDataChange(int changes) {
+        if (changes == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dataVersion.addAndGet(changes);
+                }
+            });
+        } else {
+            dataVersion.addAndGet(changes);
+        }
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Алгоритм " + HASH_ALGORITHM + " недоступен", e);
+        }
+    }
+
+    private record CachedResult(UploadResult result, long dataVersion) {
+    }
+}
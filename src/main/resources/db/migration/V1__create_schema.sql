@@ -0,0 +1,45 @@
+-- Схема совпадает с генерируемой Hibernate по сущностям Employee и Award.
+-- Шаг последовательностей равен allocationSize сущностей: Hibernate выделяет идентификаторы пулами по 50.
+-- NOT NULL соответствует ограничениям @NotBlank и @NotNull, которые Hibernate переносит в генерируемую схему.
+CREATE SEQUENCE employees_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE awards_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE employees (
+    employee_id BIGINT NOT NULL,
+    employee_external_id BIGINT,
+    full_name VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_employees PRIMARY KEY (employee_id),
+    CONSTRAINT uk_employees_employee_external_id UNIQUE (employee_external_id)
+);
+
+CREATE TABLE awards (
+    award_id BIGINT NOT NULL,
+    award_external_id BIGINT,
+    award_name VARCHAR(255) NOT NULL,
+    received_date DATE NOT NULL,
+    employee_id BIGINT,
+    CONSTRAINT pk_awards PRIMARY KEY (award_id),
+    CONSTRAINT uk_awards_award_external_id UNIQUE (award_external_id),
+    CONSTRAINT fk_awards_employee FOREIGN KEY (employee_id) REFERENCES employees (employee_id)
+);
+
+-- Порядок (received_date, award_id) постраничного чтения с фильтрами и без; остальные колонки
+-- делают индексы покрывающими для этого чтения. Индекс по employee_id также обслуживает внешний ключ
+CREATE INDEX idx_awards_received_date_award_id
+    ON awards (received_date, award_id, employee_id, award_external_id, award_name);
+CREATE INDEX idx_awards_employee_received_date
+    ON awards (employee_id, received_date, award_id, award_external_id, award_name);
+CREATE INDEX idx_awards_name_received_date
+    ON awards (award_name, received_date, award_id, employee_id, award_external_id);
+
+-- Промежуточная таблица загрузки через award_staging (awards.upload.staging.enabled)
+CREATE TABLE award_staging (
+    load_id UUID NOT NULL,
+    row_num BIGINT NOT NULL,
+    employee_external_id BIGINT NOT NULL,
+    employee_full_name VARCHAR(255),
+    award_external_id BIGINT NOT NULL,
+    award_name VARCHAR(255),
+    received_date DATE,
+    PRIMARY KEY (load_id, row_num)
+);
@@ -0,0 +1,69 @@
+package ru.t2.employeeawards.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitingDataSourceTest {
+    private static final int PERMITS = 1;
+    private static final Duration ACQUIRE_TIMEOUT = Duration.ofMillis(50);
+
+    @Mock
+    private DataSource targetDataSource;
+    @Mock
+    private Connection targetConnection;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConnectionLimitingDataSource(targetDataSource, PERMITS, ACQUIRE_TIMEOUT);
+    }
+
+    @Test
+    void getConnection_WhenAllPermitsTaken_ShouldFailAfterTimeout() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        Connection connection = dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("все соединения заняты");
+
+        connection.close();
+        verify(targetConnection).close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(PERMITS);
+    }
+
+    @Test
+    void close_CalledTwice_ShouldReleasePermitOnce() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        Connection connection = dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(PERMITS);
+    }
+
+    @Test
+    void getConnection_WhenTargetFails_ShouldReleasePermit() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("БД недоступна"));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("БД недоступна");
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(PERMITS);
+    }
+}
@@ -0,0 +1,43 @@
+package ru.t2.employeeawards.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadsConfigTest {
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(UploadExecutorConfig.class, VirtualThreadsConfig.class)
+            .withBean(UploadProperties.class)
+            .withBean(DropDirectoryProperties.class)
+            .withBean(ConnectionLimitProperties.class);
+
+    @Test
+    void uploadExecutors_ByDefault_ShouldUsePlatformThreadPools() {
+        contextRunner.run(context -> {
+            assertThat(context.getBean("uploadJobExecutor")).isInstanceOf(ThreadPoolTaskExecutor.class);
+            assertThat(context.getBean("uploadWriterExecutor")).isInstanceOf(ThreadPoolTaskExecutor.class);
+        });
+    }
+
+    @Test
+    void uploadExecutors_WithVirtualThreadsEnabled_ShouldRunTasksOnVirtualThreads() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            assertThat(context.getBean("uploadJobExecutor")).isInstanceOf(SimpleAsyncTaskExecutor.class);
+            assertThat(context.getBean("uploadWriterExecutor")).isInstanceOf(SimpleAsyncTaskExecutor.class);
+
+            TaskExecutor executor = context.getBean("uploadJobExecutor", TaskExecutor.class);
+            CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+            executor.execute(() -> virtual.complete(Thread.currentThread().isVirtual()));
+            assertThat(virtual.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        });
+    }
+}
@@ -0,0 +1,145 @@
+package ru.t2.employeeawards.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.t2.employeeawards.dto.AwardCursor;
+import ru.t2.employeeawards.dto.AwardExportFormat;
+import ru.t2.employeeawards.dto.AwardFilter;
+import ru.t2.employeeawards.exception.ResourceNotFoundException;
+import ru.t2.employeeawards.service.AwardExportService;
+import ru.t2.employeeawards.service.AwardQueryService;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AwardQueryController.class)
+class AwardQueryControllerTest {
+
+    private static final String AWARDS_ENDPOINT = "/api/awards";
+    private static final String EMPLOYEE_AWARDS_ENDPOINT = "/api/employees/1247/awards";
+    private static final String EXPORT_ENDPOINT = "/api/awards/export";
+    private static final long EMPLOYEE_ID = 7L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AwardQueryService awardQueryService;
+
+    @MockitoBean
+    private AwardExportService awardExportService;
+
+    @Test
+    void getAwards_ShouldStreamAwardsWithFilters() throws Exception {
+        AwardFilter filter = new AwardFilter(null, "Новатор года", LocalDate.of(2025, 1, 1), null);
+        AwardCursor after = new AwardCursor(LocalDate.of(2025, 3, 22), 15L);
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(3);
+            outputStream.write("{\"items\":[],\"nextCursor\":null}".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(awardQueryService).writeAwards(eq(filter), eq(after), eq(100), any());
+
+        MvcResult result = mockMvc.perform(get(AWARDS_ENDPOINT)
+                        .param("awardName", "Новатор года")
+                        .param("receivedFrom", "2025-01-01")
+                        .param("cursor", "2025-03-22_15")
+                        .param("limit", "100"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty());
+    }
+
+    @Test
+    void getAwards_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get(AWARDS_ENDPOINT).param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Некорректный курсор: not-a-cursor"));
+
+        verifyNoInteractions(awardQueryService);
+    }
+
+    @Test
+    void getAwards_WithNonPositiveLimit_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get(AWARDS_ENDPOINT).param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getEmployeeAwards_ShouldFilterByEmployee() throws Exception {
+        when(awardQueryService.getEmployeeId(1247L)).thenReturn(EMPLOYEE_ID);
+
+        MvcResult result = mockMvc.perform(get(EMPLOYEE_AWARDS_ENDPOINT))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        verify(awardQueryService)
+                .writeAwards(eq(new AwardFilter(EMPLOYEE_ID, null, null, null)), isNull(), isNull(), any());
+    }
+
+    @Test
+    void getEmployeeAwards_WhenEmployeeMissing_ShouldReturnNotFound() throws Exception {
+        when(awardQueryService.getEmployeeId(1247L))
+                .thenThrow(new ResourceNotFoundException("Сотрудник не найден: 1247"));
+
+        mockMvc.perform(get(EMPLOYEE_AWARDS_ENDPOINT))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Сотрудник не найден: 1247"));
+    }
+
+    @Test
+    void exportAwards_ToXlsx_ShouldStreamAttachment() throws Exception {
+        MvcResult result = mockMvc.perform(get(EXPORT_ENDPOINT).param("format", "xlsx"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"awards.xlsx\""))
+                .andExpect(content().contentType(AwardExportFormat.XLSX.getMediaType()));
+        verify(awardExportService).export(eq(AwardExportFormat.XLSX), any());
+    }
+
+    @Test
+    void exportAwards_WhenAwardsExceedXlsxSheet_ShouldReturnBadRequest() throws Exception {
+        doThrow(new IllegalArgumentException("Награды не помещаются на лист XLSX"))
+                .when(awardExportService).checkExportable(AwardExportFormat.XLSX);
+
+        mockMvc.perform(get(EXPORT_ENDPOINT).param("format", "xlsx"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Награды не помещаются на лист XLSX"));
+
+        verify(awardExportService, never()).export(any(), any());
+    }
+
+    @Test
+    void exportAwards_WithUnsupportedFormat_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get(EXPORT_ENDPOINT).param("format", "pdf"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Неподдерживаемый формат выгрузки: pdf"));
+
+        verifyNoInteractions(awardExportService);
+    }
+}
@@ -0,0 +1,72 @@
+package ru.t2.employeeawards.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.t2.employeeawards.dto.EmployeeCacheStats;
+import ru.t2.employeeawards.dto.UploadResult;
+import ru.t2.employeeawards.service.EmployeeIdCache;
+import ru.t2.employeeawards.service.EmployeeImportService;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EmployeeController.class)
+class EmployeeControllerTest {
+
+    private static final String CACHE_STATS_ENDPOINT = "/api/employees/cache/stats";
+    private static final String UPLOAD_ENDPOINT = "/api/employees/upload";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EmployeeIdCache employeeIdCache;
+
+    @MockitoBean
+    private EmployeeImportService employeeImportService;
+
+    @Test
+    void getCacheStats_ShouldReturnCacheCounters() throws Exception {
+        when(employeeIdCache.getStats()).thenReturn(new EmployeeCacheStats(10, 90, 10, 3, 0.9));
+
+        mockMvc.perform(get(CACHE_STATS_ENDPOINT))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(10))
+                .andExpect(jsonPath("$.hitCount").value(90))
+                .andExpect(jsonPath("$.missCount").value(10))
+                .andExpect(jsonPath("$.evictionCount").value(3));
+    }
+
+    @Test
+    void uploadFile_ShouldReturnImportResult() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "employees.csv", "text/csv",
+                "ID сотрудника,ФИО сотрудника\n1247,Мария Козлова\n".getBytes());
+        when(employeeImportService.importFile(any())).thenReturn(new UploadResult(1, 1, 0, List.of()));
+
+        mockMvc.perform(multipart(UPLOAD_ENDPOINT).file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRecords").value(1))
+                .andExpect(jsonPath("$.processedRecords").value(1));
+    }
+
+    @Test
+    void uploadFile_WithEmptyFile_ShouldReturnBadRequest() throws Exception {
+        MockMultipartFile emptyFile = new MockMultipartFile("file", "employees.csv", "text/csv", new byte[0]);
+
+        mockMvc.perform(multipart(UPLOAD_ENDPOINT).file(emptyFile))
+                .andExpect(status().isBadRequest());
+        verify(employeeImportService, never()).importFile(any());
+    }
+}
@@ -8,22 +8,35 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.core.task.TaskRejectedException;
+import ru.t2.employeeawards.dto.UploadJobState;
+import ru.t2.employeeawards.dto.UploadJobStatus;
 import ru.t2.employeeawards.dto.UploadResult;
 import ru.t2.employeeawards.exception.FileParseException;
+import ru.t2.employeeawards.exception.ResourceNotFoundException;
 import ru.t2.employeeawards.service.FileProcessingService;
+import ru.t2.employeeawards.service.UploadJobService;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(FileUploadController.class)
 class FileUploadControllerTest {
 
     private static final String UPLOAD_ENDPOINT = "/api/awards/upload";
+    private static final String JOBS_ENDPOINT = "/api/awards/jobs/";
+    private static final String IMPORT_ENDPOINT = "/api/awards/import";
+    private static final UUID JOB_ID = UUID.fromString("3f1c2a9e-5b7d-4c8e-9a01-2b3c4d5e6f70");
     private static final String CSV_CONTENT = "ID сотрудника,ФИО сотрудника,ID награды,Название награды,Дата получения\n" +
             "1247,Мария Козлова,891,Награда,2025-03-22\n";
     
@@ -38,6 +51,9 @@ class FileUploadControllerTest {
     @MockitoBean
     private FileProcessingService fileProcessingService;
 
+    @MockitoBean
+    private UploadJobService uploadJobService;
+
     private MockMultipartFile validFile;
 
     @BeforeEach
@@ -86,4 +102,70 @@ class FileUploadControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value(errorMessage));
     }
+
+    @Test
+    void uploadFileAsync_WithValidFile_ShouldReturnAcceptedWithJobId() throws Exception {
+        when(uploadJobService.submit(any())).thenReturn(new UploadJobStatus(
+                JOB_ID, "test.csv", UploadJobState.QUEUED, NO_RECORDS, NO_RECORDS, NO_RECORDS, NO_RECORDS, List.of(), null));
+
+        mockMvc.perform(multipart(UPLOAD_ENDPOINT).file(validFile).param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost" + JOBS_ENDPOINT + JOB_ID))
+                .andExpect(jsonPath("$.jobId").value(JOB_ID.toString()))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+        verify(fileProcessingService, never()).processFile(any());
+    }
+
+    @Test
+    void uploadFileAsync_WhenQueueIsFull_ShouldReturnServiceUnavailable() throws Exception {
+        when(uploadJobService.submit(any())).thenThrow(new TaskRejectedException("Очередь заполнена"));
+
+        mockMvc.perform(multipart(UPLOAD_ENDPOINT).file(validFile).param("async", "true"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("Очередь загрузок переполнена, повторите попытку позже"));
+    }
+
+    @Test
+    void getUploadJob_WithRunningJob_ShouldReturnProgress() throws Exception {
+        when(uploadJobService.getStatus(JOB_ID)).thenReturn(new UploadJobStatus(
+                JOB_ID, "test.csv", UploadJobState.RUNNING, TWO_RECORDS, ONE_RECORD, NO_RECORDS, NO_RECORDS, List.of(), null));
+
+        mockMvc.perform(get(JOBS_ENDPOINT + JOB_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.parsedRecords").value(TWO_RECORDS))
+                .andExpect(jsonPath("$.processedRecords").value(ONE_RECORD));
+    }
+
+    @Test
+    void getUploadJob_WithUnknownJob_ShouldReturnNotFound() throws Exception {
+        String errorMessage = "Загрузка не найдена: " + JOB_ID;
+        when(uploadJobService.getStatus(JOB_ID)).thenThrow(new ResourceNotFoundException(errorMessage));
+
+        mockMvc.perform(get(JOBS_ENDPOINT + JOB_ID))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value(errorMessage));
+    }
+
+    @Test
+    void importFromDropDirectory_WithValidFile_ShouldReturnAcceptedWithJobId() throws Exception {
+        when(uploadJobService.submitImport("awards.csv")).thenReturn(new UploadJobStatus(
+                JOB_ID, "awards.csv", UploadJobState.QUEUED, NO_RECORDS, NO_RECORDS, NO_RECORDS, NO_RECORDS, List.of(), null));
+
+        mockMvc.perform(post(IMPORT_ENDPOINT).param("fileName", "awards.csv"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost" + JOBS_ENDPOINT + JOB_ID))
+                .andExpect(jsonPath("$.jobId").value(JOB_ID.toString()))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void importFromDropDirectory_WithPathOutsideDirectory_ShouldReturnBadRequest() throws Exception {
+        String errorMessage = "Недопустимое имя файла: ../secret.csv";
+        when(uploadJobService.submitImport("../secret.csv")).thenThrow(new IllegalArgumentException(errorMessage));
+
+        mockMvc.perform(post(IMPORT_ENDPOINT).param("fileName", "../secret.csv"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(errorMessage));
+    }
 }
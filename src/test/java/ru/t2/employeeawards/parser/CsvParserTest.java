@@ -70,6 +70,52 @@ class CsvParserTest {
         assertParseThrowsException(csvContent, "Ошибка при парсинге данных");
     }
 
+    @Test
+    void parse_WithQuotedFields_ShouldUnescapeValues() {
+        String csvContent = CSV_HEADER + "\r\n" +
+                "1247,\"Козлова, Мария\",891,\"Награда \"\"Лучший\"\"\nсотрудник\",\"2024-03-22\"\r\n" +
+                "2859,Александр Семенов,1523,Благодарность за инициативу и профессионализм,2024-08-07";
+
+        List<AwardFileRecord> records = csvParser.parse(createInputStream(csvContent));
+
+        assertThat(records).hasSize(EXPECTED_RECORDS_COUNT);
+        assertThat(records.get(FIRST_RECORD_INDEX).getEmployeeFullName()).isEqualTo("Козлова, Мария");
+        assertThat(records.get(FIRST_RECORD_INDEX).getAwardName()).isEqualTo("Награда \"Лучший\"\nсотрудник");
+        assertThat(records.get(FIRST_RECORD_INDEX).getReceivedDate()).isEqualTo(FIRST_RECORD.getReceivedDate());
+        assertRecord(records.get(SECOND_RECORD_INDEX), SECOND_RECORD);
+    }
+
+    @Test
+    void parse_WithSignedId_ShouldParseLikeLongParseLong() {
+        String csvContent = CSV_HEADER + "\n" +
+                "+1247,Мария Козлова,891,За выдающиеся результаты в проекте Q4,2024-03-22\n";
+
+        List<AwardFileRecord> records = csvParser.parse(createInputStream(csvContent));
+
+        assertRecord(records.get(FIRST_RECORD_INDEX), FIRST_RECORD);
+    }
+
+    @Test
+    void parse_WithInvalidDate_ShouldIncludeLineInErrorMessage() {
+        String csvContent = CSV_HEADER + "\n" +
+                "1247,Мария Козлова,891,Награда,2024-02-30\n";
+
+        assertParseThrowsException(csvContent, "в строке: [1247, Мария Козлова, 891, Награда, 2024-02-30]");
+    }
+
+    @Test
+    void parse_WithUnterminatedQuote_ShouldThrowException() {
+        String csvContent = CSV_HEADER + "\n" +
+                "1247,\"Мария Козлова,891,Награда,2024-03-22\n";
+
+        assertParseThrowsException(csvContent, "незакрытые кавычки в строке 2");
+    }
+
+    @Test
+    void parse_WithoutHeader_ShouldThrowException() {
+        assertParseThrowsException("", "CSV файл не содержит данных");
+    }
+
     private InputStream createInputStream(String content) {
         return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
     }
@@ -0,0 +1,99 @@
+package ru.t2.employeeawards.parser;
+
+import org.junit.jupiter.api.Test;
+import ru.t2.employeeawards.dto.EmployeeFileRecord;
+import ru.t2.employeeawards.exception.FileParseException;
+import ru.t2.employeeawards.parser.impl.CsvRecordParser;
+import ru.t2.employeeawards.parser.impl.EmployeeRecordMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static ru.t2.employeeawards.utils.ParserTestData.CSV_HEADER;
+
+class CsvRecordParserTest {
+
+    private final CsvRecordParser<EmployeeFileRecord> parser = new CsvRecordParser<>(EmployeeRecordMapper.INSTANCE);
+
+    @Test
+    void parse_WithEmployeeFile_ShouldReturnEmployees() {
+        String csvContent = "ID сотрудника,ФИО сотрудника\n" +
+                "1247,Мария Козлова\n" +
+                "2859,\"Семенов, Александр\"\n";
+
+        List<EmployeeFileRecord> records = parser.parse(createInputStream(csvContent));
+
+        assertThat(records)
+                .extracting(EmployeeFileRecord::getEmployeeExternalId, EmployeeFileRecord::getFullName)
+                .containsExactly(
+                        tuple(1247L, "Мария Козлова"),
+                        tuple(2859L, "Семенов, Александр")
+                );
+    }
+
+    @Test
+    void parse_WithAwardFile_ShouldIgnoreAwardColumns() {
+        String csvContent = CSV_HEADER + "\n" +
+                "1247,Мария Козлова,891,За выдающиеся результаты в проекте Q4,2024-03-22\n";
+
+        List<EmployeeFileRecord> records = parser.parse(createInputStream(csvContent));
+
+        assertThat(records).singleElement().satisfies(record -> {
+            assertThat(record.getEmployeeExternalId()).isEqualTo(1247L);
+            assertThat(record.getFullName()).isEqualTo("Мария Козлова");
+        });
+    }
+
+    @Test
+    void parse_WithInvalidColumnCount_ShouldThrowException() {
+        String csvContent = "ID сотрудника,ФИО сотрудника\n1247\n";
+
+        assertThatThrownBy(() -> parser.parse(createInputStream(csvContent)))
+                .isInstanceOf(FileParseException.class)
+                .hasMessageContaining("неверное количество колонок");
+    }
+
+    @Test
+    void parse_WithInvalidEmployeeId_ShouldThrowException() {
+        String csvContent = "ID сотрудника,ФИО сотрудника\nabc,Мария Козлова\n";
+
+        assertThatThrownBy(() -> parser.parse(createInputStream(csvContent)))
+                .isInstanceOf(FileParseException.class)
+                .hasMessageContaining("Ошибка при парсинге данных")
+                .hasMessageEndingWith("в строке: [abc, Мария Козлова]");
+    }
+
+    @Test
+    void parse_WithValidRows_ShouldNotBuildErrorContext() {
+        String csvContent = "ID сотрудника,ФИО сотрудника\n1247,Мария Козлова\n2859,Александр Семенов\n";
+        AtomicInteger builtContexts = new AtomicInteger();
+        CsvRecordParser<EmployeeFileRecord> countingParser = new CsvRecordParser<>(new RecordMapper<>() {
+            @Override
+            public int columnCount() {
+                return EmployeeRecordMapper.INSTANCE.columnCount();
+            }
+
+            @Override
+            public EmployeeFileRecord map(String[] values, Supplier<String> errorContext) {
+                return EmployeeRecordMapper.INSTANCE.map(values, () -> {
+                    builtContexts.incrementAndGet();
+                    return errorContext.get();
+                });
+            }
+        });
+
+        assertThat(countingParser.parse(createInputStream(csvContent))).hasSize(2);
+        assertThat(builtContexts).hasValue(0);
+    }
+
+    private InputStream createInputStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,31 +1,59 @@
 package ru.t2.employeeawards.parser;
 
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import ru.t2.employeeawards.dto.AwardFileColumn;
 import ru.t2.employeeawards.dto.AwardFileRecord;
 import ru.t2.employeeawards.exception.FileParseException;
+import ru.t2.employeeawards.parser.impl.AwardRecordMapper;
 import ru.t2.employeeawards.parser.impl.ExcelParser;
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static ru.t2.employeeawards.utils.AwardFileRecordAssertions.assertRecord;
+import static ru.t2.employeeawards.utils.ExcelTestFiles.addSheet;
+import static ru.t2.employeeawards.utils.ExcelTestFiles.convertWorkbookToInputStream;
+import static ru.t2.employeeawards.utils.ExcelTestFiles.createExcelFile;
 import static ru.t2.employeeawards.utils.ParserTestData.*;
 
 class ExcelParserTest {
+    private static final int PARALLELISM = 4;
+    private static final int ROWS_PER_SHEET = 25;
+    private static final String[] DEPARTMENTS = {"Продажи", "Разработка", "Бухгалтерия"};
 
-    private ExcelParser excelParser;
+    private static ForkJoinPool pool;
+
+    private ExcelParser<AwardFileRecord> excelParser;
+
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(PARALLELISM);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdownNow();
+    }
 
     @BeforeEach
     void setUp() {
-        excelParser = new ExcelParser();
+        excelParser = new ExcelParser<>(AwardRecordMapper.INSTANCE);
     }
 
     @Test
@@ -98,39 +126,89 @@ class ExcelParserTest {
         assertParseThrowsException(inputStream, "Ошибка при парсинге данных");
     }
 
-    private InputStream convertWorkbookToInputStream(Workbook workbook) throws IOException {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        workbook.write(outputStream);
-        workbook.close();
-        return new java.io.ByteArrayInputStream(outputStream.toByteArray());
+    @Test
+    void parse_WithNonExcelContent_ShouldThrowException() {
+        InputStream inputStream = new ByteArrayInputStream("not an excel file".getBytes(StandardCharsets.UTF_8));
+
+        assertParseThrowsException(inputStream, "Невалидный xls файл");
     }
 
-    private InputStream createExcelFile(String[] headers, Object[]... dataRows) throws IOException {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet();
-        
-        Row headerRow = sheet.createRow(FileStructure.HEADERS_ROW_EXCEL.getValue());
-        for (int i = 0; i < headers.length; i++) {
-            headerRow.createCell(i).setCellValue(headers[i]);
-        }
-        
-        for (int rowIndex = 0; rowIndex < dataRows.length; rowIndex++) {
-            Row row = sheet.createRow(rowIndex + 1);
-            Object[] rowData = dataRows[rowIndex];
-            for (int colIndex = 0; colIndex < rowData.length; colIndex++) {
-                Cell cell = row.createCell(colIndex);
-                Object value = rowData[colIndex];
-                if (value instanceof Long) {
-                    cell.setCellValue((Long) value);
-                } else if (value instanceof String) {
-                    cell.setCellValue((String) value);
-                }
-            }
+    @Test
+    void parse_WithSeveralSheets_ShouldReadFirstSheetByDefault() throws IOException {
+        InputStream inputStream = createDepartmentsWorkbook();
+
+        List<AwardFileRecord> records = excelParser.parse(inputStream);
+
+        assertThat(records)
+                .extracting(AwardFileRecord::getAwardExternalId)
+                .containsExactlyElementsOf(awardIds(0, ROWS_PER_SHEET));
+    }
+
+    @Test
+    void parse_WithAllSheetsAndPool_ShouldParseSequentiallyInCallingThread() throws IOException {
+        ExcelParser<AwardFileRecord> parser =
+                new ExcelParser<>(AwardRecordMapper.INSTANCE, new ExcelParseOptions(true, pool));
+        Thread callingThread = Thread.currentThread();
+        List<AwardFileRecord> records = new ArrayList<>();
+        Set<Thread> parsingThreads = new HashSet<>();
+
+        parser.parse(createDepartmentsWorkbook(), record -> {
+            parsingThreads.add(Thread.currentThread());
+            records.add(record);
+        });
+
+        // Объектная модель книги не потокобезопасна, поэтому пул для xls файлов не используется
+        assertThat(parsingThreads).containsExactly(callingThread);
+        assertThat(records)
+                .extracting(AwardFileRecord::getAwardExternalId)
+                .containsExactlyElementsOf(awardIds(0, DEPARTMENTS.length * ROWS_PER_SHEET));
+    }
+
+    @Test
+    void parse_WithErrorsInSeveralSheets_ShouldReportFirstErrorInFileOrder() throws IOException {
+        Workbook workbook = new HSSFWorkbook();
+        addSheet(workbook, DEPARTMENTS[0], EXCEL_HEADERS, departmentRows(0));
+        Object[][] secondSheetRows = departmentRows(1);
+        secondSheetRows[10][AwardFileColumn.RECEIVED_DATE.getIndex()] = "invalid-date";
+        addSheet(workbook, DEPARTMENTS[1], EXCEL_HEADERS, secondSheetRows);
+        // Ошибка на последнем листе находится раньше, но по порядку в файле она вторая
+        Object[][] thirdSheetRows = departmentRows(2);
+        thirdSheetRows[0][AwardFileColumn.EMPLOYEE_EXTERNAL_ID.getIndex()] = "invalid";
+        addSheet(workbook, DEPARTMENTS[2], EXCEL_HEADERS, thirdSheetRows);
+        InputStream inputStream = convertWorkbookToInputStream(workbook);
+        ExcelParser<AwardFileRecord> parser =
+                new ExcelParser<>(AwardRecordMapper.INSTANCE, new ExcelParseOptions(true, pool));
+        List<AwardFileRecord> records = new ArrayList<>();
+
+        assertThatThrownBy(() -> parser.parse(inputStream, records::add))
+                .isInstanceOf(FileParseException.class)
+                .hasMessageEndingWith("в строке 12 листа \"Разработка\"");
+        assertThat(records)
+                .extracting(AwardFileRecord::getAwardExternalId)
+                .containsExactlyElementsOf(awardIds(0, ROWS_PER_SHEET + 10));
+    }
+
+    private InputStream createDepartmentsWorkbook() throws IOException {
+        Workbook workbook = new HSSFWorkbook();
+        for (int i = 0; i < DEPARTMENTS.length; i++) {
+            addSheet(workbook, DEPARTMENTS[i], EXCEL_HEADERS, departmentRows(i));
         }
-        
         return convertWorkbookToInputStream(workbook);
     }
 
+    private Object[][] departmentRows(int department) {
+        Object[][] rows = new Object[ROWS_PER_SHEET][];
+        for (int i = 0; i < ROWS_PER_SHEET; i++) {
+            long awardId = (long) department * ROWS_PER_SHEET + i;
+            rows[i] = new Object[]{1247L, "Мария Козлова", awardId, "Награда " + awardId, "2024-03-22"};
+        }
+        return rows;
+    }
+
+    private List<Long> awardIds(long fromInclusive, long toExclusive) {
+        return LongStream.range(fromInclusive, toExclusive).boxed().toList();
+    }
+
     private void assertParseThrowsException(InputStream inputStream, String expectedMessage) {
         assertThatThrownBy(() -> excelParser.parse(inputStream))
                 .isInstanceOf(FileParseException.class)
@@ -0,0 +1,229 @@
+package ru.t2.employeeawards.parser;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.t2.employeeawards.dto.AwardFileColumn;
+import ru.t2.employeeawards.dto.AwardFileRecord;
+import ru.t2.employeeawards.exception.FileParseException;
+import ru.t2.employeeawards.parser.impl.AwardRecordMapper;
+import ru.t2.employeeawards.parser.impl.XlsxStreamingParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static ru.t2.employeeawards.utils.AwardFileRecordAssertions.assertRecord;
+import static ru.t2.employeeawards.utils.ExcelTestFiles.addSheet;
+import static ru.t2.employeeawards.utils.ExcelTestFiles.convertWorkbookToInputStream;
+import static ru.t2.employeeawards.utils.ExcelTestFiles.createExcelFile;
+import static ru.t2.employeeawards.utils.ParserTestData.*;
+
+class XlsxStreamingParserTest {
+    private static final int PARALLELISM = 3;
+    // XML такого листа занимает около 60 МБ, файл xlsx - несколько МБ
+    private static final int LARGE_SHEET_ROWS = 200_000;
+    private static final long MAX_HEAP_GROWTH_BYTES = 24L * 1024 * 1024;
+
+    private XlsxStreamingParser<AwardFileRecord> xlsxParser;
+
+    @BeforeEach
+    void setUp() {
+        xlsxParser = new XlsxStreamingParser<>(AwardRecordMapper.INSTANCE);
+    }
+
+    @Test
+    void parse_WithValidExcel_ShouldReturnRecords() throws IOException {
+        InputStream inputStream = createExcelFile(
+            EXCEL_HEADERS,
+            new Object[]{1247L, "Мария Козлова", 891L, "За выдающиеся результаты в проекте Q4", "2024-03-22"},
+            new Object[]{2859L, "Александр Семенов", 1523L, "Благодарность за инициативу и профессионализм", "2024-08-07"}
+        );
+
+        List<AwardFileRecord> records = xlsxParser.parse(inputStream);
+
+        assertThat(records).hasSize(EXPECTED_RECORDS_COUNT);
+        assertRecord(records.get(FIRST_RECORD_INDEX), FIRST_RECORD);
+        assertRecord(records.get(SECOND_RECORD_INDEX), SECOND_RECORD);
+    }
+
+    @Test
+    void parse_WithEmptyFile_ShouldReturnEmptyList() throws IOException {
+        InputStream inputStream = createExcelFile(EXCEL_HEADERS);
+
+        List<AwardFileRecord> records = xlsxParser.parse(inputStream);
+
+        assertThat(records).isEmpty();
+    }
+
+    @Test
+    void parse_WithMissingCell_ShouldThrowExceptionWithRowNumber() throws IOException {
+        Workbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+
+        Row headerRow = sheet.createRow(FileStructure.HEADERS_ROW_EXCEL.getValue());
+        for (int i = 0; i < EXCEL_HEADERS.length; i++) {
+            headerRow.createCell(i).setCellValue(EXCEL_HEADERS[i]);
+        }
+
+        Row dataRow = sheet.createRow(FileStructure.HEADERS_ROW_EXCEL.getValue() + 1);
+        dataRow.createCell(AwardFileColumn.EMPLOYEE_EXTERNAL_ID.getIndex()).setCellValue(1247);
+        // Пропускаем ячейку EMPLOYEE_FULL_NAME (ФИО)
+        dataRow.createCell(AwardFileColumn.AWARD_EXTERNAL_ID.getIndex()).setCellValue(891);
+        dataRow.createCell(AwardFileColumn.AWARD_NAME.getIndex()).setCellValue("За выдающиеся результаты");
+        dataRow.createCell(AwardFileColumn.RECEIVED_DATE.getIndex()).setCellValue("2024-03-22");
+
+        InputStream inputStream = convertWorkbookToInputStream(workbook);
+
+        assertParseThrowsException(inputStream, "Ячейка 1 пустая в строке 2");
+    }
+
+    @Test
+    void parse_WithInvalidDate_ShouldThrowExceptionWithRowNumber() throws IOException {
+        InputStream inputStream = createExcelFile(
+            EXCEL_HEADERS,
+            new Object[]{1247L, "Мария Козлова", 891L, "За выдающиеся результаты", "2024-03-22"},
+            new Object[]{2859L, "Александр Семенов", 1523L, "Благодарность", "invalid-date"}
+        );
+
+        assertParseThrowsException(inputStream, "в строке 3");
+    }
+
+    @Test
+    void parse_WithInvalidEmployeeId_ShouldThrowException() throws IOException {
+        InputStream inputStream = createExcelFile(
+            EXCEL_HEADERS,
+            new Object[]{"invalid", "Мария Козлова", 891L, "За выдающиеся результаты", "2024-03-22"}
+        );
+
+        assertParseThrowsException(inputStream, "Ошибка при парсинге данных");
+    }
+
+    @Test
+    void parse_WithNonExcelContent_ShouldThrowException() {
+        InputStream inputStream = new ByteArrayInputStream("not an excel file".getBytes(StandardCharsets.UTF_8));
+
+        assertParseThrowsException(inputStream, "отсутствует структура xl/");
+    }
+
+    @Test
+    void parse_WithZipWithoutWorkbook_ShouldThrowException() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+            zipOutputStream.putNextEntry(new ZipEntry("[Content_Types].xml"));
+            zipOutputStream.write(("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                    + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\"/>")
+                    .getBytes(StandardCharsets.UTF_8));
+            zipOutputStream.closeEntry();
+        }
+
+        assertParseThrowsException(new ByteArrayInputStream(outputStream.toByteArray()), "Excel");
+    }
+
+    @Test
+    void parse_WithAllSheetsInParallel_ShouldKeepSheetOrderAndReportSheetName() throws IOException {
+        Workbook workbook = new XSSFWorkbook();
+        addSheet(workbook, "Продажи", EXCEL_HEADERS,
+            new Object[]{1247L, "Мария Козлова", 891L, "За выдающиеся результаты в проекте Q4", "2024-03-22"});
+        addSheet(workbook, "Разработка", EXCEL_HEADERS,
+            new Object[]{2859L, "Александр Семенов", 1523L, "Благодарность за инициативу и профессионализм", "2024-08-07"},
+            new Object[]{2859L, "Александр Семенов", 1524L, "Благодарность", "invalid-date"});
+        addSheet(workbook, "Бухгалтерия", EXCEL_HEADERS,
+            new Object[]{"invalid", "Мария Козлова", 892L, "Награда", "2024-03-22"});
+        InputStream inputStream = convertWorkbookToInputStream(workbook);
+        List<AwardFileRecord> records = new ArrayList<>();
+
+        ForkJoinPool pool = new ForkJoinPool(PARALLELISM);
+        try {
+            XlsxStreamingParser<AwardFileRecord> parallelParser = new XlsxStreamingParser<>(
+                AwardRecordMapper.INSTANCE, new ExcelParseOptions(true, pool)
+            );
+
+            assertThatThrownBy(() -> parallelParser.parse(inputStream, records::add))
+                    .isInstanceOf(FileParseException.class)
+                    .hasMessageEndingWith("в строке 3 листа \"Разработка\"");
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(records).hasSize(EXPECTED_RECORDS_COUNT);
+        assertRecord(records.get(FIRST_RECORD_INDEX), FIRST_RECORD);
+        assertRecord(records.get(SECOND_RECORD_INDEX), SECOND_RECORD);
+    }
+
+    @Test
+    void parse_WithLargeSheet_ShouldNotKeepSheetXmlInMemory(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("large.xlsx");
+        writeLargeSheet(file);
+        AtomicInteger parsedRecords = new AtomicInteger();
+        AtomicLong heapDuringParse = new AtomicLong();
+
+        long heapBeforeParse = usedHeapAfterGc();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            xlsxParser.parse(inputStream, record -> {
+                if (parsedRecords.incrementAndGet() == LARGE_SHEET_ROWS / 2) {
+                    heapDuringParse.set(usedHeapAfterGc());
+                }
+            });
+        }
+
+        assertThat(parsedRecords).hasValue(LARGE_SHEET_ROWS);
+        assertThat(heapDuringParse.get() - heapBeforeParse).isLessThan(MAX_HEAP_GROWTH_BYTES);
+    }
+
+    private void assertParseThrowsException(InputStream inputStream, String expectedMessage) {
+        assertThatThrownBy(() -> xlsxParser.parse(inputStream))
+                .isInstanceOf(FileParseException.class)
+                .hasMessageContaining(expectedMessage);
+    }
+
+    private void writeLargeSheet(Path file) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook();
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet();
+            Row headerRow = sheet.createRow(FileStructure.HEADERS_ROW_EXCEL.getValue());
+            for (int i = 0; i < EXCEL_HEADERS.length; i++) {
+                headerRow.createCell(i).setCellValue(EXCEL_HEADERS[i]);
+            }
+            for (int i = 1; i <= LARGE_SHEET_ROWS; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(AwardFileColumn.EMPLOYEE_EXTERNAL_ID.getIndex()).setCellValue(1247);
+                row.createCell(AwardFileColumn.EMPLOYEE_FULL_NAME.getIndex()).setCellValue("Мария Козлова");
+                row.createCell(AwardFileColumn.AWARD_EXTERNAL_ID.getIndex()).setCellValue(i);
+                row.createCell(AwardFileColumn.AWARD_NAME.getIndex())
+                        .setCellValue("За выдающиеся результаты в проекте Q4");
+                row.createCell(AwardFileColumn.RECEIVED_DATE.getIndex()).setCellValue("2024-03-22");
+            }
+            workbook.write(outputStream);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    // Занятая память после сборки мусора: учитываются только достижимые объекты
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
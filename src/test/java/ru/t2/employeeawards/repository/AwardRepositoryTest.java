@@ -1,15 +1,26 @@
 package ru.t2.employeeawards.repository;
 
+import jakarta.persistence.PersistenceUnitUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.transaction.BeforeTransaction;
+import ru.t2.employeeawards.dto.AwardFileRecord;
+import ru.t2.employeeawards.dto.AwardFilter;
+import ru.t2.employeeawards.dto.AwardState;
+import ru.t2.employeeawards.dto.AwardUpsert;
+import ru.t2.employeeawards.dto.AwardView;
 import ru.t2.employeeawards.model.Award;
 import ru.t2.employeeawards.model.Employee;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -22,19 +33,28 @@ class AwardRepositoryTest {
     @Autowired
     private AwardRepository awardRepository;
 
+    private Employee employee;
+    private Award existingAward;
+
+    // DDL в H2 фиксирует текущую транзакцию, поэтому таблица создается до начала транзакции теста
+    @BeforeTransaction
+    void createStagingTable() {
+        awardRepository.createStagingTable();
+    }
+
     @BeforeEach
     void setUp() {
-        Employee employee = new Employee();
+        employee = new Employee();
         employee.setFullName("Дмитрий Кузнецов");
         employee.setEmployeeExternalId(189L);
         entityManager.persistAndFlush(employee);
 
-        Award award = new Award();
-        award.setAwardExternalId(503L);
-        award.setAwardName("Самый эффективный руководитель");
-        award.setReceivedDate(LocalDate.of(2025, 3, 15));
-        award.setEmployee(employee);
-        entityManager.persistAndFlush(award);
+        existingAward = new Award();
+        existingAward.setAwardExternalId(503L);
+        existingAward.setAwardName("Самый эффективный руководитель");
+        existingAward.setReceivedDate(LocalDate.of(2025, 3, 15));
+        existingAward.setEmployee(employee);
+        entityManager.persistAndFlush(existingAward);
     }
 
     @Test
@@ -54,6 +74,196 @@ class AwardRepositoryTest {
         assertThat(found).isEmpty();
     }
 
+    @Test
+    void findAllByAwardExternalIdIn_ShouldReturnOnlyExistingAwards() {
+        List<Award> found = awardRepository.findAllByAwardExternalIdIn(List.of(503L, 999L));
+
+        assertThat(found).extracting(Award::getAwardExternalId).containsExactly(503L);
+    }
+
+    @Test
+    void findByAwardExternalId_ShouldNotLoadEmployee() {
+        entityManager.clear();
+
+        Award found = awardRepository.findByAwardExternalId(503L).orElseThrow();
+
+        assertThat(persistenceUnitUtil().isLoaded(found, "employee")).isFalse();
+        assertThat(found.getEmployee().getEmployeeId()).isEqualTo(employee.getEmployeeId());
+    }
+
+    @Test
+    void findWithEmployeeByAwardExternalId_ShouldLoadEmployeeWithAward() {
+        entityManager.clear();
+
+        Award found = awardRepository.findWithEmployeeByAwardExternalId(503L).orElseThrow();
+
+        assertThat(persistenceUnitUtil().isLoaded(found, "employee")).isTrue();
+        assertThat(found.getEmployee().getFullName()).isEqualTo("Дмитрий Кузнецов");
+    }
+
+    @Test
+    void upsertAll_ShouldUpdateExistingAndInsertNewAwards() {
+        awardRepository.upsertAll(List.of(
+                new AwardUpsert(503L, "Лучший наставник", LocalDate.of(2025, 4, 1), employee.getEmployeeId()),
+                new AwardUpsert(700L, "Новатор года", LocalDate.of(2025, 5, 20), employee.getEmployeeId())
+        ));
+        entityManager.clear();
+
+        Award updated = awardRepository.findByAwardExternalId(503L).orElseThrow();
+        assertThat(updated.getAwardId()).isEqualTo(existingAward.getAwardId());
+        assertThat(updated.getAwardName()).isEqualTo("Лучший наставник");
+        assertThat(updated.getReceivedDate()).isEqualTo(LocalDate.of(2025, 4, 1));
+
+        Award inserted = awardRepository.findByAwardExternalId(700L).orElseThrow();
+        assertThat(inserted.getAwardId()).isNotNull();
+        assertThat(inserted.getAwardName()).isEqualTo("Новатор года");
+        assertThat(inserted.getEmployee().getEmployeeExternalId()).isEqualTo(189L);
+    }
+
+    @Test
+    void findStates_ShouldReturnStoredState() {
+        AwardUpsert upsert = new AwardUpsert(700L, "Новатор года", LocalDate.of(2025, 5, 20), employee.getEmployeeId());
+        awardRepository.upsertAll(List.of(upsert));
+
+        Map<Long, AwardState> states = awardRepository.findStates(List.of(503L, 700L, 999L));
+
+        assertThat(states).containsOnlyKeys(503L, 700L);
+        assertThat(states.get(700L).matches(upsert)).isTrue();
+        AwardState existing = states.get(503L);
+        assertThat(existing.awardId()).isEqualTo(existingAward.getAwardId());
+        assertThat(existing.awardName()).isEqualTo("Самый эффективный руководитель");
+    }
+
+    @Test
+    void findStates_AfterChangeThroughJpa_ShouldNotMatchPreviousUpload() {
+        AwardUpsert upsert = new AwardUpsert(503L, "Лучший наставник", LocalDate.of(2025, 4, 1), employee.getEmployeeId());
+        awardRepository.upsertAll(List.of(upsert));
+        entityManager.clear();
+
+        Award award = awardRepository.findByAwardExternalId(503L).orElseThrow();
+        award.setAwardName("Самый эффективный руководитель");
+        awardRepository.saveAndFlush(award);
+
+        AwardState state = awardRepository.findStates(List.of(503L)).get(503L);
+        assertThat(state.matches(upsert)).isFalse();
+    }
+
+    @Test
+    void mergeStaged_ShouldWriteLatestRecordsOfKnownEmployeesOnly() {
+        UUID loadId = UUID.randomUUID();
+        LocalDate date = LocalDate.of(2025, 5, 20);
+        awardRepository.insertStaged(loadId, 0, List.of(
+                new AwardFileRecord(189L, "Дмитрий Кузнецов", 503L, "Самый эффективный руководитель",
+                        LocalDate.of(2025, 3, 15)),
+                new AwardFileRecord(189L, "Дмитрий Кузнецов", 700L, "Новатор года", date),
+                new AwardFileRecord(999L, "Неизвестный сотрудник", 701L, "Наставник", date)
+        ));
+        awardRepository.insertStaged(loadId, 3, List.of(
+                new AwardFileRecord(189L, "Дмитрий Кузнецов", 700L, "Новатор года (повтор)", date)
+        ));
+
+        assertThat(awardRepository.countStaged(loadId)).isEqualTo(4);
+        assertThat(awardRepository.findMissingEmployees(loadId)).containsExactly(Map.entry(999L, "Неизвестный сотрудник"));
+        assertThat(awardRepository.findStagedWithUnknownEmployee(loadId))
+                .extracting(AwardFileRecord::getAwardExternalId).containsExactly(701L);
+
+        int written = awardRepository.mergeStaged(loadId);
+        entityManager.clear();
+
+        // Награда 503 не изменилась, награда 700 записана по последней записи
+        assertThat(written).isEqualTo(1);
+        assertThat(awardRepository.findByAwardExternalId(700L))
+                .get().extracting(Award::getAwardName).isEqualTo("Новатор года (повтор)");
+        assertThat(awardRepository.findByAwardExternalId(701L)).isEmpty();
+
+        awardRepository.deleteStaged(loadId);
+        assertThat(awardRepository.countStaged(loadId)).isZero();
+    }
+
+    @Test
+    void updateAll_ShouldUpdateByPrimaryKeyAndReportMissingAwards() {
+        AwardState changed = AwardState.of(existingAward.getAwardId(),
+                new AwardUpsert(503L, "Лучший наставник", LocalDate.of(2025, 4, 1), employee.getEmployeeId()));
+        AwardState deleted = AwardState.of(-1L,
+                new AwardUpsert(701L, "Удаленная награда", LocalDate.of(2025, 4, 1), employee.getEmployeeId()));
+
+        List<AwardState> missing = awardRepository.updateAll(List.of(changed, deleted));
+        entityManager.clear();
+
+        assertThat(missing).containsExactly(deleted);
+        Award updated = awardRepository.findByAwardExternalId(503L).orElseThrow();
+        assertThat(updated.getAwardName()).isEqualTo("Лучший наставник");
+        assertThat(updated.getReceivedDate()).isEqualTo(LocalDate.of(2025, 4, 1));
+    }
+
+    @Test
+    void findAwards_ShouldReturnPagesInDateAndIdOrderAfterCursor() {
+        Award sameDate = persistAward(504L, "Лучший наставник", LocalDate.of(2025, 3, 15));
+        Award earlier = persistAward(505L, "Новатор года", LocalDate.of(2025, 1, 10));
+        Award later = persistAward(506L, "Новатор года", LocalDate.of(2025, 6, 1));
+        AwardFilter noFilter = new AwardFilter(null, null, null, null);
+
+        List<AwardView> firstPage = awardRepository.findAwards(noFilter, null, 2);
+        List<AwardView> secondPage = awardRepository.findAwards(noFilter, firstPage.get(1).cursor(), 2);
+
+        assertThat(firstPage).extracting(AwardView::awardExternalId).containsExactly(505L, 503L);
+        assertThat(secondPage).extracting(AwardView::awardExternalId).containsExactly(504L, 506L);
+        assertThat(secondPage.get(0).awardId()).isEqualTo(sameDate.getAwardId());
+        assertThat(firstPage.get(0).awardId()).isEqualTo(earlier.getAwardId());
+        assertThat(secondPage.get(1).awardId()).isEqualTo(later.getAwardId());
+        assertThat(firstPage.get(1).employeeExternalId()).isEqualTo(189L);
+        assertThat(firstPage.get(1).employeeFullName()).isEqualTo("Дмитрий Кузнецов");
+    }
+
+    @Test
+    void findAwards_WithFilters_ShouldReturnMatchingAwards() {
+        persistAward(505L, "Новатор года", LocalDate.of(2025, 1, 10));
+        persistAward(506L, "Новатор года", LocalDate.of(2025, 6, 1));
+        Employee otherEmployee = new Employee();
+        otherEmployee.setFullName("Анна Смирнова");
+        otherEmployee.setEmployeeExternalId(190L);
+        entityManager.persistAndFlush(otherEmployee);
+
+        List<AwardView> byName = awardRepository.findAwards(
+                new AwardFilter(null, "Новатор года", LocalDate.of(2025, 2, 1), null), null, 10);
+        List<AwardView> byEmployee = awardRepository.findAwards(
+                new AwardFilter(otherEmployee.getEmployeeId(), null, null, null), null, 10);
+
+        assertThat(byName).extracting(AwardView::awardExternalId).containsExactly(506L);
+        assertThat(byEmployee).isEmpty();
+    }
+
+    @Test
+    void findAwards_WithAwardWithoutEmployee_ShouldReturnItWithEmptyEmployee() {
+        Award withoutEmployee = persistAward(505L, "Новатор года", LocalDate.of(2025, 1, 10));
+        withoutEmployee.setEmployee(null);
+        entityManager.persistAndFlush(withoutEmployee);
+
+        List<AwardView> awards = awardRepository.findAwards(new AwardFilter(null, null, null, null), null, 10);
+
+        assertThat(awards).extracting(AwardView::awardExternalId).containsExactly(505L, 503L);
+        assertThat(awards.get(0).employeeExternalId()).isNull();
+        assertThat(awards.get(0).employeeFullName()).isNull();
+    }
+
+    @Test
+    void streamAllAwards_ShouldReturnAllAwardsInDateOrder() {
+        persistAward(505L, "Новатор года", LocalDate.of(2025, 1, 10));
+
+        try (Stream<AwardView> awards = awardRepository.streamAllAwards(1)) {
+            assertThat(awards).extracting(AwardView::awardExternalId).containsExactly(505L, 503L);
+        }
+    }
+
+    private Award persistAward(long awardExternalId, String awardName, LocalDate receivedDate) {
+        Award award = new Award();
+        award.setAwardExternalId(awardExternalId);
+        award.setAwardName(awardName);
+        award.setReceivedDate(receivedDate);
+        award.setEmployee(employee);
+        return entityManager.persistAndFlush(award);
+    }
+
     @Test
     void save_ShouldPersistAward() {
         Award adaward = new Award();
@@ -70,5 +280,8 @@ class AwardRepositoryTest {
         assertThat(savedAward.getReceivedDate()).isEqualTo(LocalDate.of(2025, 6, 1));
         assertThat(savedAward.getEmployee()).isEqualTo(employee);
     }
-}
 
+    private PersistenceUnitUtil persistenceUnitUtil() {
+        return entityManager.getEntityManager().getEntityManagerFactory().getPersistenceUnitUtil();
+    }
+}
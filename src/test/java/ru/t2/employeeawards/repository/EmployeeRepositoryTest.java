@@ -5,8 +5,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.t2.employeeawards.dto.EmployeeIdView;
+import ru.t2.employeeawards.dto.EmployeeUpsert;
 import ru.t2.employeeawards.model.Employee;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -43,6 +48,22 @@ class EmployeeRepositoryTest {
         assertThat(found).isEmpty();
     }
 
+    @Test
+    void findAllByEmployeeExternalIdIn_ShouldReturnOnlyExistingEmployees() {
+        List<Employee> found = employeeRepository.findAllByEmployeeExternalIdIn(List.of(189L, 999L));
+
+        assertThat(found).extracting(Employee::getEmployeeExternalId).containsExactly(189L);
+    }
+
+    @Test
+    void findIdsByEmployeeExternalIdIn_ShouldReturnIdsOfExistingEmployees() {
+        Long employeeId = employeeRepository.findByEmployeeExternalId(189L).orElseThrow().getEmployeeId();
+
+        List<EmployeeIdView> found = employeeRepository.findIdsByEmployeeExternalIdIn(List.of(189L, 999L));
+
+        assertThat(found).containsExactly(new EmployeeIdView(189L, employeeId));
+    }
+
     @Test
     void save_ShouldPersistEmployee() {
         Employee newEmployee = new Employee();
@@ -55,5 +76,49 @@ class EmployeeRepositoryTest {
         assertThat(saved.getEmployeeExternalId()).isEqualTo(253L);
         assertThat(saved.getFullName()).isEqualTo("Андрей Петров");
     }
-}
 
+    @Test
+    void forEachEmployeeId_ShouldPassIdsOfAllEmployees() {
+        Employee withoutExternalId = new Employee();
+        withoutExternalId.setFullName("Ольга Смирнова");
+        Employee saved = entityManager.persistAndFlush(withoutExternalId);
+        Long employeeId = employeeRepository.findByEmployeeExternalId(189L).orElseThrow().getEmployeeId();
+        Map<Long, Long> ids = new HashMap<>();
+
+        long count = employeeRepository.forEachEmployeeId(100, ids::put);
+
+        assertThat(count).isEqualTo(1);
+        assertThat(ids).containsExactly(Map.entry(189L, employeeId)).doesNotContainValue(saved.getEmployeeId());
+    }
+
+    @Test
+    void upsertAll_ShouldInsertNewAndUpdateChangedEmployees() {
+        int written = employeeRepository.upsertAll(List.of(
+                new EmployeeUpsert(189L, "Дмитрий Кузнецов"),
+                new EmployeeUpsert(253L, "Андрей Петров")
+        ));
+        int renamed = employeeRepository.upsertAll(List.of(new EmployeeUpsert(189L, "Дмитрий Кузнецов-Орлов")));
+        entityManager.clear();
+
+        assertThat(written).isEqualTo(1);
+        assertThat(renamed).isEqualTo(1);
+        assertThat(employeeRepository.findByEmployeeExternalId(189L))
+                .get().extracting(Employee::getFullName).isEqualTo("Дмитрий Кузнецов-Орлов");
+        assertThat(employeeRepository.findByEmployeeExternalId(253L))
+                .get().extracting(Employee::getFullName).isEqualTo("Андрей Петров");
+    }
+
+    @Test
+    void insertMissing_ShouldNotChangeExistingEmployees() {
+        int inserted = employeeRepository.insertMissing(List.of(
+                new EmployeeUpsert(189L, "Другое имя"),
+                new EmployeeUpsert(253L, "Андрей Петров")
+        ));
+        entityManager.clear();
+
+        assertThat(inserted).isEqualTo(1);
+        assertThat(employeeRepository.findByEmployeeExternalId(189L))
+                .get().extracting(Employee::getFullName).isEqualTo("Дмитрий Кузнецов");
+        assertThat(employeeRepository.findEmployeeIds(List.of(189L, 253L, 999L))).containsOnlyKeys(189L, 253L);
+    }
+}
@@ -0,0 +1,60 @@
+package ru.t2.employeeawards.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.t2.employeeawards.dto.AwardUpsert;
+import ru.t2.employeeawards.model.Award;
+import ru.t2.employeeawards.model.Employee;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Схема из миграций Flyway (профиль h2-file) проверяется Hibernate на соответствие сущностям.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class SchemaMigrationTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AwardRepository awardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migratedSchema_ShouldSupportEntitiesAndNativeUpserts() {
+        Employee employee = new Employee();
+        employee.setFullName("Дмитрий Кузнецов");
+        employee.setEmployeeExternalId(189L);
+        employeeRepository.saveAndFlush(employee);
+
+        awardRepository.upsertAll(List.of(
+                new AwardUpsert(700L, "Новатор года", LocalDate.of(2025, 5, 20), employee.getEmployeeId())));
+
+        assertThat(awardRepository.findByAwardExternalId(700L))
+                .get().extracting(Award::getAwardName).isEqualTo("Новатор года");
+    }
+
+    @Test
+    void migratedSchema_ShouldContainListingIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES WHERE LOWER(TABLE_NAME) = 'awards'",
+                String.class);
+
+        assertThat(indexes).contains(
+                "idx_awards_received_date_award_id",
+                "idx_awards_employee_received_date",
+                "idx_awards_name_received_date"
+        );
+    }
+}
@@ -0,0 +1,137 @@
+package ru.t2.employeeawards.service;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.t2.employeeawards.config.AwardQueryProperties;
+import ru.t2.employeeawards.dto.AwardExportFormat;
+import ru.t2.employeeawards.dto.AwardFileRecord;
+import ru.t2.employeeawards.dto.AwardView;
+import ru.t2.employeeawards.parser.impl.AwardRecordMapper;
+import ru.t2.employeeawards.parser.impl.CsvParser;
+import ru.t2.employeeawards.parser.impl.XlsxStreamingParser;
+import ru.t2.employeeawards.repository.AwardRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.t2.employeeawards.utils.ParserTestData.CSV_HEADER;
+
+@ExtendWith(MockitoExtension.class)
+class AwardExportServiceTest {
+    private static final int FETCH_SIZE = 10;
+    // Больше 10^11: в формате General такое число было бы выгружено в экспоненциальной записи
+    private static final long LARGE_AWARD_ID = 123_456_789_012L;
+
+    private static final List<AwardView> AWARDS = List.of(
+        new AwardView(1L, 891L, "За выдающиеся результаты, \"Q4\"", LocalDate.of(2024, 3, 22),
+            1247L, "Мария Козлова"),
+        new AwardView(2L, LARGE_AWARD_ID, "Благодарность\nза инициативу", LocalDate.of(2024, 8, 7),
+            2859L, "Александр Семенов")
+    );
+
+    @Mock
+    private AwardRepository awardRepository;
+
+    private AwardExportService awardExportService;
+
+    @BeforeEach
+    void setUp() {
+        AwardQueryProperties properties = new AwardQueryProperties();
+        properties.setExportFetchSize(FETCH_SIZE);
+        awardExportService = new AwardExportService(awardRepository, properties);
+    }
+
+    @Test
+    void export_ToCsv_ShouldProduceUploadableFile() throws IOException {
+        when(awardRepository.streamAllAwards(FETCH_SIZE)).thenReturn(AWARDS.stream());
+
+        byte[] file = export(AwardExportFormat.CSV);
+
+        assertThat(new String(file, StandardCharsets.UTF_8)).startsWith(CSV_HEADER + "\n");
+        assertThat(new CsvParser().parse(new ByteArrayInputStream(file)))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(toRecords());
+    }
+
+    @Test
+    void export_ToXlsx_ShouldProduceUploadableFile() throws IOException {
+        when(awardRepository.streamAllAwards(FETCH_SIZE)).thenReturn(AWARDS.stream());
+
+        byte[] file = export(AwardExportFormat.XLSX);
+
+        assertThat(new XlsxStreamingParser<>(AwardRecordMapper.INSTANCE).parse(new ByteArrayInputStream(file)))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(toRecords());
+    }
+
+    @Test
+    void export_WithAwardWithoutEmployee_ShouldLeaveEmployeeColumnsEmpty() throws IOException {
+        AwardView withoutEmployee = new AwardView(3L, 892L, "Новатор года", LocalDate.of(2024, 9, 1), null, null);
+        when(awardRepository.streamAllAwards(FETCH_SIZE)).thenReturn(Stream.of(withoutEmployee));
+
+        byte[] file = export(AwardExportFormat.CSV);
+
+        assertThat(new String(file, StandardCharsets.UTF_8)).endsWith("\n,,892,Новатор года,2024-09-01\n");
+    }
+
+    @Test
+    void checkExportable_WhenAwardsExceedXlsxSheet_ShouldRejectXlsx() {
+        when(awardRepository.count()).thenReturn((long) SpreadsheetVersion.EXCEL2007.getMaxRows());
+
+        assertThatThrownBy(() -> awardExportService.checkExportable(AwardExportFormat.XLSX))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("csv");
+    }
+
+    @Test
+    void checkExportable_WhenAwardsFitXlsxSheet_ShouldAllowXlsx() {
+        when(awardRepository.count()).thenReturn(SpreadsheetVersion.EXCEL2007.getMaxRows() - 1L);
+
+        awardExportService.checkExportable(AwardExportFormat.XLSX);
+    }
+
+    @Test
+    void checkExportable_ForCsv_ShouldNotCountAwards() {
+        awardExportService.checkExportable(AwardExportFormat.CSV);
+
+        verify(awardRepository, never()).count();
+    }
+
+    @Test
+    void export_ShouldCloseAwardStream() throws IOException {
+        boolean[] closed = {false};
+        when(awardRepository.streamAllAwards(FETCH_SIZE))
+                .thenReturn(Stream.<AwardView>empty().onClose(() -> closed[0] = true));
+
+        export(AwardExportFormat.CSV);
+
+        assertThat(closed[0]).isTrue();
+    }
+
+    private byte[] export(AwardExportFormat format) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        awardExportService.export(format, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private List<AwardFileRecord> toRecords() {
+        return AWARDS.stream()
+                .map(award -> new AwardFileRecord(award.employeeExternalId(), award.employeeFullName(),
+                        award.awardExternalId(), award.awardName(), award.receivedDate()))
+                .toList();
+    }
+}
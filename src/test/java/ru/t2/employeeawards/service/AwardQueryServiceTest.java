@@ -0,0 +1,126 @@
+package ru.t2.employeeawards.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.t2.employeeawards.config.AwardQueryProperties;
+import ru.t2.employeeawards.dto.AwardCursor;
+import ru.t2.employeeawards.dto.AwardFilter;
+import ru.t2.employeeawards.dto.AwardView;
+import ru.t2.employeeawards.exception.ResourceNotFoundException;
+import ru.t2.employeeawards.repository.AwardRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AwardQueryServiceTest {
+    private static final int BATCH_SIZE = 2;
+    private static final int AWARDS = 5;
+    private static final LocalDate RECEIVED_DATE = LocalDate.of(2025, 3, 22);
+    private static final AwardFilter NO_FILTER = new AwardFilter(null, null, null, null);
+
+    @Mock
+    private AwardRepository awardRepository;
+
+    @Mock
+    private EmployeeIdCache employeeIdCache;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+    private final List<AwardView> awards = new ArrayList<>();
+    private AwardQueryService awardQueryService;
+
+    @BeforeEach
+    void setUp() {
+        AwardQueryProperties properties = new AwardQueryProperties();
+        properties.setBatchSize(BATCH_SIZE);
+        awardQueryService = new AwardQueryService(awardRepository, employeeIdCache, properties, objectMapper);
+        for (long id = 1; id <= AWARDS; id++) {
+            awards.add(new AwardView(id, 100 + id, "Награда " + id, RECEIVED_DATE, 1247L, "Мария Козлова"));
+        }
+    }
+
+    @Test
+    void writeAwards_WithoutLimit_ShouldWriteAllAwardsInBatches() throws IOException {
+        stubKeysetPages();
+
+        JsonNode response = writeAwards(null, null);
+
+        assertThat(response.get("items")).hasSize(AWARDS);
+        assertThat(response.get("items").get(0).get("awardExternalId").asLong()).isEqualTo(101L);
+        assertThat(response.get("items").get(0).get("receivedDate").asText()).isEqualTo("2025-03-22");
+        assertThat(response.get("items").get(0).has("awardId")).isFalse();
+        assertThat(response.get("nextCursor").isNull()).isTrue();
+        verify(awardRepository).findAwards(NO_FILTER, new AwardCursor(RECEIVED_DATE, 4), BATCH_SIZE);
+    }
+
+    @Test
+    void writeAwards_WithLimit_ShouldReturnCursorOfLastWrittenAward() throws IOException {
+        stubKeysetPages();
+
+        JsonNode response = writeAwards(new AwardCursor(RECEIVED_DATE, 1), 3);
+
+        assertThat(response.get("items"))
+                .extracting(item -> item.get("awardExternalId").asLong())
+                .containsExactly(102L, 103L, 104L);
+        assertThat(response.get("nextCursor").asText()).isEqualTo("2025-03-22_4");
+    }
+
+    @Test
+    void writeAwards_WithLimitCoveringRemainingAwards_ShouldNotReturnCursor() throws IOException {
+        stubKeysetPages();
+
+        JsonNode response = writeAwards(new AwardCursor(RECEIVED_DATE, 2), 3);
+
+        assertThat(response.get("items")).hasSize(3);
+        assertThat(response.get("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void getEmployeeId_WhenEmployeeMissing_ShouldThrowNotFound() {
+        when(employeeIdCache.resolveEmployeeIds(anyCollection())).thenReturn(Map.of());
+
+        assertThatThrownBy(() -> awardQueryService.getEmployeeId(1247L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Сотрудник не найден: 1247");
+    }
+
+    /**
+     * Имитирует выборку по ключу: награды после курсора, не больше limit.
+     */
+    private void stubKeysetPages() {
+        when(awardRepository.findAwards(eq(NO_FILTER), any(), anyInt())).thenAnswer(invocation -> {
+            AwardCursor after = invocation.getArgument(1);
+            int limit = invocation.getArgument(2);
+            return awards.stream()
+                    .filter(award -> after == null || award.awardId() > after.awardId())
+                    .limit(limit)
+                    .toList();
+        });
+    }
+
+    private JsonNode writeAwards(AwardCursor after, Integer limit) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        awardQueryService.writeAwards(NO_FILTER, after, limit, outputStream);
+        return objectMapper.readTree(outputStream.toByteArray());
+    }
+}
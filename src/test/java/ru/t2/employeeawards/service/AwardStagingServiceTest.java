@@ -0,0 +1,89 @@
+package ru.t2.employeeawards.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.t2.employeeawards.config.UploadProperties;
+import ru.t2.employeeawards.dto.AwardFileRecord;
+import ru.t2.employeeawards.repository.AwardRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AwardStagingServiceTest {
+    private static final UUID LOAD_ID = UUID.fromString("7f1c6a52-3f0e-4d7a-9a51-1d2c3b4a5e6f");
+    private static final int STAGED_RECORDS = 5;
+    private static final int WRITTEN_RECORDS = 3;
+
+    @Mock
+    private AwardRepository awardRepository;
+    @Mock
+    private EmployeeBatchWriter employeeBatchWriter;
+
+    private UploadProperties uploadProperties;
+    private AwardStagingService awardStagingService;
+
+    @BeforeEach
+    void setUp() {
+        uploadProperties = new UploadProperties();
+        awardStagingService = new AwardStagingService(awardRepository, employeeBatchWriter, uploadProperties,
+                new UploadMetrics(new SimpleMeterRegistry()), new UploadResultCache(uploadProperties));
+    }
+
+    @Test
+    void startLoad_ShouldCreateStagingTableOnce() {
+        UUID first = awardStagingService.startLoad();
+        UUID second = awardStagingService.startLoad();
+
+        assertThat(first).isNotEqualTo(second);
+        verify(awardRepository, times(1)).createStagingTable();
+    }
+
+    @Test
+    void merge_ShouldReportRecordsOfUnknownEmployeesAsFailures() {
+        AwardFileRecord unknown = new AwardFileRecord(999L, "Неизвестный", 701L, "Наставник", LocalDate.of(2025, 5, 20));
+        when(awardRepository.findStagedWithUnknownEmployee(LOAD_ID)).thenReturn(List.of(unknown));
+        when(awardRepository.countStaged(LOAD_ID)).thenReturn(STAGED_RECORDS);
+        when(awardRepository.mergeStaged(LOAD_ID)).thenReturn(WRITTEN_RECORDS);
+
+        ChunkWriteResult result = awardStagingService.merge(LOAD_ID);
+
+        assertThat(result.writtenRecords()).isEqualTo(WRITTEN_RECORDS);
+        assertThat(result.unchangedRecords()).isEqualTo(STAGED_RECORDS - WRITTEN_RECORDS - 1);
+        assertThat(result.failures()).singleElement().satisfies(failure -> {
+            assertThat(failure.record()).isSameAs(unknown);
+            assertThat(failure.error()).hasMessage("Сотрудник не найден: 999");
+        });
+        verify(employeeBatchWriter, never()).createMissing(any());
+    }
+
+    @Test
+    void merge_WithCreateMissingEmployees_ShouldCreateThemInBatches() {
+        uploadProperties.setCreateMissingEmployees(true);
+        uploadProperties.setBatchSize(2);
+        when(awardRepository.findMissingEmployees(LOAD_ID)).thenReturn(Map.of(
+                1L, "Мария Козлова", 2L, "Александр Семенов", 3L, "Ольга Смирнова"));
+        when(awardRepository.findStagedWithUnknownEmployee(LOAD_ID)).thenReturn(List.of());
+        when(awardRepository.countStaged(LOAD_ID)).thenReturn(STAGED_RECORDS);
+        when(awardRepository.mergeStaged(LOAD_ID)).thenReturn(STAGED_RECORDS);
+
+        ChunkWriteResult result = awardStagingService.merge(LOAD_ID);
+
+        assertThat(result.writtenRecords()).isEqualTo(STAGED_RECORDS);
+        assertThat(result.failures()).isEmpty();
+        verify(employeeBatchWriter, times(2)).createMissing(any());
+    }
+}
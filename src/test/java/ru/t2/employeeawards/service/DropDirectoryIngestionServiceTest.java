@@ -0,0 +1,247 @@
+package ru.t2.employeeawards.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.util.unit.DataSize;
+import ru.t2.employeeawards.config.DropDirectoryProperties;
+import ru.t2.employeeawards.config.UploadProperties;
+import ru.t2.employeeawards.dto.AwardFileRecord;
+import ru.t2.employeeawards.dto.UploadResult;
+import ru.t2.employeeawards.exception.FileParseException;
+import ru.t2.employeeawards.exception.ResourceNotFoundException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.t2.employeeawards.utils.ParserTestData.CSV_HEADER;
+
+@ExtendWith(MockitoExtension.class)
+class DropDirectoryIngestionServiceTest {
+    private static final String FILE_NAME = "awards.csv";
+    private static final int ROWS = 1_000;
+    private static final int PARALLELISM = 4;
+    private static final int BATCH_SIZE = 50;
+    private static final long FIRST_AWARD_ID = 10_000L;
+    private static final int CHUNK_ARGUMENT_INDEX = 0;
+    private static final int PROGRESS_ARGUMENT_INDEX = 1;
+    private static final long FAILURE_WAIT_SECONDS = 10;
+
+    @TempDir
+    private Path dropDirectory;
+
+    @Mock
+    private FileProcessingService fileProcessingService;
+    @Mock
+    private AwardStagingService awardStagingService;
+
+    private DropDirectoryProperties dropDirectoryProperties;
+    private UploadProperties uploadProperties;
+    private DropDirectoryIngestionService ingestionService;
+    private final List<AwardFileRecord> persistedRecords = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        dropDirectoryProperties = new DropDirectoryProperties();
+        dropDirectoryProperties.setPath(dropDirectory);
+        dropDirectoryProperties.setParallelism(PARALLELISM);
+        dropDirectoryProperties.setMinRangeSize(DataSize.ofBytes(1));
+        uploadProperties = new UploadProperties();
+        uploadProperties.setBatchSize(BATCH_SIZE);
+
+        ingestionService = new DropDirectoryIngestionService(
+                dropDirectoryProperties,
+                uploadProperties,
+                fileProcessingService,
+                new SimpleAsyncTaskExecutor("test-drop-"),
+                new UploadMetrics(new SimpleMeterRegistry()),
+                awardStagingService
+        );
+    }
+
+    @Test
+    void ingest_WithLargeFile_ShouldPersistEveryRecordOnce() throws IOException {
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        for (int i = 0; i < ROWS; i++) {
+            // Значения в кавычках с переводами строк проверяют, что части не начинаются внутри записи
+            csv.append(1247).append(",\"Козлова,\nМария\",").append(FIRST_AWARD_ID + i)
+                    .append(",\"Награда \"\"").append(i).append("\"\"\",2025-03-22\n");
+        }
+        Files.writeString(dropDirectory.resolve(FILE_NAME), csv, StandardCharsets.UTF_8);
+        capturePersistedRecords();
+
+        UploadResult result = ingestionService.ingest(FILE_NAME);
+
+        assertThat(result.totalRecords()).isEqualTo(ROWS);
+        assertThat(result.processedRecords()).isEqualTo(ROWS);
+        assertThat(persistedRecords)
+                .extracting(AwardFileRecord::getAwardExternalId)
+                .doesNotHaveDuplicates()
+                .hasSize(ROWS);
+        assertThat(persistedRecords)
+                .allSatisfy(record -> {
+                    assertThat(record.getEmployeeFullName()).isEqualTo("Козлова,\nМария");
+                    assertThat(record.getAwardName())
+                            .isEqualTo("Награда \"" + (record.getAwardExternalId() - FIRST_AWARD_ID) + "\"");
+                    assertThat(record.getReceivedDate()).isEqualTo(LocalDate.of(2025, 3, 22));
+                });
+    }
+
+    @Test
+    void ingest_WithRepeatedAwardInOneRange_ShouldPersistLastRowLast() throws IOException {
+        // Файл меньше минимального размера части обрабатывается одной частью
+        dropDirectoryProperties.setMinRangeSize(DataSize.ofGigabytes(1));
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        csv.append("1247,Мария Козлова,").append(FIRST_AWARD_ID).append(",Старое название,2025-03-22\n");
+        for (int i = 1; i < ROWS; i++) {
+            csv.append("1247,Мария Козлова,").append(FIRST_AWARD_ID + i).append(",Награда,2025-03-22\n");
+        }
+        csv.append("1247,Мария Козлова,").append(FIRST_AWARD_ID).append(",Новое название,2025-03-22\n");
+        Files.writeString(dropDirectory.resolve(FILE_NAME), csv, StandardCharsets.UTF_8);
+        capturePersistedRecords();
+
+        ingestionService.ingest(FILE_NAME);
+
+        // Пачки одной части сохраняются по порядку, поэтому последняя запись награды заменяет первую
+        assertThat(persistedRecords)
+                .filteredOn(record -> record.getAwardExternalId() == FIRST_AWARD_ID)
+                .extracting(AwardFileRecord::getAwardName)
+                .containsExactly("Старое название", "Новое название");
+    }
+
+    @Test
+    void ingest_WithStagingEnabled_ShouldStageRecordsInFileOrderAndMergeOnce() throws IOException {
+        uploadProperties.getStaging().setEnabled(true);
+        UUID loadId = UUID.randomUUID();
+        when(awardStagingService.startLoad()).thenReturn(loadId);
+        Map<Long, List<AwardFileRecord>> stagedChunks = Collections.synchronizedMap(new TreeMap<>());
+        doAnswer(invocation -> {
+            long firstRowNumber = invocation.getArgument(1);
+            List<AwardFileRecord> chunk = invocation.getArgument(2);
+            stagedChunks.put(firstRowNumber, chunk);
+            return null;
+        }).when(awardStagingService).stage(eq(loadId), anyLong(), anyList());
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        for (int i = 0; i < ROWS; i++) {
+            csv.append("1247,Мария Козлова,").append(FIRST_AWARD_ID + i).append(",Награда,2025-03-22\n");
+        }
+        Files.writeString(dropDirectory.resolve(FILE_NAME), csv, StandardCharsets.UTF_8);
+
+        UploadResult result = ingestionService.ingest(FILE_NAME);
+
+        assertThat(result.totalRecords()).isEqualTo(ROWS);
+        // Номера записей упорядочивают пачки всех частей в порядке следования в файле
+        assertThat(stagedChunks.values().stream().flatMap(List::stream).map(AwardFileRecord::getAwardExternalId))
+                .containsExactlyElementsOf(LongStream.range(FIRST_AWARD_ID, FIRST_AWARD_ID + ROWS)
+                        .boxed().toList());
+        verify(fileProcessingService).mergeStaged(eq(loadId), any());
+        verify(fileProcessingService, never()).persistChunk(anyList(), any());
+        verify(awardStagingService).discard(loadId);
+    }
+
+    @Test
+    void ingest_WithInvalidRow_ShouldReportLineNumberOfWholeFile() throws IOException {
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        for (int i = 0; i < ROWS; i++) {
+            csv.append("1247,Мария Козлова,").append(FIRST_AWARD_ID + i).append(",Награда,2025-03-22\n");
+        }
+        csv.append("1247,\"Мария Козлова,1,Награда,2025-03-22\n");
+        Files.writeString(dropDirectory.resolve(FILE_NAME), csv, StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> ingestionService.ingest(FILE_NAME))
+                .isInstanceOf(FileParseException.class)
+                .hasMessageContaining("незакрытые кавычки в строке " + (ROWS + 2));
+    }
+
+    @Test
+    void ingest_WhenLaterRangeFails_ShouldStopFirstRangeWithoutWaitingForIt() throws IOException {
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        for (int i = 0; i < ROWS; i++) {
+            csv.append("1247,Мария Козлова,").append(FIRST_AWARD_ID + i).append(",Награда,2025-03-22\n");
+        }
+        Files.writeString(dropDirectory.resolve(FILE_NAME), csv, StandardCharsets.UTF_8);
+        long lastAwardId = FIRST_AWARD_ID + ROWS - 1;
+        CountDownLatch lastRangeFailing = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            List<AwardFileRecord> chunk = invocation.getArgument(CHUNK_ARGUMENT_INDEX);
+            long firstAwardId = chunk.get(0).getAwardExternalId();
+            if (firstAwardId == FIRST_AWARD_ID) {
+                // Первая часть ждет, пока не упадет последняя, и только потом продолжает разбор
+                assertThat(lastRangeFailing.await(FAILURE_WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+            } else if (chunk.get(chunk.size() - 1).getAwardExternalId() == lastAwardId) {
+                lastRangeFailing.countDown();
+                throw new IllegalStateException("Ошибка записи последней пачки");
+            }
+            persistedRecords.addAll(chunk);
+            return null;
+        }).when(fileProcessingService).persistChunk(anyList(), any());
+
+        assertThatThrownBy(() -> ingestionService.ingest(FILE_NAME))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Ошибка записи последней пачки");
+        // Первая половина первой части (около ROWS / PARALLELISM записей): после ошибки первая часть
+        // успевает записать не больше одной пачки
+        assertThat(persistedRecords)
+                .filteredOn(record -> record.getAwardExternalId() < FIRST_AWARD_ID + ROWS / PARALLELISM / 2)
+                .hasSizeLessThanOrEqualTo(2 * BATCH_SIZE);
+    }
+
+    @Test
+    void ingest_WithPathOutsideDirectory_ShouldReject() {
+        assertThatThrownBy(() -> ingestionService.ingest("../awards.csv"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Недопустимое имя файла: ../awards.csv");
+        verify(fileProcessingService, never()).persistChunk(anyList(), any());
+    }
+
+    @Test
+    void ingest_WithMissingFile_ShouldThrowNotFound() {
+        assertThatThrownBy(() -> ingestionService.ingest(FILE_NAME))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Файл не найден: " + FILE_NAME);
+    }
+
+    @Test
+    void ingest_WithNonCsvFile_ShouldThrowException() {
+        assertThatThrownBy(() -> ingestionService.ingest("awards.xlsx"))
+                .isInstanceOf(FileParseException.class)
+                .hasMessage("Неподдерживаемый тип файла: awards.xlsx");
+    }
+
+    private void capturePersistedRecords() {
+        doAnswer(invocation -> {
+            List<AwardFileRecord> chunk = invocation.getArgument(CHUNK_ARGUMENT_INDEX);
+            UploadProgress progress = invocation.getArgument(PROGRESS_ARGUMENT_INDEX);
+            persistedRecords.addAll(chunk);
+            progress.recordProcessed(chunk.size());
+            return null;
+        }).when(fileProcessingService).persistChunk(anyList(), any());
+    }
+}
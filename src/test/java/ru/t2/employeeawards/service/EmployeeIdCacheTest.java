@@ -0,0 +1,102 @@
+package ru.t2.employeeawards.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.t2.employeeawards.config.EmployeeCacheProperties;
+import ru.t2.employeeawards.dto.EmployeeCacheStats;
+import ru.t2.employeeawards.dto.EmployeeIdView;
+import ru.t2.employeeawards.repository.EmployeeRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeIdCacheTest {
+    private static final long EMPLOYEE_ID = 1L;
+    private static final long EMPLOYEE_EXTERNAL_ID = 1247L;
+    private static final long MISSING_EXTERNAL_ID = 9999L;
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final Duration NEGATIVE_TTL = Duration.ofSeconds(30);
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private EmployeeIdCache employeeIdCache;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeCacheProperties properties = new EmployeeCacheProperties();
+        properties.setTtl(TTL);
+        properties.setNegativeTtl(NEGATIVE_TTL);
+        employeeIdCache = new EmployeeIdCache(employeeRepository, properties, nanoTime::get);
+    }
+
+    @Test
+    void resolveEmployeeIds_WhenCalledTwice_ShouldQueryDatabaseOnce() {
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of(createEmployee()));
+
+        Map<Long, Long> first = employeeIdCache.resolveEmployeeIds(Set.of(EMPLOYEE_EXTERNAL_ID, MISSING_EXTERNAL_ID));
+        Map<Long, Long> second = employeeIdCache.resolveEmployeeIds(Set.of(EMPLOYEE_EXTERNAL_ID, MISSING_EXTERNAL_ID));
+
+        assertThat(first).containsExactly(Map.entry(EMPLOYEE_EXTERNAL_ID, EMPLOYEE_ID));
+        assertThat(second).isEqualTo(first);
+        verify(employeeRepository, times(1)).findIdsByEmployeeExternalIdIn(anyCollection());
+
+        EmployeeCacheStats stats = employeeIdCache.getStats();
+        assertThat(stats.missCount()).isEqualTo(2);
+        assertThat(stats.hitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void resolveEmployeeIds_AfterNegativeTtl_ShouldReloadOnlyMissingEmployee() {
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of(createEmployee()));
+        employeeIdCache.resolveEmployeeIds(Set.of(EMPLOYEE_EXTERNAL_ID, MISSING_EXTERNAL_ID));
+
+        nanoTime.addAndGet(NEGATIVE_TTL.plusSeconds(1).toNanos());
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of());
+        Map<Long, Long> resolved = employeeIdCache.resolveEmployeeIds(Set.of(EMPLOYEE_EXTERNAL_ID, MISSING_EXTERNAL_ID));
+
+        assertThat(resolved).containsExactly(Map.entry(EMPLOYEE_EXTERNAL_ID, EMPLOYEE_ID));
+        verify(employeeRepository).findIdsByEmployeeExternalIdIn(Set.of(MISSING_EXTERNAL_ID));
+    }
+
+    @Test
+    void invalidate_ShouldReloadEmployeeOnNextLookup() {
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of());
+        employeeIdCache.resolveEmployeeIds(Set.of(EMPLOYEE_EXTERNAL_ID));
+
+        employeeIdCache.invalidate(EMPLOYEE_EXTERNAL_ID);
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of(createEmployee()));
+        Map<Long, Long> resolved = employeeIdCache.resolveEmployeeIds(Set.of(EMPLOYEE_EXTERNAL_ID));
+
+        assertThat(resolved).containsEntry(EMPLOYEE_EXTERNAL_ID, EMPLOYEE_ID);
+        verify(employeeRepository, times(2)).findIdsByEmployeeExternalIdIn(Set.of(EMPLOYEE_EXTERNAL_ID));
+    }
+
+    @Test
+    void invalidateByEmployeeId_ShouldRemoveEntriesPointingToEmployee() {
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of(createEmployee()));
+        employeeIdCache.resolveEmployeeIds(Set.of(EMPLOYEE_EXTERNAL_ID));
+
+        employeeIdCache.invalidateByEmployeeId(EMPLOYEE_ID);
+
+        assertThat(employeeIdCache.getStats().size()).isZero();
+    }
+
+    private EmployeeIdView createEmployee() {
+        return new EmployeeIdView(EMPLOYEE_EXTERNAL_ID, EMPLOYEE_ID);
+    }
+}
@@ -0,0 +1,101 @@
+package ru.t2.employeeawards.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import ru.t2.employeeawards.config.UploadProperties;
+import ru.t2.employeeawards.dto.EmployeeFileRecord;
+import ru.t2.employeeawards.dto.UploadResult;
+import ru.t2.employeeawards.factory.FileFactory;
+import ru.t2.employeeawards.parser.impl.CsvRecordParser;
+import ru.t2.employeeawards.parser.impl.EmployeeRecordMapper;
+import ru.t2.employeeawards.validator.FileValidator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeImportServiceTest {
+    private static final String FILE_NAME = "employees.csv";
+    private static final String HEADER = "ID сотрудника,ФИО сотрудника\n";
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private FileValidator fileValidator;
+    @Mock
+    private FileFactory fileFactory;
+    @Mock
+    private EmployeeBatchWriter employeeBatchWriter;
+
+    private EmployeeImportService employeeImportService;
+
+    @BeforeEach
+    void setUp() {
+        UploadProperties uploadProperties = new UploadProperties();
+        uploadProperties.setBatchSize(BATCH_SIZE);
+        employeeImportService = new EmployeeImportService(fileValidator, fileFactory, employeeBatchWriter, uploadProperties);
+        when(fileFactory.getParser(eq(FILE_NAME), any(EmployeeRecordMapper.class)))
+                .thenReturn(new CsvRecordParser<>(EmployeeRecordMapper.INSTANCE));
+    }
+
+    @Test
+    void importFile_ShouldWriteEmployeesInChunks() {
+        when(employeeBatchWriter.writeChunk(anyList()))
+                .thenReturn(new ChunkWriteResult(2, 0, List.of()))
+                .thenReturn(new ChunkWriteResult(0, 1, List.of()));
+
+        UploadResult result = employeeImportService.importFile(createFile(
+                "1247,Мария Козлова\n2859,Александр Семенов\n3102,Ольга Смирнова\n"));
+
+        assertThat(result.totalRecords()).isEqualTo(3);
+        assertThat(result.processedRecords()).isEqualTo(2);
+        assertThat(result.unchangedRecords()).isEqualTo(1);
+        assertThat(result.skippedRecords()).isZero();
+        verify(fileValidator).validate(FILE_NAME);
+        verify(employeeBatchWriter, times(2)).writeChunk(anyList());
+    }
+
+    @Test
+    void importFile_WithBlankFullName_ShouldSkipRecord() {
+        when(employeeBatchWriter.writeChunk(anyList())).thenReturn(new ChunkWriteResult(1, 0, List.of()));
+
+        UploadResult result = employeeImportService.importFile(createFile("1247,Мария Козлова\n2859,\n"));
+
+        assertThat(result.processedRecords()).isEqualTo(1);
+        assertThat(result.skippedRecords()).isEqualTo(1);
+        assertThat(result.errors()).singleElement().asString().contains("2859");
+    }
+
+    @Test
+    void importFile_WhenChunkFails_ShouldRetryRecordsOneByOne() {
+        when(employeeBatchWriter.writeChunk(anyList())).thenAnswer(invocation -> {
+            List<EmployeeFileRecord> chunk = invocation.getArgument(0);
+            if (chunk.stream().anyMatch(record -> record.getEmployeeExternalId() == 2859L)) {
+                throw new IllegalStateException("Ошибка записи");
+            }
+            return new ChunkWriteResult(chunk.size(), 0, List.of());
+        });
+
+        UploadResult result = employeeImportService.importFile(createFile("1247,Мария Козлова\n2859,Александр Семенов\n"));
+
+        assertThat(result.processedRecords()).isEqualTo(1);
+        assertThat(result.skippedRecords()).isEqualTo(1);
+        verify(employeeBatchWriter).writeChunk(argThat(chunk -> chunk.size() == BATCH_SIZE));
+    }
+
+    private MockMultipartFile createFile(String rows) {
+        return new MockMultipartFile("file", FILE_NAME, "text/csv", (HEADER + rows).getBytes(StandardCharsets.UTF_8));
+    }
+}
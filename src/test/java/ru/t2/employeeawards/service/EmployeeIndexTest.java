@@ -0,0 +1,131 @@
+package ru.t2.employeeawards.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.t2.employeeawards.config.EmployeeIndexProperties;
+import ru.t2.employeeawards.repository.EmployeeIdRepository.EmployeeIdConsumer;
+import ru.t2.employeeawards.repository.EmployeeRepository;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeIndexTest {
+    private static final long EMPLOYEE_ID = 1L;
+    private static final long EMPLOYEE_EXTERNAL_ID = 1247L;
+    private static final long OTHER_EMPLOYEE_ID = 2L;
+    private static final long OTHER_EXTERNAL_ID = 1248L;
+    private static final long MISSING_EXTERNAL_ID = 9999L;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeIndexProperties properties;
+    private EmployeeIndex employeeIndex;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EmployeeIndexProperties();
+        properties.setEnabled(true);
+        employeeIndex = new EmployeeIndex(employeeRepository, properties);
+    }
+
+    @Test
+    void resolveEmployeeIds_WhenLoaded_ShouldNotQueryDatabase() {
+        loadEmployees();
+
+        Map<Long, Long> resolved = employeeIndex.resolveEmployeeIds(Set.of(EMPLOYEE_EXTERNAL_ID, MISSING_EXTERNAL_ID));
+
+        assertThat(resolved).containsExactly(Map.entry(EMPLOYEE_EXTERNAL_ID, EMPLOYEE_ID));
+        assertThat(employeeIndex.size()).isEqualTo(2);
+        verify(employeeRepository, never()).findIdsByEmployeeExternalIdIn(any());
+    }
+
+    @Test
+    void resolveEmployeeIds_WhenNotLoaded_ShouldThrowException() {
+        assertThat(employeeIndex.isLoaded()).isFalse();
+        assertThatThrownBy(() -> employeeIndex.resolveEmployeeIds(Set.of(EMPLOYEE_EXTERNAL_ID)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void load_WhenDisabled_ShouldNotQueryDatabase() {
+        properties.setEnabled(false);
+
+        employeeIndex.load();
+
+        assertThat(employeeIndex.isLoaded()).isFalse();
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void load_WhenQueryFails_ShouldKeepIndexUnloaded() {
+        when(employeeRepository.count()).thenReturn(1L);
+        when(employeeRepository.forEachEmployeeId(anyInt(), any())).thenThrow(new IllegalStateException("БД недоступна"));
+
+        employeeIndex.load();
+
+        assertThat(employeeIndex.isLoaded()).isFalse();
+    }
+
+    @Test
+    void employeeSaved_WhenExternalIdChanged_ShouldReplaceOldEntry() {
+        loadEmployees();
+
+        employeeIndex.employeeSaved(MISSING_EXTERNAL_ID, EMPLOYEE_ID, false);
+
+        assertThat(employeeIndex.resolveEmployeeIds(Set.of(EMPLOYEE_EXTERNAL_ID, MISSING_EXTERNAL_ID)))
+                .containsExactly(Map.entry(MISSING_EXTERNAL_ID, EMPLOYEE_ID));
+    }
+
+    @Test
+    void employeeRemoved_ShouldRemoveEntry() {
+        loadEmployees();
+
+        employeeIndex.employeeRemoved(OTHER_EMPLOYEE_ID);
+
+        assertThat(employeeIndex.resolveEmployeeIds(Set.of(OTHER_EXTERNAL_ID))).isEmpty();
+        assertThat(employeeIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    void load_WhenEmployeeChangedDuringLoad_ShouldApplyChange() {
+        when(employeeRepository.count()).thenReturn(1L);
+        when(employeeRepository.forEachEmployeeId(anyInt(), any())).thenAnswer(invocation -> {
+            EmployeeIdConsumer consumer = invocation.getArgument(1);
+            consumer.accept(EMPLOYEE_EXTERNAL_ID, EMPLOYEE_ID);
+            // Сотрудник создан после того, как курсор прочитал свой снимок
+            employeeIndex.employeeSaved(OTHER_EXTERNAL_ID, OTHER_EMPLOYEE_ID, true);
+            return 1L;
+        });
+
+        employeeIndex.load();
+
+        assertThat(employeeIndex.resolveEmployeeIds(Set.of(EMPLOYEE_EXTERNAL_ID, OTHER_EXTERNAL_ID)))
+                .containsOnly(Map.entry(EMPLOYEE_EXTERNAL_ID, EMPLOYEE_ID), Map.entry(OTHER_EXTERNAL_ID, OTHER_EMPLOYEE_ID));
+    }
+
+    private void loadEmployees() {
+        when(employeeRepository.count()).thenReturn(2L);
+        when(employeeRepository.forEachEmployeeId(anyInt(), any())).thenAnswer(invocation -> {
+            EmployeeIdConsumer consumer = invocation.getArgument(1);
+            consumer.accept(EMPLOYEE_EXTERNAL_ID, EMPLOYEE_ID);
+            consumer.accept(OTHER_EXTERNAL_ID, OTHER_EMPLOYEE_ID);
+            return 2L;
+        });
+        employeeIndex.load();
+        assertThat(employeeIndex.isLoaded()).isTrue();
+    }
+}
@@ -0,0 +1,109 @@
+package ru.t2.employeeawards.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import ru.t2.employeeawards.dto.UploadResult;
+import ru.t2.employeeawards.model.Employee;
+import ru.t2.employeeawards.repository.AwardRepository;
+import ru.t2.employeeawards.repository.EmployeeRepository;
+import ru.t2.employeeawards.utils.JdbcStatementCounter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.t2.employeeawards.utils.ParserTestData.CSV_HEADER;
+
+/*
+ * Проверяет, что сохранение большого файла выполняется JDBC пачками, а не отдельным запросом на строку
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@Import(JdbcStatementCounter.class)
+class FileProcessingServiceBatchingTest {
+    private static final int ROWS = 10_000;
+    private static final long EMPLOYEE_EXTERNAL_ID = 7001L;
+    private static final long FIRST_AWARD_EXTERNAL_ID = 100_000L;
+    // Без пакетной записи одних только INSERT было бы ROWS штук
+    private static final long MAX_STATEMENTS = ROWS / 10;
+
+    @Autowired
+    private FileProcessingService fileProcessingService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private AwardRepository awardRepository;
+    @Autowired
+    private JdbcStatementCounter statementCounter;
+
+    @BeforeEach
+    void setUp() {
+        Employee employee = new Employee();
+        employee.setFullName("Мария Козлова");
+        employee.setEmployeeExternalId(EMPLOYEE_EXTERNAL_ID);
+        employeeRepository.save(employee);
+    }
+
+    @AfterEach
+    void tearDown() {
+        awardRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void processFile_With10kRows_ShouldUseBatchedStatements() {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "awards.csv", "text/csv", buildCsv().getBytes(StandardCharsets.UTF_8));
+        statementCounter.reset();
+
+        UploadResult result = fileProcessingService.processFile(file);
+
+        assertThat(result.processedRecords()).isEqualTo(ROWS);
+        assertThat(result.skippedRecords()).isZero();
+        assertThat(statementCounter.getExecutedStatements()).isLessThan(MAX_STATEMENTS);
+        assertThat(awardRepository.count()).isEqualTo(ROWS);
+    }
+
+    @Test
+    void processFile_WhenReuploadedWithOneChangedRow_ShouldWriteOnlyThatRow() {
+        fileProcessingService.processFile(csvFile(buildCsv()));
+        String changedCsv = buildCsv().replace(",Награда 0,", ",Награда 0 (исправлено),");
+
+        UploadResult result = fileProcessingService.processFile(csvFile(changedCsv));
+
+        assertThat(result.processedRecords()).isEqualTo(1);
+        assertThat(result.unchangedRecords()).isEqualTo(ROWS - 1);
+        assertThat(awardRepository.findByAwardExternalId(FIRST_AWARD_EXTERNAL_ID).orElseThrow().getAwardName())
+                .isEqualTo("Награда 0 (исправлено)");
+
+        statementCounter.reset();
+        UploadResult repeated = fileProcessingService.processFile(csvFile(changedCsv));
+
+        // Без кэша результатов файл разбирается заново, но ни одна строка не записывается
+        assertThat(repeated.processedRecords()).isZero();
+        assertThat(repeated.unchangedRecords()).isEqualTo(ROWS);
+        assertThat(statementCounter.getExecutedWrites()).isZero();
+    }
+
+    private MockMultipartFile csvFile(String csv) {
+        return new MockMultipartFile("file", "awards.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String buildCsv() {
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        LocalDate receivedDate = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < ROWS; i++) {
+            csv.append(EMPLOYEE_EXTERNAL_ID).append(",Мария Козлова,")
+                    .append(FIRST_AWARD_EXTERNAL_ID + i).append(",Награда ").append(i).append(',')
+                    .append(receivedDate.plusDays(i % 365)).append('\n');
+        }
+        return csv.toString();
+    }
+}
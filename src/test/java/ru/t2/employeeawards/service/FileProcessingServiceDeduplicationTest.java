@@ -0,0 +1,73 @@
+package ru.t2.employeeawards.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import ru.t2.employeeawards.dto.UploadResult;
+import ru.t2.employeeawards.model.Employee;
+import ru.t2.employeeawards.repository.AwardRepository;
+import ru.t2.employeeawards.repository.EmployeeRepository;
+import ru.t2.employeeawards.utils.JdbcStatementCounter;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.t2.employeeawards.utils.ParserTestData.CSV_HEADER;
+
+/*
+ * Проверяет, что с включенной дедупликацией повторная загрузка того же файла не обращается к БД
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "awards.upload.deduplication.enabled=true"
+})
+@Import(JdbcStatementCounter.class)
+class FileProcessingServiceDeduplicationTest {
+    private static final long EMPLOYEE_EXTERNAL_ID = 7002L;
+    private static final String CSV = CSV_HEADER + "\n"
+            + EMPLOYEE_EXTERNAL_ID + ",Мария Козлова,200001,Награда 1,2025-01-01\n"
+            + EMPLOYEE_EXTERNAL_ID + ",Мария Козлова,200002,Награда 2,2025-01-02\n";
+
+    @Autowired
+    private FileProcessingService fileProcessingService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private AwardRepository awardRepository;
+    @Autowired
+    private JdbcStatementCounter statementCounter;
+
+    @BeforeEach
+    void setUp() {
+        Employee employee = new Employee();
+        employee.setFullName("Мария Козлова");
+        employee.setEmployeeExternalId(EMPLOYEE_EXTERNAL_ID);
+        employeeRepository.save(employee);
+    }
+
+    @AfterEach
+    void tearDown() {
+        awardRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void processFile_WhenSameFileUploadedAgain_ShouldReturnPreviousResultWithoutQueries() {
+        UploadResult result = fileProcessingService.processFile(csvFile());
+
+        statementCounter.reset();
+        UploadResult repeated = fileProcessingService.processFile(csvFile());
+
+        assertThat(repeated).isEqualTo(result);
+        assertThat(statementCounter.getExecutedStatements()).isZero();
+    }
+
+    private MockMultipartFile csvFile() {
+        return new MockMultipartFile("file", "awards.csv", "text/csv", CSV.getBytes(StandardCharsets.UTF_8));
+    }
+}
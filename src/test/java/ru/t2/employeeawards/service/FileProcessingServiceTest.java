@@ -1,28 +1,41 @@
 package ru.t2.employeeawards.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.web.multipart.MultipartFile;
+import ru.t2.employeeawards.config.EmployeeCacheProperties;
+import ru.t2.employeeawards.config.EmployeeIndexProperties;
+import ru.t2.employeeawards.config.UploadProperties;
 import ru.t2.employeeawards.dto.AwardFileRecord;
+import ru.t2.employeeawards.dto.AwardState;
+import ru.t2.employeeawards.dto.AwardUpsert;
+import ru.t2.employeeawards.dto.EmployeeIdView;
+import ru.t2.employeeawards.dto.EmployeeUpsert;
 import ru.t2.employeeawards.dto.UploadResult;
 import ru.t2.employeeawards.exception.FileParseException;
 import ru.t2.employeeawards.factory.FileFactory;
 import ru.t2.employeeawards.model.Award;
-import ru.t2.employeeawards.model.Employee;
 import ru.t2.employeeawards.parser.FileParser;
 import ru.t2.employeeawards.repository.AwardRepository;
 import ru.t2.employeeawards.repository.EmployeeRepository;
 import ru.t2.employeeawards.validator.FileValidator;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -32,15 +45,28 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class FileProcessingServiceTest {
     private static final String TEST_FILE_NAME = "test.csv";
+    // Содержимое нужно только для хеша файла: записи возвращает мок парсера
+    private static final String FILE_CONTENT = "содержимое файла";
+    private static final long EMPLOYEE_ID = 1L;
     private static final long VALID_EMPLOYEE_ID = 1247L;
     private static final long INVALID_EMPLOYEE_ID = 9999L;
     private static final long VALID_AWARD_ID = 891L;
+    private static final long SECOND_AWARD_ID = 892L;
+    private static final long INVALID_AWARD_ID = 500L;
+    private static final long STORED_AWARD_ID = 77L;
 
     private static final int NO_RECORDS = 0;
     private static final int ONE_RECORD = 1;
     private static final int ONE_ERROR = 1;
     private static final int ONE_SAVE_OPERATION = 1;
+    private static final int TWO_RECORDS = 2;
+    private static final int BATCH_SIZE = 2;
+    private static final int PIPELINE_WRITERS = 2;
+    private static final int PIPELINE_QUEUE_CAPACITY = 1;
+    private static final int PIPELINE_RECORDS = 5;
+    private static final int PIPELINE_CHUNKS = 3;
     private static final int FIRST_ARGUMENT_INDEX = 0;
+    private static final int SECOND_ARGUMENT_INDEX = 1;
 
     @Mock
     private FileValidator fileValidator;
@@ -51,20 +77,23 @@ class FileProcessingServiceTest {
     @Mock
     private AwardRepository awardRepository;
     @Mock
-    private FileParser fileParser;
+    private FileParser<AwardFileRecord> fileParser;
     @Mock
     private MultipartFile multipartFile;
+    @Mock
+    private AwardStagingService awardStagingService;
 
-    @InjectMocks
     private FileProcessingService fileProcessingService;
+    private UploadProperties uploadProperties;
+    private SimpleMeterRegistry meterRegistry;
 
-    private Employee employee;
+    private EmployeeIdView employee;
     private AwardFileRecord validRecord;
     private AwardFileRecord invalidRecord;
 
     @BeforeEach
     void setUp() throws IOException {
-        employee = createEmployee(VALID_EMPLOYEE_ID, "Мария Козлова");
+        employee = new EmployeeIdView(VALID_EMPLOYEE_ID, EMPLOYEE_ID);
         validRecord = createRecord(new RecordData(
                 VALID_EMPLOYEE_ID,
                 "Мария Козлова",
@@ -75,76 +104,329 @@ class FileProcessingServiceTest {
         invalidRecord = createRecord(new RecordData(
                 INVALID_EMPLOYEE_ID,
                 "Несуществующий",
-                500L,
+                INVALID_AWARD_ID,
                 "Награда",
                 LocalDate.of(2025, 1, 1)
         ));
 
+        uploadProperties = new UploadProperties();
+        uploadProperties.setBatchSize(BATCH_SIZE);
+        uploadProperties.getDeduplication().setEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+        UploadMetrics uploadMetrics = new UploadMetrics(meterRegistry);
+        UploadResultCache uploadResultCache = new UploadResultCache(uploadProperties);
+        EmployeeIdCache employeeIdCache = new EmployeeIdCache(employeeRepository, new EmployeeCacheProperties());
+        EmployeeIndex employeeIndex = new EmployeeIndex(employeeRepository, new EmployeeIndexProperties());
+        fileProcessingService = new FileProcessingService(
+                fileValidator,
+                fileFactory,
+                new AwardBatchWriter(employeeIdCache, employeeIndex, awardRepository, uploadMetrics, uploadResultCache,
+                        new EmployeeBatchWriter(employeeRepository, employeeIdCache, employeeIndex, uploadResultCache),
+                        uploadProperties),
+                uploadProperties,
+                new SimpleAsyncTaskExecutor("test-writer-"),
+                uploadMetrics,
+                uploadResultCache,
+                awardStagingService
+        );
+
         lenient().when(multipartFile.getOriginalFilename()).thenReturn(TEST_FILE_NAME);
-        lenient().when(multipartFile.getInputStream()).thenReturn(mock(InputStream.class));
+        lenient().when(multipartFile.getInputStream())
+                .thenAnswer(invocation -> new ByteArrayInputStream(FILE_CONTENT.getBytes(StandardCharsets.UTF_8)));
     }
 
     @Test
     void processFile_WithValidRecord_ShouldProcessSuccessfully() throws IOException {
         setupParserMock(List.of(validRecord));
-        when(employeeRepository.findByEmployeeExternalId(VALID_EMPLOYEE_ID)).thenReturn(Optional.of(employee));
-        when(awardRepository.findByAwardExternalId(VALID_AWARD_ID)).thenReturn(Optional.empty());
-        when(awardRepository.save(any(Award.class))).thenAnswer(invocation -> invocation.getArgument(FIRST_ARGUMENT_INDEX));
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of(employee));
 
         UploadResult result = fileProcessingService.processFile(multipartFile);
 
         assertThat(result.processedRecords()).isEqualTo(ONE_RECORD);
         assertThat(result.skippedRecords()).isEqualTo(NO_RECORDS);
-        verify(awardRepository).save(any(Award.class));
+        verify(awardRepository).upsertAll(List.of(new AwardUpsert(
+                VALID_AWARD_ID, "Награда", LocalDate.of(2025, 3, 22), EMPLOYEE_ID
+        )));
     }
 
     @Test
     void processFile_WithNonExistentEmployee_ShouldSkipRecord() throws IOException {
         setupParserMock(List.of(invalidRecord));
-        when(employeeRepository.findByEmployeeExternalId(INVALID_EMPLOYEE_ID)).thenReturn(Optional.empty());
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of());
 
         UploadResult result = fileProcessingService.processFile(multipartFile);
 
         assertThat(result.processedRecords()).isEqualTo(NO_RECORDS);
         assertThat(result.skippedRecords()).isEqualTo(ONE_RECORD);
         assertThat(result.errors()).hasSize(ONE_ERROR);
-        verify(awardRepository, never()).save(any(Award.class));
+        verify(awardRepository, never()).upsertAll(argThat(upserts -> !upserts.isEmpty()));
+    }
+
+    @Test
+    void processFile_WithNonExistentEmployeeAndCreateMissingEnabled_ShouldCreateEmployee() throws IOException {
+        uploadProperties.setCreateMissingEmployees(true);
+        setupParserMock(List.of(invalidRecord));
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of());
+        when(employeeRepository.insertMissing(anyList())).thenReturn(ONE_RECORD);
+        when(employeeRepository.findEmployeeIds(anyCollection())).thenReturn(Map.of(INVALID_EMPLOYEE_ID, EMPLOYEE_ID));
+
+        UploadResult result = fileProcessingService.processFile(multipartFile);
+
+        assertThat(result.processedRecords()).isEqualTo(ONE_RECORD);
+        assertThat(result.skippedRecords()).isEqualTo(NO_RECORDS);
+        verify(employeeRepository).insertMissing(List.of(new EmployeeUpsert(INVALID_EMPLOYEE_ID, "Несуществующий")));
+        verify(awardRepository).upsertAll(List.of(new AwardUpsert(
+                INVALID_AWARD_ID, "Награда", LocalDate.of(2025, 1, 1), EMPLOYEE_ID
+        )));
+    }
+
+    @Test
+    void processFile_WithUnchangedRecord_ShouldSkipWrite() throws IOException {
+        setupParserMock(List.of(validRecord));
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of(employee));
+        AwardUpsert stored = new AwardUpsert(VALID_AWARD_ID, "Награда", LocalDate.of(2025, 3, 22), EMPLOYEE_ID);
+        when(awardRepository.findStates(anyCollection()))
+                .thenReturn(Map.of(VALID_AWARD_ID, AwardState.of(STORED_AWARD_ID, stored)));
+
+        UploadResult result = fileProcessingService.processFile(multipartFile);
+
+        assertThat(result.totalRecords()).isEqualTo(ONE_RECORD);
+        assertThat(result.processedRecords()).isEqualTo(NO_RECORDS);
+        assertThat(result.unchangedRecords()).isEqualTo(ONE_RECORD);
+        verify(awardRepository, never()).upsertAll(argThat(upserts -> !upserts.isEmpty()));
+        verify(awardRepository, never()).updateAll(argThat(updates -> !updates.isEmpty()));
+    }
+
+    @Test
+    void processFile_WithChangedRecord_ShouldWriteIt() throws IOException {
+        setupParserMock(List.of(validRecord));
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of(employee));
+        AwardUpsert stored = new AwardUpsert(VALID_AWARD_ID, "Прежняя награда", LocalDate.of(2025, 3, 22), EMPLOYEE_ID);
+        when(awardRepository.findStates(anyCollection()))
+                .thenReturn(Map.of(VALID_AWARD_ID, AwardState.of(STORED_AWARD_ID, stored)));
+
+        UploadResult result = fileProcessingService.processFile(multipartFile);
+
+        assertThat(result.processedRecords()).isEqualTo(ONE_RECORD);
+        assertThat(result.unchangedRecords()).isEqualTo(NO_RECORDS);
+        // Существующая награда обновляется по первичному ключу, upsert не нужен
+        verify(awardRepository).updateAll(List.of(AwardState.of(STORED_AWARD_ID,
+                new AwardUpsert(VALID_AWARD_ID, "Награда", LocalDate.of(2025, 3, 22), EMPLOYEE_ID))));
+        verify(awardRepository, never()).upsertAll(argThat(upserts -> !upserts.isEmpty()));
+    }
+
+    @Test
+    void processFile_WhenChangedAwardWasDeleted_ShouldInsertItAgain() throws IOException {
+        setupParserMock(List.of(validRecord));
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of(employee));
+        AwardUpsert stored = new AwardUpsert(VALID_AWARD_ID, "Прежняя награда", LocalDate.of(2025, 3, 22), EMPLOYEE_ID);
+        when(awardRepository.findStates(anyCollection()))
+                .thenReturn(Map.of(VALID_AWARD_ID, AwardState.of(STORED_AWARD_ID, stored)));
+        when(awardRepository.updateAll(anyList())).thenAnswer(invocation -> invocation.getArgument(FIRST_ARGUMENT_INDEX));
+
+        UploadResult result = fileProcessingService.processFile(multipartFile);
+
+        assertThat(result.processedRecords()).isEqualTo(ONE_RECORD);
+        verify(awardRepository).upsertAll(List.of(new AwardUpsert(
+                VALID_AWARD_ID, "Награда", LocalDate.of(2025, 3, 22), EMPLOYEE_ID
+        )));
+    }
+
+    @Test
+    void processFile_WithSameFileUploadedTwice_ShouldReturnPreviousResult() throws IOException {
+        setupParserMock(List.of(validRecord));
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of(employee));
+
+        UploadResult first = fileProcessingService.processFile(multipartFile);
+        UploadResult second = fileProcessingService.processFile(multipartFile);
+
+        assertThat(second).isEqualTo(first);
+        verify(fileParser, times(ONE_SAVE_OPERATION)).parse(any(InputStream.class), any());
+        assertThat(meterRegistry.get("awards.upload.files.reused").counter().count()).isEqualTo(ONE_RECORD);
+    }
+
+    @Test
+    void processFile_WithSameFileWithErrors_ShouldProcessItAgain() throws IOException {
+        setupParserMock(List.of(invalidRecord));
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of());
+
+        fileProcessingService.processFile(multipartFile);
+        fileProcessingService.processFile(multipartFile);
+
+        verify(fileParser, times(TWO_RECORDS)).parse(any(InputStream.class), any());
+    }
+
+    @Test
+    void processFile_WithMixedRecords_ShouldRecordMetrics() throws IOException {
+        setupParserMock(List.of(validRecord, invalidRecord));
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of(employee));
+
+        fileProcessingService.processFile(multipartFile);
+
+        assertThat(meterRegistry.get("awards.upload.records.parsed").counter().count()).isEqualTo(TWO_RECORDS);
+        assertThat(meterRegistry.get("awards.upload.records.processed").counter().count()).isEqualTo(ONE_RECORD);
+        assertThat(meterRegistry.get("awards.upload.records.skipped")
+                .tag("reason", "IllegalArgumentException").counter().count()).isEqualTo(ONE_RECORD);
+        for (String stage : List.of("validate", "parse", "lookup", "persist")) {
+            assertThat(meterRegistry.get("awards.upload.stage").tag("stage", stage).timer().count())
+                    .as(stage).isEqualTo(ONE_RECORD);
+        }
+        assertThat(meterRegistry.get("awards.upload.files").tag("outcome", "success").counter().count())
+                .isEqualTo(ONE_RECORD);
+        assertThat(meterRegistry.get("awards.upload.file.size").summary().count()).isEqualTo(ONE_RECORD);
+        assertThat(meterRegistry.get("awards.upload.active").gauge().value()).isZero();
     }
 
     @Test
     void processFile_WithMixedRecords_ShouldProcessPartially() throws IOException {
         setupParserMock(List.of(validRecord, invalidRecord));
-        when(employeeRepository.findByEmployeeExternalId(VALID_EMPLOYEE_ID)).thenReturn(Optional.of(employee));
-        when(employeeRepository.findByEmployeeExternalId(INVALID_EMPLOYEE_ID)).thenReturn(Optional.empty());
-        when(awardRepository.findByAwardExternalId(VALID_AWARD_ID)).thenReturn(Optional.empty());
-        when(awardRepository.save(any(Award.class))).thenAnswer(invocation -> invocation.getArgument(FIRST_ARGUMENT_INDEX));
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of(employee));
+
+        UploadResult result = fileProcessingService.processFile(multipartFile);
+
+        assertThat(result.processedRecords()).isEqualTo(ONE_RECORD);
+        assertThat(result.skippedRecords()).isEqualTo(ONE_RECORD);
+        verify(awardRepository, times(ONE_SAVE_OPERATION)).upsertAll(argThat(upserts -> upserts.size() == ONE_RECORD));
+        verify(employeeRepository).findIdsByEmployeeExternalIdIn(Set.of(VALID_EMPLOYEE_ID, INVALID_EMPLOYEE_ID));
+        verify(employeeRepository, never()).findByEmployeeExternalId(anyLong());
+        verify(awardRepository, never()).findByAwardExternalId(anyLong());
+        verify(awardRepository, never()).save(any(Award.class));
+    }
+
+    @Test
+    void processFile_ShouldPersistChunkWhileParsing() throws IOException {
+        AwardFileRecord secondValidRecord = createRecord(new RecordData(
+                VALID_EMPLOYEE_ID,
+                "Мария Козлова",
+                SECOND_AWARD_ID,
+                "Вторая награда",
+                LocalDate.of(2025, 4, 1)
+        ));
+        when(fileFactory.getParser(anyString())).thenReturn(fileParser);
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of(employee));
+        doAnswer(invocation -> {
+            Consumer<AwardFileRecord> consumer = invocation.getArgument(SECOND_ARGUMENT_INDEX);
+            consumer.accept(validRecord);
+            consumer.accept(secondValidRecord);
+            // Заполненная пачка должна быть сохранена до окончания парсинга
+            verify(awardRepository).upsertAll(argThat(upserts -> upserts.size() == TWO_RECORDS));
+            return null;
+        }).when(fileParser).parse(any(InputStream.class), any());
+
+        UploadResult result = fileProcessingService.processFile(multipartFile);
+
+        assertThat(result.totalRecords()).isEqualTo(TWO_RECORDS);
+        assertThat(result.processedRecords()).isEqualTo(TWO_RECORDS);
+    }
+
+    @Test
+    void processFile_WhenChunkFails_ShouldRetryRecordsOneByOne() throws IOException {
+        AwardFileRecord failingRecord = createRecord(new RecordData(
+                VALID_EMPLOYEE_ID,
+                "Мария Козлова",
+                SECOND_AWARD_ID,
+                "Вторая награда",
+                LocalDate.of(2025, 4, 1)
+        ));
+        setupParserMock(List.of(validRecord, failingRecord));
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of(employee));
+        doAnswer(invocation -> {
+            List<AwardUpsert> upserts = invocation.getArgument(FIRST_ARGUMENT_INDEX);
+            if (upserts.stream().anyMatch(upsert -> upsert.awardExternalId() == SECOND_AWARD_ID)) {
+                throw new IllegalStateException("Нарушено ограничение уникальности");
+            }
+            return null;
+        }).when(awardRepository).upsertAll(anyList());
 
         UploadResult result = fileProcessingService.processFile(multipartFile);
 
+        assertThat(result.totalRecords()).isEqualTo(TWO_RECORDS);
         assertThat(result.processedRecords()).isEqualTo(ONE_RECORD);
         assertThat(result.skippedRecords()).isEqualTo(ONE_RECORD);
-        verify(awardRepository, times(ONE_SAVE_OPERATION)).save(any(Award.class));
+        assertThat(result.errors()).containsExactly(
+                "Ошибка при обработке записи (employeeId=1247, awardId=892): Нарушено ограничение уникальности"
+        );
+    }
+
+    @Test
+    void processFile_WithStagingEnabled_ShouldStageRecordsAndMergeThemOnce() throws IOException {
+        uploadProperties.getStaging().setEnabled(true);
+        UUID loadId = UUID.randomUUID();
+        when(awardStagingService.startLoad()).thenReturn(loadId);
+        when(awardStagingService.merge(loadId)).thenReturn(new ChunkWriteResult(ONE_RECORD, NO_RECORDS,
+                List.of(new RecordFailure(invalidRecord, new IllegalArgumentException("Сотрудник не найден")))));
+        setupParserMock(List.of(validRecord, invalidRecord, validRecord));
+
+        UploadResult result = fileProcessingService.processFile(multipartFile);
+
+        assertThat(result.totalRecords()).isEqualTo(3);
+        assertThat(result.processedRecords()).isEqualTo(ONE_RECORD);
+        assertThat(result.skippedRecords()).isEqualTo(ONE_RECORD);
+        verify(awardStagingService).stage(loadId, 0, List.of(validRecord, invalidRecord));
+        verify(awardStagingService).stage(loadId, BATCH_SIZE, List.of(validRecord));
+        verify(awardStagingService).discard(loadId);
+        verifyNoInteractions(awardRepository);
     }
 
     @Test
     void processFile_WithValidationError_ShouldThrowException() {
-        doThrow(new FileParseException("Файл невалидный")).when(fileValidator).validate(multipartFile);
+        doThrow(new FileParseException("Файл невалидный")).when(fileValidator).validate(TEST_FILE_NAME);
 
         assertThatThrownBy(() -> fileProcessingService.processFile(multipartFile))
                 .isInstanceOf(FileParseException.class)
                 .hasMessage("Файл невалидный");
     }
 
-    private void setupParserMock(List<AwardFileRecord> records) throws IOException {
+    @Test
+    void processFile_WithPipelineEnabled_ShouldPersistAllChunks() throws IOException {
+        enablePipeline();
+        List<AwardFileRecord> records = new ArrayList<>();
+        for (int i = 0; i < PIPELINE_RECORDS; i++) {
+            records.add(createRecord(new RecordData(
+                    VALID_EMPLOYEE_ID, "Мария Козлова", VALID_AWARD_ID + i, "Награда", LocalDate.of(2025, 3, 22)
+            )));
+        }
+        setupParserMock(records);
+        when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of(employee));
+
+        UploadResult result = fileProcessingService.processFile(multipartFile);
+
+        assertThat(result.totalRecords()).isEqualTo(PIPELINE_RECORDS);
+        assertThat(result.processedRecords()).isEqualTo(PIPELINE_RECORDS);
+        assertThat(result.skippedRecords()).isEqualTo(NO_RECORDS);
+        verify(awardRepository, times(PIPELINE_CHUNKS)).upsertAll(anyList());
+    }
+
+    @Test
+    void processFile_WhenParsingFailsInPipeline_ShouldRethrowParseError() throws IOException {
+        enablePipeline();
         when(fileFactory.getParser(anyString())).thenReturn(fileParser);
-        when(fileParser.parse(any(InputStream.class))).thenReturn(records);
+        lenient().when(employeeRepository.findIdsByEmployeeExternalIdIn(anyCollection())).thenReturn(List.of(employee));
+        doAnswer(invocation -> {
+            Consumer<AwardFileRecord> consumer = invocation.getArgument(SECOND_ARGUMENT_INDEX);
+            consumer.accept(validRecord);
+            consumer.accept(validRecord);
+            throw new FileParseException("Ячейка 3 пустая в строке 4");
+        }).when(fileParser).parse(any(InputStream.class), any());
+
+        assertThatThrownBy(() -> fileProcessingService.processFile(multipartFile))
+                .isInstanceOf(FileParseException.class)
+                .hasMessage("Ячейка 3 пустая в строке 4");
     }
 
-    private Employee createEmployee(long externalId, String fullName) {
-        Employee emp = new Employee();
-        emp.setEmployeeExternalId(externalId);
-        emp.setFullName(fullName);
-        return emp;
+    private void enablePipeline() {
+        uploadProperties.getPipeline().setEnabled(true);
+        uploadProperties.getPipeline().setWriters(PIPELINE_WRITERS);
+        uploadProperties.getPipeline().setQueueCapacity(PIPELINE_QUEUE_CAPACITY);
+    }
+
+    private void setupParserMock(List<AwardFileRecord> records) {
+        when(fileFactory.getParser(anyString())).thenReturn(fileParser);
+        doAnswer(invocation -> {
+            Consumer<AwardFileRecord> consumer = invocation.getArgument(SECOND_ARGUMENT_INDEX);
+            records.forEach(consumer);
+            return null;
+        }).when(fileParser).parse(any(InputStream.class), any());
     }
 
     private AwardFileRecord createRecord(RecordData data) {
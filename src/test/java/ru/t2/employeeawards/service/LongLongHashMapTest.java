@@ -0,0 +1,101 @@
+package ru.t2.employeeawards.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongLongHashMapTest {
+    private static final long MISSING = -1L;
+
+    @Test
+    void put_WhenKeyExists_ShouldReplaceValue() {
+        LongLongHashMap map = new LongLongHashMap(4);
+
+        map.put(10L, 1L);
+        map.put(10L, 2L);
+
+        assertThat(map.get(10L, MISSING)).isEqualTo(2L);
+        assertThat(map.get(11L, MISSING)).isEqualTo(MISSING);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_WhenKeyIsZeroOrNegative_ShouldStoreIt() {
+        LongLongHashMap map = new LongLongHashMap(4);
+
+        map.put(0L, 5L);
+        map.put(Long.MIN_VALUE, 6L);
+
+        assertThat(map.get(0L, MISSING)).isEqualTo(5L);
+        assertThat(map.get(Long.MIN_VALUE, MISSING)).isEqualTo(6L);
+        assertThat(map.remove(0L)).isTrue();
+        assertThat(map.get(0L, MISSING)).isEqualTo(MISSING);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_WhenExpectedSizeExceeded_ShouldGrow() {
+        LongLongHashMap map = new LongLongHashMap(1);
+
+        for (long key = 1; key <= 10_000; key++) {
+            map.put(key, key * 2);
+        }
+
+        assertThat(map.size()).isEqualTo(10_000);
+        for (long key = 1; key <= 10_000; key++) {
+            assertThat(map.get(key, MISSING)).isEqualTo(key * 2);
+        }
+    }
+
+    @Test
+    void removeValue_ShouldRemoveAllKeysWithValue() {
+        LongLongHashMap map = new LongLongHashMap(16);
+        map.put(1L, 100L);
+        map.put(2L, 100L);
+        map.put(3L, 200L);
+
+        int removed = map.removeValue(100L);
+
+        assertThat(removed).isEqualTo(2);
+        assertThat(map.get(1L, MISSING)).isEqualTo(MISSING);
+        assertThat(map.get(2L, MISSING)).isEqualTo(MISSING);
+        assertThat(map.get(3L, MISSING)).isEqualTo(200L);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void operations_ShouldMatchHashMapOnRandomSequence() {
+        // Маленький диапазон ключей дает длинные цепочки коллизий и частые удаления из их середины
+        Random random = new Random(42);
+        LongLongHashMap map = new LongLongHashMap(8);
+        Map<Long, Long> expected = new HashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(2_000) - 1_000;
+            long value = random.nextInt(50);
+            switch (random.nextInt(4)) {
+                case 0, 1 -> {
+                    map.put(key, value);
+                    expected.put(key, value);
+                }
+                case 2 -> assertThat(map.remove(key)).isEqualTo(expected.remove(key) != null);
+                default -> {
+                    if (i % 100 == 0) {
+                        int removed = map.removeValue(value);
+                        assertThat(removed).isEqualTo((int) expected.values().stream().filter(v -> v == value).count());
+                        expected.values().removeIf(v -> v == value);
+                    }
+                }
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = -1_000; key < 1_000; key++) {
+            assertThat(map.get(key, MISSING)).isEqualTo(expected.getOrDefault(key, MISSING));
+        }
+    }
+}
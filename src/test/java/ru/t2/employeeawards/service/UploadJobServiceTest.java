@@ -0,0 +1,174 @@
+package ru.t2.employeeawards.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+import ru.t2.employeeawards.config.UploadProperties;
+import ru.t2.employeeawards.dto.UploadJobState;
+import ru.t2.employeeawards.dto.UploadJobStatus;
+import ru.t2.employeeawards.dto.UploadResult;
+import ru.t2.employeeawards.exception.FileParseException;
+import ru.t2.employeeawards.exception.ResourceNotFoundException;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.t2.employeeawards.utils.ParserTestData.CSV_HEADER;
+
+@ExtendWith(MockitoExtension.class)
+class UploadJobServiceTest {
+    private static final String TEST_FILE_NAME = "test.csv";
+    private static final String CSV_CONTENT = CSV_HEADER + "\n1247,Мария Козлова,891,Награда,2025-03-22\n";
+    private static final String IMPORT_FILE_NAME = "awards-2025.csv";
+    private static final int PROGRESS_ARGUMENT_INDEX = 2;
+    private static final int IMPORT_PROGRESS_ARGUMENT_INDEX = 1;
+    private static final int SOURCE_ARGUMENT_INDEX = 1;
+    private static final int NO_RECORDS = 0;
+    private static final int ONE_RECORD = 1;
+
+    @Mock
+    private FileProcessingService fileProcessingService;
+    @Mock
+    private DropDirectoryIngestionService dropDirectoryIngestionService;
+
+    private MockMultipartFile file;
+
+    @BeforeEach
+    void setUp() {
+        file = new MockMultipartFile("file", TEST_FILE_NAME, "text/csv", CSV_CONTENT.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void submit_WithValidFile_ShouldCompleteJobWithProgress() {
+        UploadJobService uploadJobService = createService(Runnable::run);
+        when(fileProcessingService.processFile(eq(TEST_FILE_NAME), any(), any())).thenAnswer(invocation -> {
+            InputStreamSource source = invocation.getArgument(SOURCE_ARGUMENT_INDEX);
+            try (InputStream inputStream = source.getInputStream()) {
+                assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(CSV_CONTENT);
+            }
+            UploadProgress progress = invocation.getArgument(PROGRESS_ARGUMENT_INDEX);
+            progress.recordParsed();
+            progress.recordProcessed(ONE_RECORD);
+            return progress.toResult();
+        });
+
+        UploadJobStatus submitted = uploadJobService.submit(file);
+        UploadJobStatus status = uploadJobService.getStatus(submitted.jobId());
+
+        assertThat(status.status()).isEqualTo(UploadJobState.COMPLETED);
+        assertThat(status.fileName()).isEqualTo(TEST_FILE_NAME);
+        assertThat(status.parsedRecords()).isEqualTo(ONE_RECORD);
+        assertThat(status.processedRecords()).isEqualTo(ONE_RECORD);
+        assertThat(status.skippedRecords()).isEqualTo(NO_RECORDS);
+        assertThat(status.error()).isNull();
+    }
+
+    @Test
+    void submit_WithReusedResult_ShouldReportResultCounts() {
+        UploadJobService uploadJobService = createService(Runnable::run);
+        when(fileProcessingService.processFile(eq(TEST_FILE_NAME), any(), any()))
+                .thenReturn(new UploadResult(ONE_RECORD, NO_RECORDS, NO_RECORDS, ONE_RECORD, List.of()));
+
+        UploadJobStatus submitted = uploadJobService.submit(file);
+        UploadJobStatus status = uploadJobService.getStatus(submitted.jobId());
+
+        assertThat(status.status()).isEqualTo(UploadJobState.COMPLETED);
+        assertThat(status.parsedRecords()).isEqualTo(ONE_RECORD);
+        assertThat(status.unchangedRecords()).isEqualTo(ONE_RECORD);
+    }
+
+    @Test
+    void submit_WhenProcessingFails_ShouldMarkJobFailed() {
+        UploadJobService uploadJobService = createService(Runnable::run);
+        when(fileProcessingService.processFile(eq(TEST_FILE_NAME), any(), any()))
+                .thenThrow(new FileParseException("Неподдерживаемый тип файла"));
+
+        UploadJobStatus submitted = uploadJobService.submit(file);
+        UploadJobStatus status = uploadJobService.getStatus(submitted.jobId());
+
+        assertThat(status.status()).isEqualTo(UploadJobState.FAILED);
+        assertThat(status.error()).isEqualTo("Неподдерживаемый тип файла");
+    }
+
+    @Test
+    void submit_WithoutStartedWorker_ShouldReturnQueuedJob() {
+        UploadJobService uploadJobService = createService(task -> { });
+
+        UploadJobStatus status = uploadJobService.submit(file);
+
+        assertThat(status.status()).isEqualTo(UploadJobState.QUEUED);
+        assertThat(status.errors()).isEqualTo(List.of());
+        verify(fileProcessingService, never()).processFile(any(), any(), any());
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_ShouldRejectWithoutKeepingJob() {
+        UploadJobService uploadJobService = createService(task -> {
+            throw new TaskRejectedException("Очередь заполнена");
+        });
+
+        assertThatThrownBy(() -> uploadJobService.submit(file))
+                .isInstanceOf(TaskRejectedException.class);
+        verify(fileProcessingService, never()).processFile(any(), any(), any());
+    }
+
+    @Test
+    void submitImport_WithValidFile_ShouldCompleteJobWithProgress() {
+        UploadJobService uploadJobService = createService(Runnable::run);
+        when(dropDirectoryIngestionService.ingest(eq(IMPORT_FILE_NAME), any())).thenAnswer(invocation -> {
+            UploadProgress progress = invocation.getArgument(IMPORT_PROGRESS_ARGUMENT_INDEX);
+            progress.recordParsed();
+            progress.recordProcessed(ONE_RECORD);
+            return progress.toResult();
+        });
+
+        UploadJobStatus submitted = uploadJobService.submitImport(IMPORT_FILE_NAME);
+        UploadJobStatus status = uploadJobService.getStatus(submitted.jobId());
+
+        verify(dropDirectoryIngestionService).checkFile(IMPORT_FILE_NAME);
+        assertThat(status.status()).isEqualTo(UploadJobState.COMPLETED);
+        assertThat(status.fileName()).isEqualTo(IMPORT_FILE_NAME);
+        assertThat(status.processedRecords()).isEqualTo(ONE_RECORD);
+    }
+
+    @Test
+    void submitImport_WithMissingFile_ShouldRejectWithoutCreatingJob() {
+        UploadJobService uploadJobService = createService(Runnable::run);
+        doThrow(new ResourceNotFoundException("Файл не найден: " + IMPORT_FILE_NAME))
+                .when(dropDirectoryIngestionService).checkFile(IMPORT_FILE_NAME);
+
+        assertThatThrownBy(() -> uploadJobService.submitImport(IMPORT_FILE_NAME))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(dropDirectoryIngestionService, never()).ingest(any(), any());
+    }
+
+    @Test
+    void getStatus_WithUnknownJob_ShouldThrowNotFound() {
+        UploadJobService uploadJobService = createService(Runnable::run);
+        UUID jobId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> uploadJobService.getStatus(jobId))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Загрузка не найдена: " + jobId);
+    }
+
+    private UploadJobService createService(TaskExecutor executor) {
+        return new UploadJobService(fileProcessingService, dropDirectoryIngestionService, executor, new UploadProperties());
+    }
+}
@@ -0,0 +1,65 @@
+package ru.t2.employeeawards.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UploadMetrics uploadMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        uploadMetrics = new UploadMetrics(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void timeCommit_WithCommittedTransaction_ShouldRecordCommitStage() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        uploadMetrics.timeCommit();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+
+        assertThat(uploadMetrics.stageTimer(UploadMetrics.Stage.COMMIT).count()).isEqualTo(1);
+    }
+
+    @Test
+    void timeCommit_WithoutTransaction_ShouldNotRecord() {
+        uploadMetrics.timeCommit();
+
+        assertThat(uploadMetrics.stageTimer(UploadMetrics.Stage.COMMIT).count()).isZero();
+    }
+
+    @Test
+    void uploadFinished_ShouldTrackActiveUploadsAndOutcome() {
+        uploadMetrics.uploadStarted();
+        uploadMetrics.uploadStarted();
+        assertThat(meterRegistry.get("awards.upload.active").gauge().value()).isEqualTo(2);
+
+        uploadMetrics.uploadFinished(true);
+        uploadMetrics.uploadFinished(false);
+
+        assertThat(meterRegistry.get("awards.upload.active").gauge().value()).isZero();
+        assertThat(meterRegistry.get("awards.upload.files").tag("outcome", "success").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("awards.upload.files").tag("outcome", "failure").counter().count()).isEqualTo(1);
+    }
+}
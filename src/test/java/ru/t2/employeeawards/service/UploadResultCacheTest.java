@@ -0,0 +1,75 @@
+package ru.t2.employeeawards.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.t2.employeeawards.config.UploadProperties;
+import ru.t2.employeeawards.dto.UploadResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadResultCacheTest {
+    private static final String FILE_HASH = "hash";
+    private static final UploadResult RESULT = new UploadResult(2, 2, 0, List.of());
+
+    private UploadResultCache uploadResultCache;
+
+    @BeforeEach
+    void setUp() {
+        uploadResultCache = new UploadResultCache(new UploadProperties());
+    }
+
+    @Test
+    void find_WhenDataUnchangedSinceUpload_ShouldReturnResult() {
+        long versionBefore = uploadResultCache.getDataVersion();
+        uploadResultCache.recordDataChange(RESULT.processedRecords());
+        uploadResultCache.put(FILE_HASH, RESULT, versionBefore);
+
+        assertThat(uploadResultCache.find(FILE_HASH)).contains(RESULT);
+    }
+
+    @Test
+    void find_WhenDataChangedAfterUpload_ShouldReturnEmpty() {
+        long versionBefore = uploadResultCache.getDataVersion();
+        uploadResultCache.recordDataChange(RESULT.processedRecords());
+        uploadResultCache.put(FILE_HASH, RESULT, versionBefore);
+
+        uploadResultCache.recordDataChange(1);
+
+        assertThat(uploadResultCache.find(FILE_HASH)).isEmpty();
+    }
+
+    @Test
+    void put_WhenDataChangedConcurrently_ShouldNotStoreResult() {
+        long versionBefore = uploadResultCache.getDataVersion();
+        uploadResultCache.recordDataChange(RESULT.processedRecords() + 1);
+        uploadResultCache.put(FILE_HASH, RESULT, versionBefore);
+
+        assertThat(uploadResultCache.find(FILE_HASH)).isEmpty();
+    }
+
+    @Test
+    void put_WithSkippedRecords_ShouldNotStoreResult() {
+        UploadResult withErrors = new UploadResult(1, 0, 1, List.of("Сотрудник не найден: 9999"));
+        uploadResultCache.put(FILE_HASH, withErrors, uploadResultCache.getDataVersion());
+
+        assertThat(uploadResultCache.find(FILE_HASH)).isEmpty();
+    }
+
+    @Test
+    void hash_ShouldDependOnContentAndExtension() throws IOException {
+        String csv = hash("awards.csv", "1,2,3");
+
+        assertThat(hash("other.CSV", "1,2,3")).isEqualTo(csv);
+        assertThat(hash("awards.csv", "1,2,4")).isNotEqualTo(csv);
+        assertThat(hash("awards.xlsx", "1,2,3")).isNotEqualTo(csv);
+    }
+
+    private String hash(String fileName, String content) throws IOException {
+        return uploadResultCache.hash(fileName, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
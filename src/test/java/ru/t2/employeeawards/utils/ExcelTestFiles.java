@@ -0,0 +1,79 @@
+package ru.t2.employeeawards.utils;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import ru.t2.employeeawards.parser.FileStructure;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/*
+ * Утилитарный класс для создания Excel файлов в тестах
+ */
+public final class ExcelTestFiles {
+    private ExcelTestFiles() {
+        // Утилитарный класс
+    }
+
+    /**
+     * Создает xlsx файл с заголовками и строками данных.
+     *
+     * @param headers заголовки колонок
+     * @param dataRows строки данных (Long или String в каждой ячейке)
+     * @return поток данных созданного файла
+     */
+    public static InputStream createExcelFile(String[] headers, Object[]... dataRows) throws IOException {
+        Workbook workbook = new XSSFWorkbook();
+        addSheet(workbook, "Sheet0", headers, dataRows);
+        return convertWorkbookToInputStream(workbook);
+    }
+
+    /**
+     * Добавляет в книгу лист с заголовками и строками данных.
+     *
+     * @param workbook книга
+     * @param sheetName имя листа
+     * @param headers заголовки колонок
+     * @param dataRows строки данных (Long или String в каждой ячейке)
+     */
+    public static void addSheet(Workbook workbook, String sheetName, String[] headers, Object[]... dataRows) {
+        Sheet sheet = workbook.createSheet(sheetName);
+
+        Row headerRow = sheet.createRow(FileStructure.HEADERS_ROW_EXCEL.getValue());
+        for (int i = 0; i < headers.length; i++) {
+            headerRow.createCell(i).setCellValue(headers[i]);
+        }
+
+        for (int rowIndex = 0; rowIndex < dataRows.length; rowIndex++) {
+            Row row = sheet.createRow(rowIndex + 1);
+            Object[] rowData = dataRows[rowIndex];
+            for (int colIndex = 0; colIndex < rowData.length; colIndex++) {
+                Cell cell = row.createCell(colIndex);
+                Object value = rowData[colIndex];
+                if (value instanceof Long) {
+                    cell.setCellValue((Long) value);
+                } else if (value instanceof String) {
+                    cell.setCellValue((String) value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Записывает книгу в память и закрывает ее.
+     *
+     * @param workbook книга для записи
+     * @return поток данных книги
+     */
+    public static InputStream convertWorkbookToInputStream(Workbook workbook) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        workbook.write(outputStream);
+        workbook.close();
+        return new ByteArrayInputStream(outputStream.toByteArray());
+    }
+}
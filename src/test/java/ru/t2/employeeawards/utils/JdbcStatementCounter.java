@@ -0,0 +1,127 @@
+package ru.t2.employeeawards.utils;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Подсчитывает количество JDBC обращений к БД (execute*, executeBatch считается одним обращением),
+ * отдельно - обращений, изменяющих данные (INSERT, UPDATE, MERGE, DELETE).
+ * Регистрируется в тестовом контексте и оборачивает все бины DataSource.
+ */
+public class JdbcStatementCounter implements BeanPostProcessor {
+
+    private static final String[] WRITE_STATEMENTS = {"INSERT", "UPDATE", "MERGE", "DELETE"};
+
+    private final AtomicLong executedStatements = new AtomicLong();
+    private final AtomicLong executedWrites = new AtomicLong();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return new CountingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    public long getExecutedStatements() {
+        return executedStatements.get();
+    }
+
+    public long getExecutedWrites() {
+        return executedWrites.get();
+    }
+
+    public void reset() {
+        executedStatements.set(0);
+        executedWrites.set(0);
+    }
+
+    private Connection proxyConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        // SQL подготовленного запроса передается при его создании
+                        String sql = args != null && args.length > 0 && args[0] instanceof String value ? value : null;
+                        return proxyStatement(statement, method.getReturnType(), sql);
+                    }
+                    return result;
+                });
+    }
+
+    private Object proxyStatement(Statement statement, Class<?> statementType, String preparedSql) {
+        return Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{statementType},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute")) {
+                        executedStatements.incrementAndGet();
+                        String sql = args != null && args.length > 0 && args[0] instanceof String value
+                                ? value : preparedSql;
+                        if (isWrite(sql)) {
+                            executedWrites.incrementAndGet();
+                        }
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static boolean isWrite(String sql) {
+        if (sql == null) {
+            return false;
+        }
+        String statement = sql.stripLeading().toUpperCase(Locale.ROOT);
+        for (String write : WRITE_STATEMENTS) {
+            if (statement.startsWith(write)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private class CountingDataSource extends DelegatingDataSource implements Closeable {
+
+        CountingDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return proxyConnection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return proxyConnection(super.getConnection(username, password));
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (getTargetDataSource() instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}